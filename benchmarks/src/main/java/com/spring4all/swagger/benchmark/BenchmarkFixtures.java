@@ -0,0 +1,163 @@
+package com.spring4all.swagger.benchmark;
+
+import com.fasterxml.classmate.TypeResolver;
+import com.spring4all.swagger.benchmark.fixture.admin.AdminController;
+import com.spring4all.swagger.benchmark.fixture.internal.InternalController;
+import com.spring4all.swagger.benchmark.fixture.order.OrderController;
+import com.spring4all.swagger.benchmark.fixture.user.UserController;
+import com.spring4all.swagger.properties.DocketInfo;
+import com.spring4all.swagger.properties.GlobalOperationParameter;
+import com.spring4all.swagger.properties.SwaggerProperties;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import springfox.documentation.RequestHandler;
+import springfox.documentation.spring.web.WebMvcRequestHandler;
+import springfox.documentation.spring.web.readers.operation.HandlerMethodResolver;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 基准测试使用的配置、路径及合成接口
+ * <p>
+ * 路径与分组配置模拟一个按模块拆分的中型服务：业务接口在/api下按版本和模块划分，管理接口在/admin下，
+ * 另有内部接口、actuator端点及错误页等需要排除的路径
+ */
+final class BenchmarkFixtures {
+
+    static final String FIXTURE_PACKAGE = "com.spring4all.swagger.benchmark.fixture";
+
+    static final List<String> MODULES = Collections.unmodifiableList(Arrays.asList("user", "order", "admin", "internal"));
+
+    private static final Object[] CONTROLLERS = {
+            new UserController(), new OrderController(), new AdminController(), new InternalController()
+    };
+
+    private static final String[] METHODS = {"get", "list", "create", "delete"};
+
+    private static final RequestMethod[] REQUEST_METHODS = {
+            RequestMethod.GET, RequestMethod.GET, RequestMethod.POST, RequestMethod.DELETE
+    };
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * 每个模块一个分组，分组之间的包、路径及全局参数互有重叠
+     *
+     * @return 配置
+     */
+    static SwaggerProperties swaggerProperties() {
+        SwaggerProperties properties = new SwaggerProperties();
+        properties.setEnabled(true);
+        properties.setBeanName("swaggerBenchmark");
+        properties.setTitle("benchmark");
+        properties.setDescription("benchmark service");
+        properties.setVersion("1.0.0");
+        properties.setLicense("Apache License, Version 2.0");
+        properties.setLicenseUrl("https://www.apache.org/licenses/LICENSE-2.0.html");
+        properties.getContact().setName("spring4all");
+        properties.getContact().setEmail("dyc87112@qq.com");
+        properties.setGlobalOperationParameters(globalOperationParameters("X-Global-", 5));
+        for (String module : MODULES) {
+            properties.getDocket().put(module, docketInfo(module));
+        }
+        return properties;
+    }
+
+    static DocketInfo docketInfo(String module) {
+        DocketInfo docketInfo = new DocketInfo();
+        docketInfo.setTitle(module + " api");
+        docketInfo.setVersion("2.0.0");
+        docketInfo.getContact().setName(module + " team");
+        docketInfo.getBasePackages().add(FIXTURE_PACKAGE + "." + module);
+        docketInfo.getBasePath().addAll(Arrays.asList(
+                "/api/v1/" + module + "/**", "/api/v2/" + module + "/**", "/admin/" + module + "/*"));
+        docketInfo.getExcludePath().addAll(Arrays.asList(
+                "/**/internal/**", "/error", "/actuator/**", "/api/*/" + module + "/**/debug"));
+        docketInfo.setGlobalOperationParameters(globalOperationParameters("X-" + module + "-", 2));
+        docketInfo.getGlobalOperationParameters().addAll(globalOperationParameters("X-Global-", 2));
+        return docketInfo;
+    }
+
+    static List<GlobalOperationParameter> globalOperationParameters(String prefix, int count) {
+        List<GlobalOperationParameter> parameters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            GlobalOperationParameter parameter = new GlobalOperationParameter();
+            parameter.setName(prefix + i);
+            parameter.setDescription("header " + prefix + i);
+            parameter.setModelRef("string");
+            parameter.setParameterType("header");
+            parameter.setRequired(String.valueOf(i % 2 == 0));
+            parameters.add(parameter);
+        }
+        return parameters;
+    }
+
+    /**
+     * 生成指定数量的请求路径，其中约八分之三落在各分组排除的路径上
+     *
+     * @param count 数量
+     * @return 路径
+     */
+    static List<String> paths(int count) {
+        List<String> paths = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            paths.add(path(i));
+        }
+        return paths;
+    }
+
+    private static String path(int i) {
+        String module = MODULES.get(moduleIndex(i));
+        int resource = i / (8 * MODULES.size());
+        switch (i % 8) {
+            case 0:
+                return "/api/v1/" + module + "/resource" + resource + "/{id}";
+            case 1:
+                return "/api/v2/" + module + "/resource" + resource;
+            case 2:
+                return "/api/v1/" + module + "/resource" + resource + "/{id}/items/{itemId}";
+            case 3:
+                return "/admin/" + module + "/resource" + resource;
+            case 4:
+                return "/api/v1/" + module + "/internal/resource" + resource;
+            case 5:
+                return "/api/v2/" + module + "/resource" + resource + "/debug";
+            case 6:
+                return "/actuator/" + module + resource;
+            default:
+                return "/admin/" + module + "/resource" + resource + "/";
+        }
+    }
+
+    private static int moduleIndex(int i) {
+        return (i / 8) % MODULES.size();
+    }
+
+    /**
+     * 生成指定数量的合成接口，控制器分布在各模块的包中，路径与{@link #paths(int)}一致
+     *
+     * @param count 数量
+     * @return 接口
+     */
+    static List<RequestHandler> requestHandlers(int count) {
+        HandlerMethodResolver methodResolver = new HandlerMethodResolver(new TypeResolver());
+        List<RequestHandler> handlers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Object controller = CONTROLLERS[moduleIndex(i)];
+            int methodIndex = i % METHODS.length;
+            Method method = ReflectionUtils.findMethod(controller.getClass(), METHODS[methodIndex], (Class<?>[]) null);
+            RequestMappingInfo mappingInfo = RequestMappingInfo.paths(path(i))
+                    .methods(REQUEST_METHODS[methodIndex])
+                    .build();
+            handlers.add(new WebMvcRequestHandler(methodResolver, mappingInfo, new HandlerMethod(controller, method)));
+        }
+        return handlers;
+    }
+}
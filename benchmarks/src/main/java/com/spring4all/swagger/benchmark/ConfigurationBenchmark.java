@@ -0,0 +1,83 @@
+package com.spring4all.swagger.benchmark;
+
+import com.spring4all.swagger.properties.DocketInfo;
+import com.spring4all.swagger.properties.GlobalOperationParameter;
+import com.spring4all.swagger.properties.SwaggerProperties;
+import com.spring4all.swagger.utils.DocketConfigUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import springfox.documentation.service.ApiInfo;
+import springfox.documentation.service.Parameter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 全局参数合并及ApiInfo创建，每个分组启动时各执行一次
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigurationBenchmark {
+
+    /**
+     * 全局参数及分组参数的数量，分组参数中一半与全局参数同名
+     */
+    @Param({"4", "32"})
+    private int parameters;
+
+    private SwaggerProperties swaggerProperties;
+
+    private DocketInfo docketInfo;
+
+    private List<GlobalOperationParameter> globalOperationParameters;
+
+    private List<GlobalOperationParameter> docketOperationParameters;
+
+    @Setup
+    public void setUp() {
+        swaggerProperties = BenchmarkFixtures.swaggerProperties();
+        docketInfo = swaggerProperties.getDocket().values().iterator().next();
+        globalOperationParameters = BenchmarkFixtures.globalOperationParameters("X-Global-", parameters);
+        docketOperationParameters = BenchmarkFixtures.globalOperationParameters("X-Docket-", parameters / 2);
+        docketOperationParameters.addAll(BenchmarkFixtures.globalOperationParameters("X-Global-", parameters / 2));
+    }
+
+    @Benchmark
+    public List<Parameter> assemblyGlobalOperationParameters() {
+        return DocketConfigUtil.assemblyGlobalOperationParameters(globalOperationParameters, docketOperationParameters);
+    }
+
+    /**
+     * 分组未配置参数时直接使用全局参数
+     */
+    @Benchmark
+    public List<Parameter> assemblyGlobalOperationParametersWithoutDocket() {
+        return DocketConfigUtil.assemblyGlobalOperationParameters(globalOperationParameters, null);
+    }
+
+    @Benchmark
+    public ApiInfo createApiInfo() {
+        return DocketConfigUtil.createApiInfo(swaggerProperties, docketInfo);
+    }
+
+    /**
+     * 未分组时使用默认配置
+     */
+    @Benchmark
+    public ApiInfo createApiInfoWithoutDocket() {
+        return DocketConfigUtil.createApiInfo(swaggerProperties, null);
+    }
+}
@@ -0,0 +1,97 @@
+package com.spring4all.swagger.benchmark;
+
+import com.google.common.base.Predicate;
+import com.spring4all.swagger.SwaggerAutoConfiguration;
+import com.spring4all.swagger.plan.SwaggerPlanCompiler;
+import com.spring4all.swagger.properties.SwaggerProperties;
+import com.spring4all.swagger.report.SwaggerStartupReport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import springfox.documentation.RequestHandler;
+import springfox.documentation.spi.service.contexts.ApiSelector;
+import springfox.documentation.spring.web.plugins.Docket;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 完整的createRestApi：编译配置、创建并注册所有分组的Docket，再用各分组的选择器筛选全部合成接口
+ * <p>
+ * 筛选与springfox扫描前按分组过滤接口的过程一致，不包括之后的模型解析
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CreateRestApiBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int handlers;
+
+    private SwaggerProperties swaggerProperties;
+
+    private List<RequestHandler> requestHandlers;
+
+    private List<Docket> dockets;
+
+    @Setup
+    public void setUp() {
+        swaggerProperties = BenchmarkFixtures.swaggerProperties();
+        requestHandlers = BenchmarkFixtures.requestHandlers(handlers);
+        dockets = createRestApi(swaggerProperties);
+    }
+
+    @Benchmark
+    public int createRestApi() {
+        return select(createRestApi(swaggerProperties));
+    }
+
+    /**
+     * 只筛选接口，Docket已经创建
+     */
+    @Benchmark
+    public int selectRequestHandlers() {
+        return select(dockets);
+    }
+
+    private int select(List<Docket> docketList) {
+        int selected = 0;
+        for (Docket docket : docketList) {
+            Predicate<RequestHandler> selector = requestHandlerSelector(docket);
+            for (RequestHandler handler : requestHandlers) {
+                if (selector.apply(handler)) {
+                    selected++;
+                }
+            }
+        }
+        return selected;
+    }
+
+    private static List<Docket> createRestApi(SwaggerProperties swaggerProperties) {
+        SwaggerAutoConfiguration configuration = new SwaggerAutoConfiguration();
+        configuration.setBeanFactory(new DefaultListableBeanFactory());
+        return configuration.createRestApi(SwaggerPlanCompiler.compile(swaggerProperties),
+                new SwaggerStartupReport());
+    }
+
+    /**
+     * springfox将包选择器与按接口路径判断的路径选择器合并为一个接口选择器
+     */
+    private static Predicate<RequestHandler> requestHandlerSelector(Docket docket) {
+        ApiSelector apiSelector = (ApiSelector) new DirectFieldAccessor(docket).getPropertyValue("apiSelector");
+        return apiSelector.getRequestHandlerSelector();
+    }
+}
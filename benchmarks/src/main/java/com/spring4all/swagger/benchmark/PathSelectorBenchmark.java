@@ -0,0 +1,114 @@
+package com.spring4all.swagger.benchmark;
+
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+import com.spring4all.swagger.plan.DocketPlan;
+import com.spring4all.swagger.plan.SwaggerPlanCompiler;
+import com.spring4all.swagger.properties.DocketInfo;
+import com.spring4all.swagger.properties.SwaggerProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import springfox.documentation.builders.PathSelectors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SwaggerPlanCompiler编译出的路径选择器，以及用base-path、exclude-path逐条拼接的springfox谓词作为对照
+ * <p>
+ * 每次调用用所有分组的选择器判断全部路径，与springfox扫描时对每个接口逐一判断的方式一致
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathSelectorBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int paths;
+
+    private SwaggerProperties properties;
+
+    private List<DocketInfo> docketInfos;
+
+    private List<String> requestPaths;
+
+    private List<Predicate<String>> selectors;
+
+    private List<Predicate<String>> chainedSelectors;
+
+    @Setup
+    public void setUp() {
+        properties = BenchmarkFixtures.swaggerProperties();
+        docketInfos = new ArrayList<>(properties.getDocket().values());
+        requestPaths = BenchmarkFixtures.paths(paths);
+        selectors = new ArrayList<>();
+        for (DocketPlan docketPlan : SwaggerPlanCompiler.compile(properties).getDockets()) {
+            selectors.add(docketPlan.getPaths());
+        }
+        chainedSelectors = new ArrayList<>();
+        for (DocketInfo docketInfo : docketInfos) {
+            chainedSelectors.add(chainedSelector(docketInfo));
+        }
+    }
+
+    /**
+     * 编译配置并创建所有分组的Docket，包括包、路径选择器
+     */
+    @Benchmark
+    public void compile(Blackhole blackhole) {
+        for (DocketPlan docketPlan : SwaggerPlanCompiler.compile(properties).getDockets()) {
+            blackhole.consume(docketPlan.toDocket());
+        }
+    }
+
+    @Benchmark
+    public int selectPaths() {
+        return select(selectors);
+    }
+
+    @Benchmark
+    public int selectPathsChained() {
+        return select(chainedSelectors);
+    }
+
+    private int select(List<Predicate<String>> pathSelectors) {
+        int selected = 0;
+        for (Predicate<String> selector : pathSelectors) {
+            for (String path : requestPaths) {
+                if (selector.apply(path)) {
+                    selected++;
+                }
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * 编译为单个选择器之前的实现：每个base-path、exclude-path各一个PathSelectors.ant谓词，逐条判断
+     */
+    private static Predicate<String> chainedSelector(DocketInfo docketInfo) {
+        List<Predicate<String>> basePath = new ArrayList<>();
+        for (String path : docketInfo.getBasePath()) {
+            basePath.add(PathSelectors.ant(path));
+        }
+        List<Predicate<String>> excludePath = new ArrayList<>();
+        for (String path : docketInfo.getExcludePath()) {
+            excludePath.add(PathSelectors.ant(path));
+        }
+        return Predicates.and(Predicates.not(Predicates.or(excludePath)), Predicates.or(basePath));
+    }
+}
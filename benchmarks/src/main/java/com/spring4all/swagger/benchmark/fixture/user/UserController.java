@@ -0,0 +1,30 @@
+package com.spring4all.swagger.benchmark.fixture.user;
+
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 生成合成接口时使用的控制器，只提供方法签名
+ */
+public class UserController {
+
+    public Map<String, Object> get(@PathVariable("id") Long id) {
+        return Collections.emptyMap();
+    }
+
+    public List<Map<String, Object>> list(@RequestParam("page") int page, @RequestParam("size") int size) {
+        return Collections.emptyList();
+    }
+
+    public Map<String, Object> create(@RequestBody Map<String, Object> body) {
+        return body;
+    }
+
+    public void delete(@PathVariable("id") Long id) {
+    }
+}
@@ -1,162 +0,0 @@
-package com.spring4all.swagger;
-
-import com.spring4all.swagger.condition.ConditionalOnPropertyNotEmpty;
-import com.spring4all.swagger.properties.DocketInfo;
-import com.spring4all.swagger.properties.SwaggerProperties;
-import org.springframework.beans.BeansException;
-import org.springframework.beans.factory.BeanFactory;
-import org.springframework.beans.factory.BeanFactoryAware;
-import org.springframework.beans.factory.config.ConfigurableBeanFactory;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Import;
-import springfox.documentation.builders.PathSelectors;
-import springfox.documentation.service.ApiInfo;
-import springfox.documentation.service.ApiKey;
-import springfox.documentation.service.AuthorizationScope;
-import springfox.documentation.service.SecurityReference;
-import springfox.documentation.spi.DocumentationType;
-import springfox.documentation.spi.service.contexts.SecurityContext;
-import springfox.documentation.spring.web.plugins.Docket;
-import springfox.documentation.swagger.web.ApiKeyVehicle;
-import springfox.documentation.swagger.web.UiConfiguration;
-import springfox.documentation.swagger.web.UiConfigurationBuilder;
-
-import java.util.Collections;
-import java.util.LinkedList;
-import java.util.List;
-
-/**
- * @author 翟永超
- * Create date：2017/8/7.
- */
-@Configuration
-@Import({
-        Swagger2Configuration.class
-})
-public class SwaggerAutoConfiguration extends BaseSwaggerConfiguration implements BeanFactoryAware {
-
-    private BeanFactory beanFactory;
-
-    @Bean
-    @ConditionalOnMissingBean
-    public SwaggerProperties swaggerProperties() {
-        return new SwaggerProperties();
-    }
-
-    @Bean
-    public UiConfiguration uiConfiguration(SwaggerProperties swaggerProperties) {
-        return UiConfigurationBuilder.builder()
-                .deepLinking(swaggerProperties.getUiConfig().getDeepLinking())
-                .defaultModelExpandDepth(swaggerProperties.getUiConfig().getDefaultModelExpandDepth())
-                .defaultModelRendering(swaggerProperties.getUiConfig().getDefaultModelRendering())
-                .defaultModelsExpandDepth(swaggerProperties.getUiConfig().getDefaultModelsExpandDepth())
-                .displayOperationId(swaggerProperties.getUiConfig().getDisplayOperationId())
-                .displayRequestDuration(swaggerProperties.getUiConfig().getDisplayRequestDuration())
-                .docExpansion(swaggerProperties.getUiConfig().getDocExpansion())
-                .maxDisplayedTags(swaggerProperties.getUiConfig().getMaxDisplayedTags())
-                .operationsSorter(swaggerProperties.getUiConfig().getOperationsSorter())
-                .showExtensions(swaggerProperties.getUiConfig().getShowExtensions())
-                .tagsSorter(swaggerProperties.getUiConfig().getTagsSorter())
-                .validatorUrl(swaggerProperties.getUiConfig().getValidatorUrl())
-                .build();
-    }
-
-    @Bean
-    @ConditionalOnMissingBean
-    @ConditionalOnBean(UiConfiguration.class)
-    @ConditionalOnPropertyNotEmpty(name = "swagger.beanName")
-    public List<Docket> createRestApi(SwaggerProperties swaggerProperties) throws ClassNotFoundException {
-        ConfigurableBeanFactory configurableBeanFactory = (ConfigurableBeanFactory) beanFactory;
-        List<Docket> docketList = new LinkedList<>();
-
-        // 没有分组
-        if (swaggerProperties.getDocket().size() == 0) {
-            ApiInfo apiInfo = createApiInfo(swaggerProperties, null);
-
-            Docket docketForBuilder = new Docket(DocumentationType.SWAGGER_2)
-                    .host(swaggerProperties.getHost())
-                    .apiInfo(apiInfo)
-                    .securitySchemes(Collections.singletonList(apiKey()))
-                    .securityContexts(Collections.singletonList(securityContext()))
-                    .globalOperationParameters(buildGlobalOperationParametersFromSwaggerProperties(
-                            swaggerProperties.getGlobalOperationParameters()));
-
-            // 全局响应消息
-            buildGlobalResponseMessage(swaggerProperties, docketForBuilder);
-            Docket docket = configPath(swaggerProperties, docketForBuilder.select());
-
-            configurableBeanFactory.registerSingleton(swaggerProperties.getBeanName(), docket);
-            docketList.add(docket);
-            return docketList;
-        }
-
-        // 分组创建
-        for (String groupName : swaggerProperties.getDocket().keySet()) {
-            DocketInfo docketInfo = swaggerProperties.getDocket().get(groupName);
-            ApiInfo apiInfo = createApiInfo(swaggerProperties, docketInfo);
-
-            Docket docketForBuilder = new Docket(DocumentationType.SWAGGER_2)
-                    .host(swaggerProperties.getHost())
-                    .apiInfo(apiInfo)
-                    .securitySchemes(Collections.singletonList(apiKey()))
-                    .securityContexts(Collections.singletonList(securityContext()))
-                    .globalOperationParameters(assemblyGlobalOperationParameters(swaggerProperties.getGlobalOperationParameters(),
-                            docketInfo.getGlobalOperationParameters()));
-
-            // 全局响应消息
-            buildGlobalResponseMessage(swaggerProperties, docketForBuilder);
-            Docket docket = configPath(docketInfo, docketForBuilder.groupName(groupName).select());
-
-            configurableBeanFactory.registerSingleton(groupName, docket);
-            docketList.add(docket);
-        }
-        return docketList;
-    }
-
-    /**
-     * 配置基于 ApiKey 的鉴权对象
-     *
-     * @return
-     */
-    private ApiKey apiKey() {
-        return new ApiKey(swaggerProperties().getAuthorization().getName(),
-                swaggerProperties().getAuthorization().getKeyName(),
-                ApiKeyVehicle.HEADER.getValue());
-    }
-
-    /**
-     * 配置默认的全局鉴权策略的开关，以及通过正则表达式进行匹配；默认 ^.*$ 匹配所有URL
-     * 其中 securityReferences 为配置启用的鉴权策略
-     *
-     * @return
-     */
-    private SecurityContext securityContext() {
-        return SecurityContext.builder()
-                .securityReferences(defaultAuth())
-                .forPaths(PathSelectors.regex(swaggerProperties().getAuthorization().getAuthRegex()))
-                .build();
-    }
-
-    /**
-     * 配置默认的全局鉴权策略；其中返回的 SecurityReference 中，reference 即为ApiKey对象里面的name，保持一致才能开启全局鉴权
-     *
-     * @return
-     */
-    private List<SecurityReference> defaultAuth() {
-        AuthorizationScope authorizationScope = new AuthorizationScope("global", "accessEverything");
-        AuthorizationScope[] authorizationScopes = new AuthorizationScope[1];
-        authorizationScopes[0] = authorizationScope;
-        return Collections.singletonList(SecurityReference.builder()
-                .reference(swaggerProperties().getAuthorization().getName())
-                .scopes(authorizationScopes).build());
-    }
-
-
-    @Override
-    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
-        this.beanFactory = beanFactory;
-    }
-}
@@ -0,0 +1,59 @@
+package com.spring4all.swagger;
+
+import com.spring4all.swagger.condition.StaticSpecSourceResolver;
+import com.spring4all.swagger.properties.SwaggerProperties;
+import com.spring4all.swagger.remote.SwaggerRemoteSpecs;
+import com.spring4all.swagger.store.SwaggerSpecStores;
+import com.spring4all.swagger.web.StaticSwaggerSpecController;
+import com.spring4all.swagger.web.SwaggerSpecCache;
+import com.spring4all.swagger.web.SwaggerSpecSlices;
+import com.spring4all.swagger.web.SwaggerSpecDiskCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ResourceLoader;
+import springfox.documentation.swagger.web.UiConfiguration;
+
+import java.io.File;
+
+/**
+ * 静态文档模式，替代Swagger2Configuration，不加载springfox的扫描
+ * <p>
+ * 文档来自swagger.static-spec.location，或者磁盘缓存命中时来自缓存目录，或者来自文档存储中已发布的当前版本，
+ * 由StaticSpecSourceResolver在启动时判定并写入swagger.static-spec.source
+ */
+@Configuration
+@ConditionalOnExpression("'${" + StaticSpecSourceResolver.SOURCE_PROPERTY + ":" + StaticSpecSourceResolver.NONE + "}' != '"
+        + StaticSpecSourceResolver.NONE + "'")
+public class StaticSwaggerConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(StaticSwaggerConfiguration.class);
+
+    @Bean
+    public StaticSwaggerSpecController staticSwaggerSpecController(ResourceLoader resourceLoader,
+                                                                   Environment environment,
+                                                                   UiConfiguration uiConfiguration,
+                                                                   SwaggerSpecCache swaggerSpecCache,
+                                                                   SwaggerSpecSlices swaggerSpecSlices,
+                                                                   SwaggerProperties swaggerProperties,
+                                                                   SwaggerRemoteSpecs swaggerRemoteSpecs) {
+        String location = swaggerProperties.getStaticSpec().getLocation();
+        String source = environment.getProperty(StaticSpecSourceResolver.SOURCE_PROPERTY);
+        if (StaticSpecSourceResolver.DISK_CACHE.equals(source)) {
+            SwaggerSpecDiskCache diskCache = SwaggerSpecDiskCache.of(environment);
+            File entry = diskCache.entry(diskCache.fingerprint(environment));
+            log.info("Serving swagger specification from disk cache {}, skipping documentation scanning", entry);
+            location = entry.toURI().toString();
+        } else if (StaticSpecSourceResolver.SPEC_STORE.equals(source)) {
+            location = SwaggerSpecStores.of(environment).location(SwaggerSpecStores.version(environment));
+            log.info("Serving swagger specification from spec store {}, skipping documentation scanning", location);
+        }
+        StaticSwaggerSpecController controller = new StaticSwaggerSpecController(resourceLoader, location, environment,
+                uiConfiguration, swaggerSpecCache, swaggerSpecSlices, swaggerProperties.getLite().getByDefault());
+        controller.setRemoteSpecs(swaggerRemoteSpecs);
+        return controller;
+    }
+}
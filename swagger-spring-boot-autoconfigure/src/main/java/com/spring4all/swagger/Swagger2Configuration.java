@@ -0,0 +1,241 @@
+package com.spring4all.swagger;
+
+import com.fasterxml.classmate.TypeResolver;
+import com.spring4all.swagger.condition.ConditionalOnPropertyNotEmpty;
+import com.spring4all.swagger.condition.StaticSpecSourceResolver;
+import com.spring4all.swagger.index.IndexedHandlerSelector;
+import com.spring4all.swagger.index.SwaggerControllerIndex;
+import com.spring4all.swagger.properties.SwaggerProperties;
+import com.spring4all.swagger.remote.SwaggerRemoteSpecs;
+import com.spring4all.swagger.report.ReportingApiListingReferenceScanner;
+import com.spring4all.swagger.report.ReportingApiModelReader;
+import com.spring4all.swagger.report.SwaggerStartupReport;
+import com.spring4all.swagger.scan.SharedModelProvider;
+import com.spring4all.swagger.scan.SwaggerDocumentationBootstrapper;
+import com.spring4all.swagger.scan.SwaggerDocumentationCache;
+import com.spring4all.swagger.scan.SwaggerGroupRefresher;
+import com.spring4all.swagger.scan.SwaggerGroupSharder;
+import com.spring4all.swagger.scan.SwaggerGroupResourcesProvider;
+import com.spring4all.swagger.scan.SwaggerOperationNameGenerator;
+import com.spring4all.swagger.store.SwaggerSpecStorePublisher;
+import com.spring4all.swagger.store.SwaggerSpecStores;
+import com.spring4all.swagger.web.SwaggerJsonWriter;
+import com.spring4all.swagger.web.SwaggerSpecCache;
+import com.spring4all.swagger.web.SwaggerSpecController;
+import com.spring4all.swagger.web.SwaggerSpecLimiter;
+import com.spring4all.swagger.web.SwaggerSpecSlices;
+import com.spring4all.swagger.web.SwaggerSpecDiskCache;
+import com.spring4all.swagger.web.SwaggerSpecDiskCacheWriter;
+import com.spring4all.swagger.web.SwaggerSpecGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.web.servlet.HandlerMapping;
+import springfox.documentation.schema.ModelProvider;
+import springfox.documentation.schema.TypeNameExtractor;
+import springfox.documentation.spi.service.RequestHandlerProvider;
+import springfox.documentation.spi.service.contexts.Defaults;
+import springfox.documentation.spring.web.PropertySourcedRequestMappingHandlerMapping;
+import springfox.documentation.spring.web.json.JacksonModuleRegistrar;
+import springfox.documentation.spring.web.json.JsonSerializer;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsManager;
+import springfox.documentation.spring.web.scanners.ApiDocumentationScanner;
+import springfox.documentation.spring.web.scanners.ApiListingReferenceScanner;
+import springfox.documentation.spring.web.scanners.ApiModelReader;
+import springfox.documentation.swagger2.configuration.Swagger2DocumentationConfiguration;
+import springfox.documentation.swagger2.mappers.ServiceModelToSwagger2Mapper;
+
+import javax.servlet.ServletContext;
+import java.util.List;
+
+/**
+ * @author 翟永超
+ * Create Date： 2017/9/7.
+ * My blog： http://blog.didispace.com
+ */
+@Configuration
+@ConditionalOnPropertyNotEmpty(name = "swagger.beanName")
+@ConditionalOnProperty(name = StaticSpecSourceResolver.SOURCE_PROPERTY, havingValue = StaticSpecSourceResolver.NONE,
+        matchIfMissing = true)
+@Import(Swagger2DocumentationConfiguration.class)
+public class Swagger2Configuration {
+
+    private static final Logger log = LoggerFactory.getLogger(Swagger2Configuration.class);
+
+    /**
+     * 与springfox中的resourceGroupCache同名，覆盖为线程安全并支持延迟分组的实现
+     */
+    @Bean
+    public SwaggerDocumentationCache resourceGroupCache() {
+        return new SwaggerDocumentationCache();
+    }
+
+    /**
+     * 与springfox中InMemorySwaggerResourcesProvider同名，列出包括延迟分组在内的所有分组
+     */
+    @Bean
+    public SwaggerGroupResourcesProvider inMemorySwaggerResourcesProvider(Environment environment,
+                                                                          SwaggerDocumentationCache documentationCache,
+                                                                          SwaggerRemoteSpecs swaggerRemoteSpecs) {
+        return new SwaggerGroupResourcesProvider(environment, documentationCache, swaggerRemoteSpecs);
+    }
+
+    /**
+     * 与springfox中CachingOperationNameGenerator同名，按分组顺序确定同名接口的operationId编号，并行扫描时结果不变
+     */
+    @Bean
+    public SwaggerOperationNameGenerator cachingOperationNameGenerator() {
+        return new SwaggerOperationNameGenerator();
+    }
+
+    /**
+     * 与springfox中CachingModelProvider同名，在分组之间共享解析出的模型
+     */
+    @Bean
+    @Qualifier("cachedModels")
+    public SharedModelProvider cachingModelProvider(@Qualifier("default") ModelProvider modelProvider,
+                                                    TypeResolver typeResolver,
+                                                    TypeNameExtractor typeNameExtractor,
+                                                    SwaggerProperties swaggerProperties) {
+        return new SharedModelProvider(modelProvider, typeResolver, typeNameExtractor,
+                swaggerProperties.getScan().getShareModels());
+    }
+
+    /**
+     * 与springfox中ApiListingReferenceScanner同名，记录各分组筛选接口的耗时
+     */
+    @Bean
+    public ApiListingReferenceScanner apiListingReferenceScanner(SwaggerStartupReport swaggerStartupReport) {
+        return new ReportingApiListingReferenceScanner(swaggerStartupReport);
+    }
+
+    /**
+     * 与springfox中ApiModelReader同名，记录各分组解析模型的耗时
+     */
+    @Bean
+    public ApiModelReader apiModelReader(@Qualifier("cachedModels") ModelProvider modelProvider,
+                                         TypeResolver typeResolver,
+                                         DocumentationPluginsManager documentationPluginsManager,
+                                         SwaggerStartupReport swaggerStartupReport) {
+        return new ReportingApiModelReader(modelProvider, typeResolver, documentationPluginsManager,
+                swaggerStartupReport);
+    }
+
+    /**
+     * 开启swagger.scan.use-index时，借助编译期生成的控制器索引划分各分组的候选接口
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "swagger", name = "scan.use-index", havingValue = "true")
+    public IndexedHandlerSelector indexedHandlerSelector(ResourceLoader resourceLoader) {
+        SwaggerControllerIndex index = SwaggerControllerIndex.load(resourceLoader.getClassLoader());
+        if (index == null) {
+            log.warn("swagger.scan.use-index is enabled but no {} was found on the classpath",
+                    SwaggerControllerIndex.LOCATION);
+        }
+        return new IndexedHandlerSelector(index);
+    }
+
+    /**
+     * 配置了swagger.shard.threshold时，将接口数超过阈值的分组拆分为多个子分组
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "swagger", name = "shard.threshold")
+    public SwaggerGroupSharder swaggerGroupSharder(SwaggerProperties swaggerProperties,
+                                                  ConfigurableListableBeanFactory beanFactory) {
+        return new SwaggerGroupSharder(swaggerProperties.getShard(), beanFactory);
+    }
+
+    /**
+     * 与springfox中DocumentationPluginsBootstrapper同名，覆盖其扫描实现
+     */
+    @Bean
+    public SwaggerDocumentationBootstrapper documentationPluginsBootstrapper(
+            DocumentationPluginsManager documentationPluginsManager,
+            List<RequestHandlerProvider> handlerProviders,
+            SwaggerDocumentationCache documentationCache,
+            ApiDocumentationScanner apiDocumentationScanner,
+            TypeResolver typeResolver,
+            Defaults defaults,
+            ServletContext servletContext,
+            Environment environment,
+            SwaggerProperties swaggerProperties) {
+        return new SwaggerDocumentationBootstrapper(documentationPluginsManager, handlerProviders,
+                documentationCache, apiDocumentationScanner, typeResolver, defaults, servletContext,
+                environment, swaggerProperties);
+    }
+
+    /**
+     * swagger.*配置刷新后只重建发生变化的分组
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "swagger", name = "refresh.enabled", matchIfMissing = true)
+    public SwaggerGroupRefresher swaggerGroupRefresher(ConfigurableEnvironment environment,
+                                                       ConfigurableListableBeanFactory beanFactory,
+                                                       SwaggerDocumentationBootstrapper documentationPluginsBootstrapper,
+                                                       SwaggerSpecCache swaggerSpecCache,
+                                                       SwaggerSpecSlices swaggerSpecSlices,
+                                                       SwaggerStartupReport swaggerStartupReport) {
+        return new SwaggerGroupRefresher(environment, beanFactory, documentationPluginsBootstrapper,
+                swaggerSpecCache, swaggerSpecSlices, swaggerStartupReport);
+    }
+
+    /**
+     * 与springfox中swagger2ControllerMapping同名，使用带缓存的SwaggerSpecController替代Swagger2Controller
+     */
+    @Bean
+    public HandlerMapping swagger2ControllerMapping(Environment environment,
+                                                    SwaggerDocumentationCache documentationCache,
+                                                    ServiceModelToSwagger2Mapper mapper,
+                                                    JsonSerializer jsonSerializer,
+                                                    SwaggerSpecCache swaggerSpecCache,
+                                                    SwaggerSpecSlices swaggerSpecSlices,
+                                                    SwaggerProperties swaggerProperties,
+                                                    SwaggerStartupReport swaggerStartupReport,
+                                                    List<JacksonModuleRegistrar> moduleRegistrars,
+                                                    ObjectProvider<SwaggerSpecLimiter> swaggerSpecLimiter,
+                                                    SwaggerRemoteSpecs swaggerRemoteSpecs) {
+        SwaggerSpecCache specCache = swaggerProperties.getSpecCache().getEnabled() ? swaggerSpecCache : null;
+        SwaggerSpecController controller = new SwaggerSpecController(
+                environment, documentationCache, mapper, jsonSerializer, specCache, swaggerSpecSlices, swaggerStartupReport,
+                new SwaggerJsonWriter(moduleRegistrars), swaggerProperties.getStreaming().getEnabled(),
+                swaggerProperties.getLite().getByDefault());
+        controller.setLimiter(swaggerSpecLimiter.getIfAvailable());
+        controller.setRemoteSpecs(swaggerRemoteSpecs);
+        return new PropertySourcedRequestMappingHandlerMapping(environment, controller);
+    }
+
+    /**
+     * 开启文档存储并且当前节点持有构建权时，应用就绪后发布各分组文档
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "swagger", name = "spec-store.enabled", havingValue = "true")
+    public SwaggerSpecStorePublisher swaggerSpecStorePublisher(SwaggerDocumentationCache documentationCache,
+                                                               ServiceModelToSwagger2Mapper mapper,
+                                                               JsonSerializer jsonSerializer,
+                                                               Environment environment) {
+        return new SwaggerSpecStorePublisher(SwaggerSpecStores.of(environment), SwaggerSpecStores.version(environment),
+                new SwaggerSpecGenerator(documentationCache, mapper, jsonSerializer));
+    }
+
+    /**
+     * 开启磁盘缓存并且未命中时，应用就绪且所有延迟分组扫描完成后写出各分组文档
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "swagger", name = "disk-cache.enabled", havingValue = "true")
+    public SwaggerSpecDiskCacheWriter swaggerSpecDiskCacheWriter(SwaggerDocumentationCache documentationCache,
+                                                                 ServiceModelToSwagger2Mapper mapper,
+                                                                 JsonSerializer jsonSerializer,
+                                                                 Environment environment) {
+        return new SwaggerSpecDiskCacheWriter(SwaggerSpecDiskCache.of(environment), documentationCache,
+                new SwaggerSpecGenerator(documentationCache, mapper, jsonSerializer), environment);
+    }
+}
@@ -0,0 +1,150 @@
+package com.spring4all.swagger;
+
+import com.spring4all.swagger.condition.ConditionalOnPropertyNotEmpty;
+import com.spring4all.swagger.condition.StaticSpecSourceResolver;
+import com.spring4all.swagger.plan.DocketPlan;
+import com.spring4all.swagger.plan.SwaggerPlan;
+import com.spring4all.swagger.plan.SwaggerPlanCompiler;
+import com.spring4all.swagger.properties.SwaggerProperties;
+import com.spring4all.swagger.remote.SwaggerRemoteSpecs;
+import com.spring4all.swagger.report.SwaggerStartupReport;
+import com.spring4all.swagger.web.SwaggerSpecCache;
+import com.spring4all.swagger.web.SwaggerSpecLimiter;
+import com.spring4all.swagger.web.SwaggerSpecSlices;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import springfox.documentation.spring.web.plugins.Docket;
+import springfox.documentation.swagger.web.UiConfiguration;
+import springfox.documentation.swagger.web.UiConfigurationBuilder;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * @author 翟永超
+ * Create date：2017/8/7.
+ * <p>
+ * swagger.enabled=false时整个配置（包括导入的springfox配置）在读取类元数据阶段即被跳过，不会加载springfox的类
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "swagger", name = "enabled", matchIfMissing = true)
+@Import({
+        Swagger2Configuration.class,
+        StaticSwaggerConfiguration.class,
+        SwaggerReportConfiguration.class,
+        SwaggerMetricsConfiguration.class,
+        SwaggerUiResourcesConfiguration.class
+})
+public class SwaggerAutoConfiguration implements BeanFactoryAware {
+
+    private BeanFactory beanFactory;
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SwaggerProperties swaggerProperties() {
+        return new SwaggerProperties();
+    }
+
+    @Bean
+    public UiConfiguration uiConfiguration(SwaggerProperties swaggerProperties) {
+        return UiConfigurationBuilder.builder()
+                .deepLinking(swaggerProperties.getUiConfig().getDeepLinking())
+                .defaultModelExpandDepth(swaggerProperties.getUiConfig().getDefaultModelExpandDepth())
+                .defaultModelRendering(swaggerProperties.getUiConfig().getDefaultModelRendering())
+                .defaultModelsExpandDepth(swaggerProperties.getUiConfig().getDefaultModelsExpandDepth())
+                .displayOperationId(swaggerProperties.getUiConfig().getDisplayOperationId())
+                .displayRequestDuration(swaggerProperties.getUiConfig().getDisplayRequestDuration())
+                .docExpansion(swaggerProperties.getUiConfig().getDocExpansion())
+                .maxDisplayedTags(swaggerProperties.getUiConfig().getMaxDisplayedTags())
+                .operationsSorter(swaggerProperties.getUiConfig().getOperationsSorter())
+                .showExtensions(swaggerProperties.getUiConfig().getShowExtensions())
+                .tagsSorter(swaggerProperties.getUiConfig().getTagsSorter())
+                .validatorUrl(swaggerProperties.getUiConfig().getValidatorUrl())
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SwaggerSpecCache swaggerSpecCache(SwaggerProperties swaggerProperties) {
+        return new SwaggerSpecCache(swaggerProperties.getSpecCache().getMaxVariants());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SwaggerSpecSlices swaggerSpecSlices(SwaggerProperties swaggerProperties) {
+        return new SwaggerSpecSlices(swaggerProperties.getPartial().getMaxEntries());
+    }
+
+    /**
+     * swagger.remote中配置的远程文档，作为额外的分组输出；未配置时不会创建拉取线程
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public SwaggerRemoteSpecs swaggerRemoteSpecs(SwaggerProperties swaggerProperties) {
+        return new SwaggerRemoteSpecs(swaggerProperties.getRemote(), swaggerProperties.getAggregation());
+    }
+
+    /**
+     * 限制缓存未命中时文档生成的并发数，同时作用于输出缓存与部分文档
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "swagger", name = "limiter.enabled", havingValue = "true")
+    public SwaggerSpecLimiter swaggerSpecLimiter(SwaggerProperties swaggerProperties,
+                                                 SwaggerSpecCache swaggerSpecCache,
+                                                 SwaggerSpecSlices swaggerSpecSlices) {
+        SwaggerProperties.Limiter limiter = swaggerProperties.getLimiter();
+        SwaggerSpecLimiter swaggerSpecLimiter = new SwaggerSpecLimiter(limiter.getMaxConcurrent(),
+                limiter.getMaxQueue(), limiter.getQueueTimeout(), limiter.getRetryAfter());
+        swaggerSpecCache.setLimiter(swaggerSpecLimiter);
+        swaggerSpecSlices.setLimiter(swaggerSpecLimiter);
+        return swaggerSpecLimiter;
+    }
+
+    /**
+     * 校验并编译swagger配置，所有分组共享编译结果
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnPropertyNotEmpty(name = "swagger.beanName")
+    @ConditionalOnProperty(name = StaticSpecSourceResolver.SOURCE_PROPERTY, havingValue = StaticSpecSourceResolver.NONE,
+            matchIfMissing = true)
+    public SwaggerPlan swaggerPlan(SwaggerProperties swaggerProperties, SwaggerStartupReport swaggerStartupReport) {
+        long start = System.nanoTime();
+        SwaggerPlan swaggerPlan = SwaggerPlanCompiler.compile(swaggerProperties);
+        swaggerStartupReport.recordPlan(System.nanoTime() - start);
+        return swaggerPlan;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(UiConfiguration.class)
+    @ConditionalOnPropertyNotEmpty(name = "swagger.beanName")
+    @ConditionalOnProperty(name = StaticSpecSourceResolver.SOURCE_PROPERTY, havingValue = StaticSpecSourceResolver.NONE,
+            matchIfMissing = true)
+    public List<Docket> createRestApi(SwaggerPlan swaggerPlan, SwaggerStartupReport swaggerStartupReport) {
+        ConfigurableBeanFactory configurableBeanFactory = (ConfigurableBeanFactory) beanFactory;
+        List<Docket> docketList = new LinkedList<>();
+        for (DocketPlan docketPlan : swaggerPlan.getDockets()) {
+            long start = System.nanoTime();
+            Docket docket = docketPlan.toDocket();
+            swaggerStartupReport.group(docket.getGroupName()).recordBuild(System.nanoTime() - start);
+            configurableBeanFactory.registerSingleton(docketPlan.getBeanName(), docket);
+            docketList.add(docket);
+        }
+        return docketList;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = beanFactory;
+    }
+}
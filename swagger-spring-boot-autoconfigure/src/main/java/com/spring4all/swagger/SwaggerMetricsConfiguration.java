@@ -0,0 +1,76 @@
+package com.spring4all.swagger;
+
+import com.spring4all.swagger.metrics.SwaggerMetrics;
+import com.spring4all.swagger.metrics.SwaggerMetricsFilter;
+import com.spring4all.swagger.properties.SwaggerProperties;
+import com.spring4all.swagger.scan.SwaggerGroupSharder;
+import com.spring4all.swagger.web.SwaggerSpecCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.filter.CompositeFilter;
+import springfox.documentation.spring.web.plugins.Docket;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 文档接口的micrometer指标
+ * <p>
+ * 只有在classpath中存在micrometer并且容器中存在MeterRegistry时才注册过滤器，
+ * 否则文档接口的请求不经过任何额外处理
+ */
+@Configuration
+@ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+@ConditionalOnWebApplication
+@ConditionalOnProperty(prefix = "swagger", name = "metrics.enabled", matchIfMissing = true)
+public class SwaggerMetricsConfiguration {
+
+    private static final String API_DOCS_PATH = "springfox.documentation.swagger.v2.path";
+
+    @Bean
+    public FilterRegistrationBean swaggerMetricsFilter(ObjectProvider<MeterRegistry> meterRegistry,
+                                                       SwaggerProperties swaggerProperties,
+                                                       SwaggerSpecCache swaggerSpecCache,
+                                                       ObjectProvider<SwaggerGroupSharder> swaggerGroupSharder,
+                                                       Environment environment) {
+        FilterRegistrationBean registration = new FilterRegistrationBean();
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            // Spring Boot 1.5注册过滤器时先检查filter非空再判断是否启用，禁用时使用不做任何处理的空CompositeFilter
+            registration.setFilter(new CompositeFilter());
+            registration.setEnabled(false);
+            return registration;
+        }
+        SwaggerMetrics metrics = new SwaggerMetrics(registry, groupNames(swaggerProperties));
+        swaggerSpecCache.setListener(metrics);
+        SwaggerGroupSharder sharder = swaggerGroupSharder.getIfAvailable();
+        if (sharder != null) {
+            sharder.setListener(metrics);
+        }
+
+        String apiDocsPath = environment.getProperty(API_DOCS_PATH, "/v2/api-docs");
+        registration.setFilter(new SwaggerMetricsFilter(metrics, apiDocsPath));
+        registration.addUrlPatterns(apiDocsPath, "/swagger-resources/*", "/swagger-ui.html",
+                "/webjars/springfox-swagger-ui/*");
+        return registration;
+    }
+
+    /**
+     * 与SwaggerAutoConfiguration创建的分组一致：未配置分组时为default，另外包括聚合的远程文档
+     */
+    private static List<String> groupNames(SwaggerProperties swaggerProperties) {
+        List<String> groupNames = swaggerProperties.getDocket().isEmpty()
+                ? new ArrayList<>(Collections.singletonList(Docket.DEFAULT_GROUP_NAME))
+                : new ArrayList<>(swaggerProperties.getDocket().keySet());
+        groupNames.addAll(swaggerProperties.getRemote().keySet());
+        return groupNames;
+    }
+}
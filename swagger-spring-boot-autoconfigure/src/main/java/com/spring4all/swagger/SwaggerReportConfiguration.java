@@ -0,0 +1,32 @@
+package com.spring4all.swagger;
+
+import com.spring4all.swagger.report.SwaggerReportEndpoint;
+import com.spring4all.swagger.report.SwaggerStartupReport;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 文档生成报告，存在spring-boot-actuator时同时提供swagger端点
+ */
+@Configuration
+public class SwaggerReportConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SwaggerStartupReport swaggerStartupReport() {
+        return new SwaggerStartupReport();
+    }
+
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.AbstractEndpoint")
+    static class SwaggerReportEndpointConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public SwaggerReportEndpoint swaggerReportEndpoint(SwaggerStartupReport swaggerStartupReport) {
+            return new SwaggerReportEndpoint(swaggerStartupReport);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.spring4all.swagger;
+
+import com.spring4all.swagger.properties.SwaggerProperties;
+import com.spring4all.swagger.web.SwaggerUiResourceHandler;
+import com.spring4all.swagger.web.SwaggerUiResources;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnResource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+
+import javax.servlet.ServletContext;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * swagger-ui静态资源的输出，只有在classpath中存在springfox-swagger-ui时才生效
+ * <p>
+ * 映射的优先级高于Spring Boot默认的/webjars/**与/**资源映射，页面的运行时配置仍由UiConfiguration提供
+ */
+@Configuration
+@ConditionalOnWebApplication
+@ConditionalOnResource(resources = "classpath:META-INF/resources/swagger-ui.html")
+@ConditionalOnProperty(prefix = "swagger", name = "ui-resources.enabled", matchIfMissing = true)
+public class SwaggerUiResourcesConfiguration {
+
+    @Bean
+    public SwaggerUiResources swaggerUiResources(ServletContext servletContext) {
+        return new SwaggerUiResources(servletContext, SwaggerUiResourcesConfiguration.class.getClassLoader());
+    }
+
+    @Bean
+    public SimpleUrlHandlerMapping swaggerUiResourceHandlerMapping(SwaggerUiResources swaggerUiResources,
+                                                                   SwaggerProperties swaggerProperties) {
+        SwaggerUiResourceHandler handler = new SwaggerUiResourceHandler(swaggerUiResources,
+                swaggerProperties.getUiResources().getMaxAge());
+        Map<String, Object> urlMap = new LinkedHashMap<>();
+        urlMap.put(SwaggerUiResources.PAGE, handler);
+        urlMap.put(SwaggerUiResources.WEBJAR + "**", handler);
+        SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping();
+        mapping.setUrlMap(urlMap);
+        mapping.setOrder(Ordered.LOWEST_PRECEDENCE - 2);
+        return mapping;
+    }
+}
@@ -0,0 +1,83 @@
+package com.spring4all.swagger.condition;
+
+import com.spring4all.swagger.store.SwaggerSpecStore;
+import com.spring4all.swagger.store.SwaggerSpecStores;
+import com.spring4all.swagger.web.SwaggerSpecDiskCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.bind.RelaxedPropertyResolver;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Collections;
+
+/**
+ * 启动时判定一次是否以静态文档模式输出，结果写入swagger.static-spec.source，各配置按该属性生效：
+ * <ul>
+ * <li>location：开启了swagger.static-spec.enabled，文档来自swagger.static-spec.location</li>
+ * <li>disk-cache：开启了swagger.disk-cache.enabled并且磁盘缓存命中</li>
+ * <li>spec-store：开启了swagger.spec-store.enabled并且其他节点已发布（或在等待期间发布了）当前版本的文档</li>
+ * <li>none：扫描模式</li>
+ * </ul>
+ * 已显式配置swagger.static-spec.source时不再判定，例如设置为none强制扫描；swagger.enabled=false时不做任何处理
+ */
+public class StaticSpecSourceResolver implements EnvironmentPostProcessor, Ordered {
+
+    public static final String SOURCE_PROPERTY = "swagger.static-spec.source";
+
+    public static final String LOCATION = "location";
+
+    public static final String DISK_CACHE = "disk-cache";
+
+    public static final String SPEC_STORE = "spec-store";
+
+    public static final String NONE = "none";
+
+    private static final Logger log = LoggerFactory.getLogger(StaticSpecSourceResolver.class);
+
+    private static final String PROPERTY_SOURCE_NAME = "swaggerStaticSpec";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (environment.containsProperty(SOURCE_PROPERTY)
+                || !new RelaxedPropertyResolver(environment, "swagger.").getProperty("enabled", Boolean.class, true)) {
+            return;
+        }
+        String source = resolve(environment);
+        log.debug("Resolved swagger specification source: {}", source);
+        environment.getPropertySources().addLast(new MapPropertySource(PROPERTY_SOURCE_NAME,
+                Collections.<String, Object>singletonMap(SOURCE_PROPERTY, source)));
+    }
+
+    /**
+     * 依次检查静态文档、磁盘缓存与文档存储；文档存储中其他节点正在构建时会等待，最多swagger.spec-store.wait-timeout
+     *
+     * @param environment 环境
+     * @return 文档来源
+     */
+    public static String resolve(ConfigurableEnvironment environment) {
+        if (new RelaxedPropertyResolver(environment, "swagger.static-spec.").getProperty("enabled", Boolean.class, false)) {
+            return LOCATION;
+        }
+        SwaggerSpecDiskCache diskCache = SwaggerSpecDiskCache.of(environment);
+        if (diskCache != null && diskCache.contains(diskCache.fingerprint(environment))) {
+            return DISK_CACHE;
+        }
+        SwaggerSpecStore store = SwaggerSpecStores.of(environment);
+        if (store != null && SwaggerSpecStores.published(store, environment)) {
+            return SPEC_STORE;
+        }
+        return NONE;
+    }
+
+    /**
+     * 在application.properties等配置加载之后执行
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
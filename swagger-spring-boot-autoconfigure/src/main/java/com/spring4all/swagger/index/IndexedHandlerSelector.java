@@ -0,0 +1,98 @@
+package com.spring4all.swagger.index;
+
+import com.google.common.base.Predicate;
+import com.spring4all.swagger.plan.DocketPlan;
+import com.spring4all.swagger.plan.SwaggerPlan;
+import com.spring4all.swagger.selector.PackageSelector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import springfox.documentation.RequestHandler;
+import springfox.documentation.spring.web.WebMvcRequestHandler;
+import springfox.documentation.spring.web.plugins.Docket;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 借助编译期索引预先划分各分组的候选接口
+ * <p>
+ * 索引中的接口按索引记录的包名、路径及ApiIgnore标注判断，无需查找注解；不在索引中的接口（第三方控制器、
+ * 继承的映射方法、路径含占位符等）作为所有分组的候选。各分组仍由springfox的选择器在候选接口上做最终筛选，
+ * 候选只需是最终结果的超集，索引过期或不完整只会影响效率，不会影响文档内容
+ */
+public class IndexedHandlerSelector {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexedHandlerSelector.class);
+
+    private final SwaggerControllerIndex index;
+
+    /**
+     * @param index 控制器索引，为null时不做划分
+     */
+    public IndexedHandlerSelector(SwaggerControllerIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * 划分各分组的候选接口
+     *
+     * @param handlers 合并后的所有接口
+     * @param plan     各分组配置
+     * @return 分组名称到候选接口的映射，不包含的分组使用全部接口
+     */
+    public Map<String, List<RequestHandler>> select(List<RequestHandler> handlers, SwaggerPlan plan) {
+        if (index == null || plan == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, List<RequestHandler>> result = new LinkedHashMap<>();
+        for (DocketPlan each : plan.getDockets()) {
+            result.put(groupName(each), new ArrayList<>());
+        }
+        int indexed = 0;
+        for (RequestHandler handler : handlers) {
+            // 合并后的接口对应多个方法，不使用索引
+            SwaggerControllerIndex.Entry entry = handler instanceof WebMvcRequestHandler
+                    ? index.find(handler.getHandlerMethod()) : null;
+            if (entry != null) {
+                indexed++;
+            }
+            for (DocketPlan each : plan.getDockets()) {
+                if (entry == null || selects(each, entry, handler)) {
+                    result.get(groupName(each)).add(handler);
+                }
+            }
+        }
+        for (Map.Entry<String, List<RequestHandler>> each : result.entrySet()) {
+            each.setValue(Collections.unmodifiableList(each.getValue()));
+        }
+        log.info("Selected request handlers for {} documentation group(s) from index, {} of {} handler(s) indexed",
+                result.size(), indexed, handlers.size());
+        return result;
+    }
+
+    private static boolean selects(DocketPlan docketPlan, SwaggerControllerIndex.Entry entry, RequestHandler handler) {
+        if (entry.isIgnored()) {
+            return false;
+        }
+        Predicate<RequestHandler> apis = docketPlan.getApis();
+        boolean selected = apis instanceof PackageSelector
+                ? ((PackageSelector) apis).matches(entry.getPackageName())
+                : apis.apply(handler);
+        if (!selected) {
+            return false;
+        }
+        for (String path : entry.getPaths()) {
+            if (docketPlan.getPaths().apply(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String groupName(DocketPlan docketPlan) {
+        return docketPlan.getGroupName() == null ? Docket.DEFAULT_GROUP_NAME : docketPlan.getGroupName();
+    }
+}
@@ -0,0 +1,181 @@
+package com.spring4all.swagger.index;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 运行时读取由swagger-spring-boot-index-processor中的SwaggerIndexProcessor在编译期生成的控制器索引
+ * <p>
+ * 索引中的路径按Spring MVC合并类与方法映射的规则（AntPathMatcher.combine）合并，与RequestMappingInfo中的路径一致
+ */
+public final class SwaggerControllerIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SwaggerControllerIndex.class);
+
+    public static final String LOCATION = "META-INF/swagger/controllers.index";
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final Map<String, Entry> entries;
+
+    private SwaggerControllerIndex(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * 读取classpath中所有的索引文件
+     *
+     * @param classLoader 类加载器
+     * @return 索引，classpath中没有索引文件时返回null
+     */
+    public static SwaggerControllerIndex load(ClassLoader classLoader) {
+        Map<String, Entry> entries = new HashMap<>();
+        try {
+            Enumeration<URL> urls = (classLoader != null ? classLoader : ClassUtils.getDefaultClassLoader())
+                    .getResources(LOCATION);
+            while (urls.hasMoreElements()) {
+                read(urls.nextElement(), entries);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load " + LOCATION, e);
+        }
+        if (entries.isEmpty()) {
+            return null;
+        }
+        log.debug("Loaded {} indexed request handler(s) from {}", entries.size(), LOCATION);
+        return new SwaggerControllerIndex(Collections.unmodifiableMap(entries));
+    }
+
+    private static void read(URL url, Map<String, Entry> entries) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.split("\t", -1);
+                if (columns.length != 4) {
+                    continue;
+                }
+                int packageEnd = columns[0].lastIndexOf('.', columns[0].indexOf('#'));
+                entries.put(columns[0], new Entry(
+                        packageEnd < 0 ? "" : columns[0].substring(0, packageEnd),
+                        "1".equals(columns[1]),
+                        combine(split(columns[2]), split(columns[3]))));
+            }
+        }
+    }
+
+    private static List<String> split(String paths) {
+        List<String> result = new ArrayList<>();
+        for (String path : StringUtils.tokenizeToStringArray(paths, " ")) {
+            result.add(path.startsWith("/") ? path : "/" + path);
+        }
+        return result;
+    }
+
+    /**
+     * 与PatternsRequestCondition#combine一致
+     */
+    private static Set<String> combine(List<String> typePaths, List<String> methodPaths) {
+        Set<String> result = new LinkedHashSet<>();
+        if (!typePaths.isEmpty() && !methodPaths.isEmpty()) {
+            for (String typePath : typePaths) {
+                for (String methodPath : methodPaths) {
+                    result.add(PATH_MATCHER.combine(typePath, methodPath));
+                }
+            }
+        } else if (!typePaths.isEmpty()) {
+            result.addAll(typePaths);
+        } else if (!methodPaths.isEmpty()) {
+            result.addAll(methodPaths);
+        } else {
+            result.add("");
+        }
+        return Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * 查找接口方法对应的索引，方法继承自父类时返回null
+     *
+     * @param handlerMethod 接口方法
+     * @return 索引
+     */
+    public Entry find(HandlerMethod handlerMethod) {
+        Class<?> beanType = handlerMethod.getBeanType();
+        Method method = handlerMethod.getMethod();
+        if (method.getDeclaringClass() != beanType) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(beanType.getName()).append('#').append(method.getName()).append('(');
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                key.append(',');
+            }
+            key.append(parameterTypes[i].getTypeName());
+        }
+        return entries.get(key.append(')').toString());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 单个接口方法的索引
+     */
+    public static final class Entry {
+
+        private final String packageName;
+
+        private final boolean ignored;
+
+        private final Set<String> paths;
+
+        Entry(String packageName, boolean ignored, Set<String> paths) {
+            this.packageName = packageName;
+            this.ignored = ignored;
+            this.paths = paths;
+        }
+
+        /**
+         * @return 控制器所在的包
+         */
+        public String getPackageName() {
+            return packageName;
+        }
+
+        /**
+         * @return 类或方法上是否标注了ApiIgnore
+         */
+        public boolean isIgnored() {
+            return ignored;
+        }
+
+        /**
+         * @return 合并类与方法映射后的路径
+         */
+        public Set<String> getPaths() {
+            return paths;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.spring4all.swagger.metrics;
+
+import com.spring4all.swagger.scan.SwaggerGroupShardListener;
+import com.spring4all.swagger.web.SwaggerSpecCacheListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 文档接口的运行指标
+ * <ul>
+ * <li>swagger.requests：请求耗时及次数（含百分位直方图），按endpoint、group、status区分</li>
+ * <li>swagger.requests.active：正在处理的请求数，按endpoint、group区分</li>
+ * <li>swagger.response.bytes：输出的字节数，按endpoint、group区分</li>
+ * <li>swagger.spec.cache：文档缓存的命中与未命中次数，按group、result区分</li>
+ * </ul>
+ * group只取已配置的分组及由其拆分出的子分组，请求中的其他分组名称统一记为unknown，避免外部请求造成指标数量无限增长；
+ * 与分组无关的接口（分组列表、UI资源）记为none
+ */
+public class SwaggerMetrics implements SwaggerSpecCacheListener, SwaggerGroupShardListener {
+
+    public static final String NO_GROUP = "none";
+
+    public static final String UNKNOWN_GROUP = "unknown";
+
+    private final MeterRegistry registry;
+
+    private final Set<String> groups;
+
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, AtomicInteger> active = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Counter> cacheCounters = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry MeterRegistry
+     * @param groups   已配置的分组名称
+     */
+    public SwaggerMetrics(MeterRegistry registry, Collection<String> groups) {
+        this.registry = registry;
+        this.groups = ConcurrentHashMap.newKeySet();
+        this.groups.addAll(groups);
+    }
+
+    /**
+     * @param groupName 请求中的分组名称
+     * @return 用作标签的分组名称
+     */
+    public String groupTag(String groupName) {
+        return groupName != null && groups.contains(groupName) ? groupName : UNKNOWN_GROUP;
+    }
+
+    /**
+     * 获取正在处理的请求数，由调用方在请求开始和结束时增减
+     *
+     * @param endpoint api-docs、resources或ui
+     * @param group    分组
+     * @return 正在处理的请求数
+     */
+    public AtomicInteger activeRequests(String endpoint, String group) {
+        return active.computeIfAbsent(endpoint + '|' + group, key -> registry.gauge("swagger.requests.active",
+                Tags.of("endpoint", endpoint, "group", group), new AtomicInteger()));
+    }
+
+    /**
+     * 记录一次请求
+     *
+     * @param endpoint api-docs、resources或ui
+     * @param group    分组
+     * @param status   响应状态码
+     * @param nanos    耗时
+     * @param bytes    输出的字节数
+     */
+    public void record(String endpoint, String group, int status, long nanos, long bytes) {
+        String statusTag = String.valueOf(status);
+        timers.computeIfAbsent(endpoint + '|' + group + '|' + statusTag, key -> Timer.builder("swagger.requests")
+                .description("Requests served by the swagger documentation endpoints")
+                .tags("endpoint", endpoint, "group", group, "status", statusTag)
+                .publishPercentileHistogram()
+                .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+        summaries.computeIfAbsent(endpoint + '|' + group, key -> DistributionSummary.builder("swagger.response.bytes")
+                .description("Bytes sent by the swagger documentation endpoints")
+                .baseUnit("bytes")
+                .tags("endpoint", endpoint, "group", group)
+                .register(registry))
+                .record(bytes);
+    }
+
+    @Override
+    public void onShard(String groupName, List<String> shardGroupNames) {
+        groups.addAll(shardGroupNames);
+    }
+
+    @Override
+    public void onAccess(String groupName, boolean hit) {
+        String group = groupTag(groupName);
+        String result = hit ? "hit" : "miss";
+        cacheCounters.computeIfAbsent(group + '|' + result, key -> Counter.builder("swagger.spec.cache")
+                .description("Serialized documentation cache lookups")
+                .tags("group", group, "result", result)
+                .register(registry))
+                .increment();
+    }
+}
@@ -0,0 +1,135 @@
+package com.spring4all.swagger.metrics;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 记录文档接口的请求指标，只注册在文档相关的路径上，不影响其他请求
+ * <p>
+ * 输出的字节数按写入响应输出流的字节统计，不包括容器层面的压缩
+ */
+public class SwaggerMetricsFilter extends OncePerRequestFilter {
+
+    static final String API_DOCS = "api-docs";
+
+    static final String RESOURCES = "resources";
+
+    static final String UI = "ui";
+
+    private final SwaggerMetrics metrics;
+
+    private final String apiDocsPath;
+
+    /**
+     * @param metrics     指标
+     * @param apiDocsPath 文档接口的路径，即springfox.documentation.swagger.v2.path
+     */
+    public SwaggerMetricsFilter(SwaggerMetrics metrics, String apiDocsPath) {
+        this.metrics = metrics;
+        this.apiDocsPath = apiDocsPath;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String endpoint;
+        String group;
+        if (path.equals(apiDocsPath)) {
+            endpoint = API_DOCS;
+            String groupName = request.getParameter("group");
+            group = metrics.groupTag(groupName == null || groupName.isEmpty() ? "default" : groupName);
+        } else {
+            endpoint = path.startsWith("/swagger-resources") ? RESOURCES : UI;
+            group = SwaggerMetrics.NO_GROUP;
+        }
+
+        AtomicInteger active = metrics.activeRequests(endpoint, group);
+        CountingResponse countingResponse = new CountingResponse(response);
+        active.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, countingResponse);
+        } finally {
+            active.decrementAndGet();
+            metrics.record(endpoint, group, response.getStatus(), System.nanoTime() - start,
+                    countingResponse.getCount());
+        }
+    }
+
+    /**
+     * 统计写入输出流的字节数
+     */
+    private static class CountingResponse extends HttpServletResponseWrapper {
+
+        private CountingOutputStream outputStream;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new CountingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        long getCount() {
+            return outputStream == null ? 0 : outputStream.count;
+        }
+    }
+
+    private static class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private long count;
+
+        CountingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
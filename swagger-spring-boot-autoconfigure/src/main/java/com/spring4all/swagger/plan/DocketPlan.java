@@ -0,0 +1,168 @@
+package com.spring4all.swagger.plan;
+
+import com.google.common.base.Predicate;
+import org.springframework.web.bind.annotation.RequestMethod;
+import springfox.documentation.RequestHandler;
+import springfox.documentation.service.ApiInfo;
+import springfox.documentation.service.Parameter;
+import springfox.documentation.service.ResponseMessage;
+import springfox.documentation.service.SecurityScheme;
+import springfox.documentation.spi.DocumentationType;
+import springfox.documentation.spi.service.contexts.SecurityContext;
+import springfox.documentation.spring.web.plugins.Docket;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 单个分组编译后的配置，创建后不可变
+ * <p>
+ * 鉴权、全局响应消息等与分组无关的对象在所有分组之间共享，每次调用{@link #toDocket()}只是将其装配到新的Docket中
+ */
+public final class DocketPlan {
+
+    private final String beanName;
+    private final String groupName;
+    private final ApiInfo apiInfo;
+    private final String host;
+    private final List<SecurityScheme> securitySchemes;
+    private final List<SecurityContext> securityContexts;
+    private final List<Parameter> globalOperationParameters;
+    private final boolean useDefaultResponseMessages;
+    private final Map<RequestMethod, List<ResponseMessage>> globalResponseMessages;
+    private final Predicate<RequestHandler> apis;
+    private final Predicate<String> paths;
+    private final List<String> basePackages;
+    private final String pathMapping;
+    private final List<Class<?>> ignoredParameterTypes;
+    private final Map<Class<?>, Class<?>> directModelSubstitutes;
+    private final List<Class<?>> genericModelSubstitutes;
+    private final ModelLimits modelLimits;
+
+    DocketPlan(String beanName,
+               String groupName,
+               ApiInfo apiInfo,
+               String host,
+               List<SecurityScheme> securitySchemes,
+               List<SecurityContext> securityContexts,
+               List<Parameter> globalOperationParameters,
+               boolean useDefaultResponseMessages,
+               Map<RequestMethod, List<ResponseMessage>> globalResponseMessages,
+               Predicate<RequestHandler> apis,
+               Predicate<String> paths,
+               List<String> basePackages,
+               String pathMapping,
+               List<Class<?>> ignoredParameterTypes,
+               Map<Class<?>, Class<?>> directModelSubstitutes,
+               List<Class<?>> genericModelSubstitutes,
+               ModelLimits modelLimits) {
+        this.beanName = beanName;
+        this.groupName = groupName;
+        this.apiInfo = apiInfo;
+        this.host = host;
+        this.securitySchemes = securitySchemes;
+        this.securityContexts = securityContexts;
+        this.globalOperationParameters = globalOperationParameters;
+        this.useDefaultResponseMessages = useDefaultResponseMessages;
+        this.globalResponseMessages = globalResponseMessages;
+        this.apis = apis;
+        this.paths = paths;
+        this.basePackages = basePackages;
+        this.pathMapping = pathMapping;
+        this.ignoredParameterTypes = ignoredParameterTypes;
+        this.directModelSubstitutes = directModelSubstitutes;
+        this.genericModelSubstitutes = genericModelSubstitutes;
+        this.modelLimits = modelLimits;
+    }
+
+    /**
+     * 按编译后的配置创建Docket
+     *
+     * @return Docket
+     */
+    public Docket toDocket() {
+        return toDocket(groupName, apis);
+    }
+
+    /**
+     * 按编译后的配置创建Docket，使用指定的分组名称并在原有接口选择器的基础上进一步筛选，用于拆分分组
+     *
+     * @param groupName 分组名称，为null时不分组
+     * @param apis      接口选择器
+     * @return Docket
+     */
+    public Docket toDocket(String groupName, Predicate<RequestHandler> apis) {
+        Docket docketForBuilder = new Docket(DocumentationType.SWAGGER_2)
+                .host(host)
+                .apiInfo(apiInfo)
+                .securitySchemes(securitySchemes)
+                .securityContexts(securityContexts)
+                .globalOperationParameters(globalOperationParameters)
+                .useDefaultResponseMessages(useDefaultResponseMessages);
+        if (!useDefaultResponseMessages) {
+            for (Map.Entry<RequestMethod, List<ResponseMessage>> entry : globalResponseMessages.entrySet()) {
+                docketForBuilder.globalResponseMessage(entry.getKey(), entry.getValue());
+            }
+        }
+        if (groupName != null) {
+            docketForBuilder.groupName(groupName);
+        }
+        Docket docket = docketForBuilder.select()
+                .apis(apis)
+                .paths(paths)
+                .build()
+                .pathMapping(pathMapping);
+        docket.ignoredParameterTypes(ignoredParameterTypes.toArray(new Class<?>[0]));
+        for (Map.Entry<Class<?>, Class<?>> entry : directModelSubstitutes.entrySet()) {
+            docket.directModelSubstitute(entry.getKey(), entry.getValue());
+        }
+        if (!genericModelSubstitutes.isEmpty()) {
+            docket.genericModelSubstitutes(genericModelSubstitutes.toArray(new Class<?>[0]));
+        }
+        return docket;
+    }
+
+    /**
+     * @return 注册Docket时使用的bean名称
+     */
+    public String getBeanName() {
+        return beanName;
+    }
+
+    /**
+     * @return 分组名称，未分组时为null
+     */
+    public String getGroupName() {
+        return groupName;
+    }
+
+    public ApiInfo getApiInfo() {
+        return apiInfo;
+    }
+
+    public List<Parameter> getGlobalOperationParameters() {
+        return globalOperationParameters;
+    }
+
+    public Predicate<RequestHandler> getApis() {
+        return apis;
+    }
+
+    public Predicate<String> getPaths() {
+        return paths;
+    }
+
+    /**
+     * @return 配置的base-package
+     */
+    public List<String> getBasePackages() {
+        return basePackages;
+    }
+
+    /**
+     * @return 模型解析限制
+     */
+    public ModelLimits getModelLimits() {
+        return modelLimits;
+    }
+}
@@ -0,0 +1,84 @@
+package com.spring4all.swagger.plan;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 单个分组的模型解析限制，创建后不可变
+ */
+public final class ModelLimits {
+
+    public static final ModelLimits NONE = new ModelLimits(0, Collections.emptySet());
+
+    private final int maxDepth;
+
+    private final Set<Class<?>> opaqueTypes;
+
+    public ModelLimits(int maxDepth, Set<Class<?>> opaqueTypes) {
+        this.maxDepth = Math.max(maxDepth, 0);
+        this.opaqueTypes = Collections.unmodifiableSet(new LinkedHashSet<>(opaqueTypes));
+    }
+
+    /**
+     * @return 模型嵌套的最大层数，0为不限制
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public Set<Class<?>> getOpaqueTypes() {
+        return opaqueTypes;
+    }
+
+    /**
+     * @return 是否没有任何限制
+     */
+    public boolean isEmpty() {
+        return maxDepth == 0 && opaqueTypes.isEmpty();
+    }
+
+    /**
+     * @param depth 模型所在的层数，接口直接引用的模型为第1层
+     * @return 该层的模型是否超过最大层数
+     */
+    public boolean exceeds(int depth) {
+        return maxDepth > 0 && depth > maxDepth;
+    }
+
+    /**
+     * @param type 模型类型
+     * @return 是否只保留名称不展开属性
+     */
+    public boolean isOpaque(Class<?> type) {
+        for (Class<?> opaqueType : opaqueTypes) {
+            if (opaqueType.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ModelLimits)) {
+            return false;
+        }
+        ModelLimits other = (ModelLimits) o;
+        return maxDepth == other.maxDepth && opaqueTypes.equals(other.opaqueTypes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxDepth, opaqueTypes);
+    }
+
+    @Override
+    public String toString() {
+        return "max-model-depth=" + maxDepth + ", opaque-types=" + opaqueTypes;
+    }
+}
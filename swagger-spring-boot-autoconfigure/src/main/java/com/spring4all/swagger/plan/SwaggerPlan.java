@@ -0,0 +1,38 @@
+package com.spring4all.swagger.plan;
+
+import springfox.documentation.spring.web.plugins.Docket;
+
+import java.util.List;
+
+/**
+ * 由SwaggerProperties编译得到的全部分组配置，创建后不可变
+ */
+public final class SwaggerPlan {
+
+    private final List<DocketPlan> dockets;
+
+    SwaggerPlan(List<DocketPlan> dockets) {
+        this.dockets = dockets;
+    }
+
+    /**
+     * @return 各分组配置，顺序与配置文件中一致
+     */
+    public List<DocketPlan> getDockets() {
+        return dockets;
+    }
+
+    /**
+     * @param groupName 分组名称，未分组时为{@link Docket#DEFAULT_GROUP_NAME}
+     * @return 分组配置，不存在时返回null
+     */
+    public DocketPlan docketFor(String groupName) {
+        for (DocketPlan each : dockets) {
+            String name = each.getGroupName() == null ? Docket.DEFAULT_GROUP_NAME : each.getGroupName();
+            if (name.equals(groupName)) {
+                return each;
+            }
+        }
+        return null;
+    }
+}
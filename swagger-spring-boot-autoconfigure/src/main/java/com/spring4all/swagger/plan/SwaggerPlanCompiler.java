@@ -0,0 +1,240 @@
+package com.spring4all.swagger.plan;
+
+import com.google.common.base.Strings;
+import com.spring4all.swagger.properties.DocketInfo;
+import com.spring4all.swagger.properties.SwaggerProperties;
+import com.spring4all.swagger.utils.DocketConfigUtil;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RequestMethod;
+import springfox.documentation.service.ApiKey;
+import springfox.documentation.service.AuthorizationScope;
+import springfox.documentation.service.Parameter;
+import springfox.documentation.service.ResponseMessage;
+import springfox.documentation.service.SecurityReference;
+import springfox.documentation.service.SecurityScheme;
+import springfox.documentation.spi.service.contexts.SecurityContext;
+import springfox.documentation.swagger.web.ApiKeyVehicle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * 校验SwaggerProperties并编译为{@link SwaggerPlan}
+ * <p>
+ * 类名解析、正则编译、路径及包选择器的构建都只在这里进行一次，编译出的对象在所有分组之间共享；
+ * 发现的配置错误不会在第一个错误处中断，而是全部收集后通过{@link SwaggerPlanException}一次性报告
+ */
+public class SwaggerPlanCompiler {
+
+    private final List<String> errors = new ArrayList<>();
+
+    private SwaggerPlanCompiler() {
+    }
+
+    /**
+     * 编译配置
+     *
+     * @param swaggerProperties 配置
+     * @return 编译后的配置
+     * @throws SwaggerPlanException 配置有误
+     */
+    public static SwaggerPlan compile(SwaggerProperties swaggerProperties) {
+        return new SwaggerPlanCompiler().doCompile(swaggerProperties);
+    }
+
+    private SwaggerPlan doCompile(SwaggerProperties swaggerProperties) {
+        SwaggerProperties.Authorization authorization = swaggerProperties.getAuthorization();
+        List<SecurityScheme> securitySchemes = Collections.singletonList(apiKey(authorization));
+        List<SecurityContext> securityContexts = Collections.singletonList(securityContext(authorization));
+
+        boolean useDefaultResponseMessages = swaggerProperties.getApplyDefaultResponseMessages();
+        Map<RequestMethod, List<ResponseMessage>> responseMessages = useDefaultResponseMessages
+                ? Collections.emptyMap() : immutable(DocketConfigUtil.globalResponseMessages(swaggerProperties));
+
+        List<Parameter> globalParameters = Collections.unmodifiableList(DocketConfigUtil
+                .buildGlobalOperationParametersFromSwaggerProperties(swaggerProperties.getGlobalOperationParameters()));
+
+        List<DocketPlan> dockets = new ArrayList<>();
+        // 没有分组
+        if (swaggerProperties.getDocket().isEmpty()) {
+            dockets.add(docketPlan("swagger", swaggerProperties.getBeanName(), null, swaggerProperties,
+                    swaggerProperties, globalParameters, securitySchemes, securityContexts,
+                    useDefaultResponseMessages, responseMessages));
+        }
+        // 分组创建
+        for (Map.Entry<String, DocketInfo> entry : swaggerProperties.getDocket().entrySet()) {
+            String groupName = entry.getKey();
+            DocketInfo docketInfo = entry.getValue();
+            List<Parameter> parameters = docketInfo.getGlobalOperationParameters() == null
+                    || docketInfo.getGlobalOperationParameters().isEmpty()
+                    ? globalParameters
+                    : Collections.unmodifiableList(DocketConfigUtil.assemblyGlobalOperationParameters(
+                    swaggerProperties.getGlobalOperationParameters(), docketInfo.getGlobalOperationParameters()));
+            dockets.add(docketPlan("swagger.docket." + groupName, groupName, groupName, swaggerProperties,
+                    docketInfo, parameters, securitySchemes, securityContexts,
+                    useDefaultResponseMessages, responseMessages));
+        }
+
+        if (!errors.isEmpty()) {
+            throw new SwaggerPlanException(Collections.unmodifiableList(errors));
+        }
+        return new SwaggerPlan(Collections.unmodifiableList(dockets));
+    }
+
+    private DocketPlan docketPlan(String prefix,
+                                  String beanName,
+                                  String groupName,
+                                  SwaggerProperties swaggerProperties,
+                                  DocketInfo docketInfo,
+                                  List<Parameter> parameters,
+                                  List<SecurityScheme> securitySchemes,
+                                  List<SecurityContext> securityContexts,
+                                  boolean useDefaultResponseMessages,
+                                  Map<RequestMethod, List<ResponseMessage>> responseMessages) {
+        return new DocketPlan(
+                beanName,
+                groupName,
+                DocketConfigUtil.createApiInfo(swaggerProperties, groupName == null ? null : docketInfo),
+                swaggerProperties.getHost(),
+                securitySchemes,
+                securityContexts,
+                parameters,
+                useDefaultResponseMessages,
+                responseMessages,
+                DocketConfigUtil.packageSelector(docketInfo),
+                DocketConfigUtil.pathSelector(docketInfo),
+                Collections.unmodifiableList(DocketConfigUtil.basePackages(docketInfo)),
+                docketInfo.getPathMapping(),
+                Collections.unmodifiableList(new ArrayList<>(docketInfo.getIgnoredParameterTypes())),
+                directModelSubstitutes(prefix + ".direct-model-substitutes", docketInfo.getDirectModelSubstitutes()),
+                genericModelSubstitutes(prefix + ".generic-model-substitutes", docketInfo.getGenericModelSubstitutes()),
+                modelLimits(prefix, docketInfo));
+    }
+
+    /**
+     * 配置基于 ApiKey 的鉴权对象
+     */
+    private ApiKey apiKey(SwaggerProperties.Authorization authorization) {
+        return new ApiKey(authorization.getName(), authorization.getKeyName(), ApiKeyVehicle.HEADER.getValue());
+    }
+
+    /**
+     * 配置默认的全局鉴权策略的开关，以及通过正则表达式进行匹配；默认 ^.*$ 匹配所有URL
+     * 其中 securityReferences 为配置启用的鉴权策略，正则只编译一次
+     */
+    private SecurityContext securityContext(SwaggerProperties.Authorization authorization) {
+        Pattern authRegex;
+        try {
+            authRegex = Pattern.compile(authorization.getAuthRegex());
+        } catch (PatternSyntaxException e) {
+            errors.add("swagger.authorization.auth-regex: invalid regular expression [" + authorization.getAuthRegex()
+                    + "], " + e.getDescription());
+            authRegex = Pattern.compile("^.*$");
+        }
+        Pattern paths = authRegex;
+        return SecurityContext.builder()
+                .securityReferences(defaultAuth(authorization))
+                .forPaths(input -> paths.matcher(input).matches())
+                .build();
+    }
+
+    /**
+     * 配置默认的全局鉴权策略；其中返回的 SecurityReference 中，reference 即为ApiKey对象里面的name，保持一致才能开启全局鉴权
+     */
+    private List<SecurityReference> defaultAuth(SwaggerProperties.Authorization authorization) {
+        AuthorizationScope authorizationScope = new AuthorizationScope("global", "accessEverything");
+        AuthorizationScope[] authorizationScopes = new AuthorizationScope[1];
+        authorizationScopes[0] = authorizationScope;
+        return Collections.singletonList(SecurityReference.builder()
+                .reference(authorization.getName())
+                .scopes(authorizationScopes).build());
+    }
+
+    /**
+     * 解析对象转换配置，格式：对象-目标，多个用逗号分割
+     */
+    private Map<Class<?>, Class<?>> directModelSubstitutes(String property, String directModelSubstitutes) {
+        if (Strings.isNullOrEmpty(directModelSubstitutes)) {
+            return Collections.emptyMap();
+        }
+        Map<Class<?>, Class<?>> substitutes = new LinkedHashMap<>();
+        for (String entry : directModelSubstitutes.split(",")) {
+            String[] classNames = entry.trim().split("-");
+            if (classNames.length != 2 || classNames[0].trim().isEmpty() || classNames[1].trim().isEmpty()) {
+                errors.add(property + ": [" + entry.trim() + "] is not in the form of <class>-<class>");
+                continue;
+            }
+            Class<?> clazz = resolveClass(property, classNames[0].trim());
+            Class<?> withClazz = resolveClass(property, classNames[1].trim());
+            if (clazz != null && withClazz != null) {
+                substitutes.put(clazz, withClazz);
+            }
+        }
+        return Collections.unmodifiableMap(substitutes);
+    }
+
+    /**
+     * 解析需要进行转换的泛型类型，多个用逗号分割
+     */
+    private List<Class<?>> genericModelSubstitutes(String property, String genericModelSubstitutes) {
+        if (Strings.isNullOrEmpty(genericModelSubstitutes)) {
+            return Collections.emptyList();
+        }
+        List<Class<?>> classes = new ArrayList<>();
+        for (String className : genericModelSubstitutes.split(",")) {
+            Class<?> clazz = resolveClass(property, className.trim());
+            if (clazz != null) {
+                classes.add(clazz);
+            }
+        }
+        return Collections.unmodifiableList(classes);
+    }
+
+    /**
+     * 解析模型嵌套的最大层数及只保留名称的模型类型
+     */
+    private ModelLimits modelLimits(String prefix, DocketInfo docketInfo) {
+        if (docketInfo.getMaxModelDepth() < 0) {
+            errors.add(prefix + ".max-model-depth: must not be negative, but was " + docketInfo.getMaxModelDepth());
+        }
+        Set<Class<?>> opaqueTypes = new LinkedHashSet<>();
+        if (docketInfo.getOpaqueTypes() != null) {
+            for (String each : docketInfo.getOpaqueTypes()) {
+                String className = Strings.nullToEmpty(each).trim();
+                if (className.isEmpty()) {
+                    continue;
+                }
+                Class<?> clazz = resolveClass(prefix + ".opaque-types", className);
+                if (clazz != null) {
+                    opaqueTypes.add(clazz);
+                }
+            }
+        }
+        ModelLimits limits = new ModelLimits(docketInfo.getMaxModelDepth(), opaqueTypes);
+        return limits.isEmpty() ? ModelLimits.NONE : limits;
+    }
+
+    private Class<?> resolveClass(String property, String className) {
+        try {
+            return ClassUtils.forName(className, null);
+        } catch (ClassNotFoundException | LinkageError e) {
+            errors.add(property + ": class [" + className + "] not found");
+            return null;
+        }
+    }
+
+    private static Map<RequestMethod, List<ResponseMessage>> immutable(Map<RequestMethod, List<ResponseMessage>> messages) {
+        Map<RequestMethod, List<ResponseMessage>> result = new LinkedHashMap<>();
+        for (Map.Entry<RequestMethod, List<ResponseMessage>> entry : messages.entrySet()) {
+            result.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+}
@@ -0,0 +1,20 @@
+package com.spring4all.swagger.plan;
+
+import java.util.List;
+
+/**
+ * swagger配置有误，包含编译过程中发现的所有错误
+ */
+public class SwaggerPlanException extends IllegalStateException {
+
+    private final List<String> errors;
+
+    public SwaggerPlanException(List<String> errors) {
+        super("Invalid swagger configuration, " + errors.size() + " error(s):\n  - " + String.join("\n  - ", errors));
+        this.errors = errors;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,20 @@
+package com.spring4all.swagger.plan;
+
+import org.springframework.boot.diagnostics.AbstractFailureAnalyzer;
+import org.springframework.boot.diagnostics.FailureAnalysis;
+
+/**
+ * 启动失败时列出所有swagger配置错误
+ */
+public class SwaggerPlanFailureAnalyzer extends AbstractFailureAnalyzer<SwaggerPlanException> {
+
+    @Override
+    protected FailureAnalysis analyze(Throwable rootFailure, SwaggerPlanException cause) {
+        StringBuilder description = new StringBuilder("Invalid swagger configuration:\n");
+        for (String error : cause.getErrors()) {
+            description.append("\n    - ").append(error);
+        }
+        return new FailureAnalysis(description.toString(),
+                "Correct the swagger.* properties listed above.", cause);
+    }
+}
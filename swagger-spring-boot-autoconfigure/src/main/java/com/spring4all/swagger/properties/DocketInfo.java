@@ -44,10 +44,20 @@ public class DocketInfo {
     private SwaggerProperties.Contact contact = new SwaggerProperties.Contact();
 
     /**
-     * swagger会解析的包路径
+     * swagger会解析的包路径，多个用逗号分割，默认：全扫描
      **/
     private String basePackage = "";
 
+    /**
+     * 以列表配置的swagger会解析的包路径，与basePackage合并
+     **/
+    private List<String> basePackages = new ArrayList<>();
+
+    /**
+     * 在basePackage基础上需要排除的包路径
+     **/
+    private List<String> excludePackage = new ArrayList<>();
+
     /**
      * swagger会解析的url规则
      **/
@@ -82,4 +92,13 @@ public class DocketInfo {
      */
     private String genericModelSubstitutes;
 
+    /**
+     * 模型嵌套的最大层数，接口直接引用的模型为第1层，超过的模型只保留名称不展开属性；0为不限制
+     */
+    private int maxModelDepth = 0;
+
+    /**
+     * 只保留名称不展开属性的模型类型（包括其子类），多个用逗号分割
+     */
+    private List<String> opaqueTypes = new ArrayList<>();
 }
@@ -0,0 +1,629 @@
+package com.spring4all.swagger.properties;
+
+import lombok.*;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import springfox.documentation.swagger.web.DocExpansion;
+import springfox.documentation.swagger.web.ModelRendering;
+import springfox.documentation.swagger.web.OperationsSorter;
+import springfox.documentation.swagger.web.TagsSorter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 翟永超
+ * Create date ：2017/8/7.
+ * My blog： http://blog.didispace.com
+ */
+@ToString(callSuper = true)
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties("swagger")
+public class SwaggerProperties extends DocketInfo {
+
+    private String beanName;
+
+    /**
+     * 是否开启swagger，默认true；为false时不注册任何文档相关的bean，也不会加载springfox的类
+     **/
+    private Boolean enabled;
+
+    /**
+     * 分组文档
+     **/
+    private Map<String, DocketInfo> docket = new LinkedHashMap<>();
+
+    /**
+     * 聚合的远程文档，每个条目作为一个额外的分组
+     **/
+    private Map<String, Remote> remote = new LinkedHashMap<>();
+
+    /**
+     * host信息
+     **/
+    private String host = "";
+
+    /**
+     * 页面功能配置
+     **/
+    private UiConfig uiConfig = new UiConfig();
+
+    /**
+     * 是否使用默认预定义的响应消息 ，默认 true
+     **/
+    private Boolean applyDefaultResponseMessages = true;
+
+    /**
+     * 全局响应消息
+     **/
+    private GlobalResponseMessage globalResponseMessage;
+
+    /**
+     * 全局统一鉴权配置
+     **/
+    private Authorization authorization = new Authorization();
+
+    /**
+     * 文档扫描配置
+     **/
+    private Scan scan = new Scan();
+
+    /**
+     * 文档输出缓存配置
+     **/
+    private SpecCache specCache = new SpecCache();
+
+    /**
+     * 静态文档配置
+     **/
+    private StaticSpec staticSpec = new StaticSpec();
+
+    /**
+     * 文档磁盘缓存配置
+     **/
+    private DiskCache diskCache = new DiskCache();
+
+    /**
+     * 文档接口的运行指标
+     **/
+    private Metrics metrics = new Metrics();
+
+    /**
+     * 配置刷新后重建分组
+     **/
+    private Refresh refresh = new Refresh();
+
+    /**
+     * 文档流式输出配置
+     **/
+    private Streaming streaming = new Streaming();
+
+    /**
+     * 精简版文档配置
+     **/
+    private Lite lite = new Lite();
+
+    /**
+     * 部分文档配置
+     **/
+    private Partial partial = new Partial();
+
+    /**
+     * 大分组自动拆分配置
+     **/
+    private Shard shard = new Shard();
+
+    /**
+     * 文档生成限流配置
+     **/
+    private Limiter limiter = new Limiter();
+
+    /**
+     * 集群共享的文档存储配置
+     **/
+    private SpecStore specStore = new SpecStore();
+
+    /**
+     * 远程文档聚合配置
+     **/
+    private Aggregation aggregation = new Aggregation();
+
+    /**
+     * swagger-ui静态资源配置
+     **/
+    private UiResources uiResources = new UiResources();
+
+    @Data
+    @NoArgsConstructor
+    public static class GlobalResponseMessage {
+
+        /**
+         * POST 响应消息体
+         **/
+        List<GlobalResponseMessageBody> post = new ArrayList<>();
+
+        /**
+         * GET 响应消息体
+         **/
+        List<GlobalResponseMessageBody> get = new ArrayList<>();
+
+        /**
+         * PUT 响应消息体
+         **/
+        List<GlobalResponseMessageBody> put = new ArrayList<>();
+
+        /**
+         * PATCH 响应消息体
+         **/
+        List<GlobalResponseMessageBody> patch = new ArrayList<>();
+
+        /**
+         * DELETE 响应消息体
+         **/
+        List<GlobalResponseMessageBody> delete = new ArrayList<>();
+
+        /**
+         * HEAD 响应消息体
+         **/
+        List<GlobalResponseMessageBody> head = new ArrayList<>();
+
+        /**
+         * OPTIONS 响应消息体
+         **/
+        List<GlobalResponseMessageBody> options = new ArrayList<>();
+
+        /**
+         * TRACE 响应消息体
+         **/
+        List<GlobalResponseMessageBody> trace = new ArrayList<>();
+
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class Contact {
+
+        /**
+         * 联系人
+         **/
+        private String name = "";
+        /**
+         * 联系人url
+         **/
+        private String url = "";
+        /**
+         * 联系人email
+         **/
+        private String email = "";
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class UiConfig {
+
+
+        private String apiSorter = "alpha";
+
+        /**
+         * 是否启用json编辑器
+         **/
+        private Boolean jsonEditor = false;
+        /**
+         * 是否显示请求头信息
+         **/
+        private Boolean showRequestHeaders = true;
+        /**
+         * 支持页面提交的请求类型
+         **/
+        private String submitMethods = "get,post,put,delete,patch";
+        /**
+         * 请求超时时间
+         **/
+        private Long requestTimeout = 10000L;
+
+        private Boolean deepLinking;
+        private Boolean displayOperationId;
+        private Integer defaultModelsExpandDepth;
+        private Integer defaultModelExpandDepth;
+        private ModelRendering defaultModelRendering;
+
+        /**
+         * 是否显示请求耗时，默认false
+         */
+        private Boolean displayRequestDuration = true;
+        /**
+         * 可选 none | list
+         */
+        private DocExpansion docExpansion;
+        /**
+         * Boolean=false OR String
+         */
+        private Object filter;
+        private Integer maxDisplayedTags;
+        private OperationsSorter operationsSorter;
+        private Boolean showExtensions;
+        private TagsSorter tagsSorter;
+
+        /**
+         * Network
+         */
+        private String validatorUrl;
+    }
+
+    /**
+     * securitySchemes 支持方式之一 ApiKey
+     */
+    @Data
+    @NoArgsConstructor
+    public static class Authorization {
+
+        /**
+         * 鉴权策略ID，对应 SecurityReferences ID
+         */
+        private String name = "Authorization";
+
+        /**
+         * 鉴权传递的Header参数
+         */
+        private String keyName = "TOKEN";
+
+        /**
+         * 需要开启鉴权URL的正则
+         */
+        private String authRegex = "^.*$";
+    }
+
+    /**
+     * 分组文档的扫描策略
+     */
+    @Data
+    @NoArgsConstructor
+    public static class Scan {
+
+        /**
+         * 是否并行扫描各分组，默认false（逐个分组串行扫描）
+         */
+        private Boolean parallel = false;
+
+        /**
+         * 并行扫描的线程数，默认：CPU核数与分组数的较小值
+         */
+        private Integer poolSize;
+
+        /**
+         * 是否延迟扫描，开启后分组在首次请求时才扫描，默认false
+         */
+        private Boolean lazy = false;
+
+        /**
+         * 延迟扫描时，是否在应用就绪后于后台预热所有分组，默认false
+         */
+        private Boolean warmUp = false;
+
+        /**
+         * 是否在配置相同（忽略的参数类型、类型替换规则等）的分组之间共享解析出的模型，默认true
+         */
+        private Boolean shareModels = true;
+
+        /**
+         * 是否使用编译期生成的控制器索引（META-INF/swagger/controllers.index）预先划分各分组的候选接口，默认false
+         */
+        private Boolean useIndex = false;
+    }
+
+    /**
+     * /v2/api-docs 输出缓存，缓存序列化后的json以及gzip压缩结果
+     */
+    @Data
+    @NoArgsConstructor
+    public static class SpecCache {
+
+        /**
+         * 是否缓存序列化后的文档，默认true
+         */
+        private Boolean enabled = true;
+
+        /**
+         * 每个分组最多缓存的host/basePath组合数，默认16
+         */
+        private Integer maxVariants = 16;
+    }
+
+    /**
+     * 静态文档模式，直接输出构建阶段由SwaggerSpecGenerator生成的文档，不在运行时扫描
+     */
+    @Data
+    @NoArgsConstructor
+    public static class StaticSpec {
+
+        /**
+         * 是否开启静态文档模式，默认false
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 预生成文档的位置，默认：classpath:META-INF/swagger/
+         */
+        private String location = "classpath:META-INF/swagger/";
+
+        /**
+         * 文档来源：location、disk-cache、spec-store或none（扫描），默认在启动时判定；显式设置为none时强制扫描
+         */
+        private String source;
+    }
+
+    /**
+     * 跨重启的文档磁盘缓存，classpath与配置不变时直接输出上次生成的文档，不再扫描
+     */
+    @Data
+    @NoArgsConstructor
+    public static class DiskCache {
+
+        /**
+         * 是否开启磁盘缓存，默认false
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 缓存目录，默认：${java.io.tmpdir}/swagger-spec-cache/${spring.application.name}
+         */
+        private String directory;
+
+        /**
+         * 最多保留的缓存份数，默认3
+         */
+        private Integer maxEntries = 3;
+
+        /**
+         * 额外参与指纹计算的内容，可引用决定controller是否存在的其他配置，如${feature.report.enabled:false}
+         */
+        private String key;
+    }
+
+    /**
+     * 文档接口的运行指标，需要引入micrometer并提供MeterRegistry
+     */
+    @Data
+    @NoArgsConstructor
+    public static class Metrics {
+
+        /**
+         * 是否记录/v2/api-docs、/swagger-resources及UI资源的请求指标，默认true
+         */
+        private Boolean enabled = true;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class Refresh {
+
+        /**
+         * 是否在swagger.*配置刷新（spring-cloud的EnvironmentChangeEvent）后只重建发生变化的分组，默认true
+         */
+        private Boolean enabled = true;
+    }
+
+    /**
+     * 流式输出文档，序列化时直接写出到响应（或缓存的gzip压缩结果），不再生成完整的json字符串与字节数组
+     */
+    @Data
+    @NoArgsConstructor
+    public static class Streaming {
+
+        /**
+         * 是否开启流式输出，默认false
+         */
+        private Boolean enabled = false;
+    }
+
+    /**
+     * 精简版文档，去掉描述、示例与扩展字段，重复的内联模型提取到definitions中；请求时可通过参数lite=true|false选择
+     */
+    @Data
+    @NoArgsConstructor
+    public static class Lite {
+
+        /**
+         * 未指定lite参数时是否输出精简版文档，默认false
+         */
+        private Boolean byDefault = false;
+    }
+
+    /**
+     * 按tag或路径前缀截取的部分文档，请求时通过参数tag、path指定
+     */
+    @Data
+    @NoArgsConstructor
+    public static class Partial {
+
+        /**
+         * 最多缓存的截取结果数，默认64
+         */
+        private Integer maxEntries = 64;
+    }
+
+    /**
+     * 接口数超过阈值的分组自动拆分为多个子分组，每个子分组是独立的Docket，单独扫描、缓存并出现在swagger-resources中
+     */
+    @Data
+    @NoArgsConstructor
+    public static class Shard {
+
+        /**
+         * 分组接口数超过该值时拆分，默认0：不拆分
+         */
+        private Integer threshold = 0;
+
+        /**
+         * 拆分依据，tag：按接口的tag；package：按base-package下的第一级子包。默认tag
+         */
+        private ShardBy by = ShardBy.TAG;
+    }
+
+    public enum ShardBy {
+
+        /**
+         * 按接口的tag拆分，接口有多个tag时取第一个
+         */
+        TAG,
+
+        /**
+         * 按base-package下的第一级子包拆分
+         */
+        PACKAGE
+    }
+
+    /**
+     * 限制文档生成（扫描延迟分组、缓存未命中时的序列化与截取）的并发数，同一分组同一形式的文档同时只生成一次
+     */
+    @Data
+    @NoArgsConstructor
+    public static class Limiter {
+
+        /**
+         * 是否开启限流，默认false
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 最大并发生成数，默认2
+         */
+        private Integer maxConcurrent = 2;
+
+        /**
+         * 最多等待的请求数，超出时返回503，默认16
+         */
+        private Integer maxQueue = 16;
+
+        /**
+         * 最长等待时间，超时返回503，单位毫秒，默认10000
+         */
+        private Long queueTimeout = 10000L;
+
+        /**
+         * 返回503时Retry-After的秒数，默认5
+         */
+        private Integer retryAfter = 5;
+    }
+
+    /**
+     * 集群共享的文档存储，同一版本的文档只由首个取得构建权的节点扫描并发布，其他节点等待后直接读取
+     */
+    @Data
+    @NoArgsConstructor
+    public static class SpecStore {
+
+        /**
+         * 是否开启文档存储，默认false
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 自定义SwaggerSpecStore实现的类名，默认使用共享文件系统实现
+         */
+        private String type;
+
+        /**
+         * 共享目录，可以是NFS等共享文件系统或本地目录，默认：${java.io.tmpdir}/swagger-spec-store/${spring.application.name}
+         */
+        private String directory;
+
+        /**
+         * 文档版本，默认以classpath与swagger、springfox相关配置计算，与磁盘缓存的指纹相同
+         */
+        private String version;
+
+        /**
+         * 其他节点正在构建时的最长等待时间，超时后自行扫描，单位毫秒，默认30000
+         */
+        private Long waitTimeout = 30000L;
+
+        /**
+         * 构建权的有效期，超过该时间未释放视为持有者已退出，单位毫秒，默认300000
+         */
+        private Long lockTimeout = 300000L;
+
+        /**
+         * 最多保留的版本数，默认3
+         */
+        private Integer maxEntries = 3;
+    }
+
+    /**
+     * 远程文档，例如下游服务的/v2/api-docs
+     */
+    @Data
+    @NoArgsConstructor
+    public static class Remote {
+
+        /**
+         * 远程文档的地址
+         */
+        private String url;
+    }
+
+    /**
+     * 远程文档的拉取与缓存：并发拉取，超时与熔断，按TTL缓存并在过期后先返回旧文档再后台刷新
+     */
+    @Data
+    @NoArgsConstructor
+    public static class Aggregation {
+
+        /**
+         * 连接超时，单位毫秒，默认2000
+         */
+        private Integer connectTimeout = 2000;
+
+        /**
+         * 读取超时，单位毫秒，默认5000
+         */
+        private Integer readTimeout = 5000;
+
+        /**
+         * 缓存有效期，过期后的请求触发后台刷新，单位毫秒，默认60000
+         */
+        private Long ttl = 60000L;
+
+        /**
+         * 过期后仍可返回旧文档的最长时间（从拉取时算起），超过后同步拉取，单位毫秒，默认3600000
+         */
+        private Long staleTtl = 3600000L;
+
+        /**
+         * 连续失败多少次后熔断，默认3
+         */
+        private Integer failureThreshold = 3;
+
+        /**
+         * 熔断持续时间，期间不再请求该远程文档，单位毫秒，默认30000
+         */
+        private Long openDuration = 30000L;
+
+        /**
+         * 并发拉取的线程数，默认4
+         */
+        private Integer threads = 4;
+    }
+
+    /**
+     * swagger-ui静态资源，预先压缩并按内容计算ETag
+     */
+    @Data
+    @NoArgsConstructor
+    public static class UiResources {
+
+        /**
+         * 是否由starter输出swagger-ui的静态资源，默认true
+         */
+        private Boolean enabled = true;
+
+        /**
+         * webjars下资源的缓存时间，单位秒，默认31536000；swagger-ui.html每次都重新验证
+         */
+        private Long maxAge = 31536000L;
+    }
+
+}
@@ -0,0 +1,275 @@
+package com.spring4all.swagger.remote;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring4all.swagger.properties.SwaggerProperties;
+import com.spring4all.swagger.web.SwaggerSpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 聚合的远程文档，每个swagger.remote条目作为一个额外的分组，原样输出远程文档
+ * <p>
+ * 应用就绪后并发拉取所有远程文档，之后按swagger.aggregation配置缓存：
+ * <ul>
+ * <li>未过期（ttl内）时直接返回缓存</li>
+ * <li>过期但未超过stale-ttl时返回旧文档，同时在后台刷新</li>
+ * <li>没有可用的旧文档时同步拉取，最多等待连接超时与读取超时之和</li>
+ * </ul>
+ * 每个远程文档同时只有一个拉取请求；连续失败failure-threshold次后熔断open-duration，期间不再请求，
+ * 熔断结束后的第一次拉取失败会再次熔断。远程返回ETag时以If-None-Match重新验证，内容未变时沿用原有的缓存
+ */
+public class SwaggerRemoteSpecs implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SwaggerRemoteSpecs.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<String, RemoteGroup> groups;
+
+    private final int connectTimeout;
+    private final int readTimeout;
+    private final long ttl;
+    private final long staleTtl;
+    private final int failureThreshold;
+    private final long openDuration;
+
+    private final ExecutorService executor;
+
+    public SwaggerRemoteSpecs(Map<String, SwaggerProperties.Remote> remotes, SwaggerProperties.Aggregation aggregation) {
+        Map<String, RemoteGroup> groups = new LinkedHashMap<>();
+        for (Map.Entry<String, SwaggerProperties.Remote> entry : remotes.entrySet()) {
+            try {
+                groups.put(entry.getKey(), new RemoteGroup(entry.getKey(), new URL(entry.getValue().getUrl())));
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException("Invalid swagger.remote." + entry.getKey() + ".url", e);
+            }
+        }
+        this.groups = Collections.unmodifiableMap(groups);
+        this.connectTimeout = aggregation.getConnectTimeout();
+        this.readTimeout = aggregation.getReadTimeout();
+        this.ttl = aggregation.getTtl();
+        this.staleTtl = Math.max(aggregation.getStaleTtl(), aggregation.getTtl());
+        this.failureThreshold = Math.max(aggregation.getFailureThreshold(), 1);
+        this.openDuration = aggregation.getOpenDuration();
+        this.executor = Executors.newFixedThreadPool(Math.max(aggregation.getThreads(), 1), new ThreadFactory() {
+
+            private final AtomicInteger sequence = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "swagger-remote-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * @return 远程文档的分组名称
+     */
+    public Set<String> groupNames() {
+        return groups.keySet();
+    }
+
+    /**
+     * @param groupName 分组名称
+     * @return 是否为远程文档的分组
+     */
+    public boolean contains(String groupName) {
+        return groups.containsKey(groupName);
+    }
+
+    /**
+     * 获取远程文档
+     *
+     * @param groupName 分组名称
+     * @return 文档，远程不可用并且没有可用的旧文档时返回null
+     */
+    public SwaggerSpec get(String groupName) {
+        RemoteGroup group = groups.get(groupName);
+        return group == null ? null : group.get();
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        for (RemoteGroup group : groups.values()) {
+            group.refresh();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private final class RemoteGroup {
+
+        private final String name;
+
+        private final URL url;
+
+        private volatile Entry entry;
+
+        private CompletableFuture<Entry> refreshing;
+
+        private int failures;
+
+        private long openUntil;
+
+        RemoteGroup(String name, URL url) {
+            this.name = name;
+            this.url = url;
+        }
+
+        SwaggerSpec get() {
+            Entry current = entry;
+            long age = current == null ? Long.MAX_VALUE : System.currentTimeMillis() - current.fetchedAt;
+            if (age < ttl) {
+                return current.spec;
+            }
+            CompletableFuture<Entry> refresh = refresh();
+            if (age < staleTtl) {
+                return current.spec;
+            }
+            if (refresh == null) {
+                return null;
+            }
+            try {
+                return refresh.get(connectTimeout + readTimeout, TimeUnit.MILLISECONDS).spec;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException | TimeoutException e) {
+                return null;
+            }
+        }
+
+        /**
+         * 开始刷新，已在刷新时返回同一次刷新；熔断期间返回null
+         */
+        synchronized CompletableFuture<Entry> refresh() {
+            if (refreshing != null) {
+                return refreshing;
+            }
+            if (System.currentTimeMillis() < openUntil) {
+                return null;
+            }
+            CompletableFuture<Entry> future = new CompletableFuture<>();
+            refreshing = future;
+            executor.execute(() -> {
+                try {
+                    Entry fetched = fetch();
+                    completed(future, fetched, null);
+                    future.complete(fetched);
+                } catch (RuntimeException e) {
+                    completed(future, null, e);
+                    future.completeExceptionally(e);
+                }
+            });
+            return future;
+        }
+
+        /**
+         * 在完成future之前更新缓存与失败计数，等待该次刷新的请求返回后，紧接着的请求已能看到本次的结果
+         */
+        private synchronized void completed(CompletableFuture<Entry> future, Entry fetched, Throwable failure) {
+            if (refreshing == future) {
+                refreshing = null;
+            }
+            if (failure == null) {
+                entry = fetched;
+                failures = 0;
+                return;
+            }
+            Throwable cause = failure instanceof UncheckedIOException ? failure.getCause() : failure;
+            if (++failures >= failureThreshold) {
+                openUntil = System.currentTimeMillis() + openDuration;
+                log.warn("Unable to fetch remote swagger specification {} from {} ({} consecutive failure(s)), "
+                        + "pausing for {} ms: {}", name, url, failures, openDuration, cause.toString());
+            } else {
+                log.warn("Unable to fetch remote swagger specification {} from {}: {}", name, url, cause.toString());
+            }
+        }
+
+        private Entry fetch() {
+            Entry current = entry;
+            HttpURLConnection connection = null;
+            try {
+                connection = (HttpURLConnection) url.openConnection();
+                connection.setConnectTimeout(connectTimeout);
+                connection.setReadTimeout(readTimeout);
+                connection.setRequestProperty(HttpHeaders.ACCEPT, "application/json");
+                connection.setRequestProperty(HttpHeaders.ACCEPT_ENCODING, "gzip");
+                if (current != null && current.remoteEtag != null) {
+                    connection.setRequestProperty(HttpHeaders.IF_NONE_MATCH, current.remoteEtag);
+                }
+                int status = connection.getResponseCode();
+                if (status == HttpURLConnection.HTTP_NOT_MODIFIED && current != null) {
+                    return new Entry(current.spec, current.remoteEtag);
+                }
+                if (status != HttpURLConnection.HTTP_OK) {
+                    throw new IOException("HTTP " + status);
+                }
+                byte[] json;
+                try (InputStream in = "gzip".equalsIgnoreCase(connection.getContentEncoding())
+                        ? new GZIPInputStream(connection.getInputStream()) : connection.getInputStream()) {
+                    json = StreamUtils.copyToByteArray(in);
+                }
+                JsonNode tree = objectMapper.readTree(json);
+                if (tree == null || !tree.isObject()) {
+                    throw new IOException("Response is not a JSON object");
+                }
+                SwaggerSpec spec = current != null && Arrays.equals(current.spec.getJson(), json)
+                        ? current.spec : SwaggerSpec.of(json);
+                return new Entry(spec, connection.getHeaderField(HttpHeaders.ETAG));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                if (connection != null) {
+                    connection.disconnect();
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final SwaggerSpec spec;
+
+        private final String remoteEtag;
+
+        private final long fetchedAt = System.currentTimeMillis();
+
+        Entry(SwaggerSpec spec, String remoteEtag) {
+            this.spec = spec;
+            this.remoteEtag = remoteEtag;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.spring4all.swagger.report;
+
+import springfox.documentation.spi.service.contexts.DocumentationContext;
+import springfox.documentation.spi.service.contexts.RequestMappingContext;
+import springfox.documentation.spring.web.scanners.ApiListingReferenceScanResult;
+import springfox.documentation.spring.web.scanners.ApiListingReferenceScanner;
+
+import java.util.List;
+
+/**
+ * 记录按包、路径筛选接口的耗时及筛选出的接口数量
+ */
+public class ReportingApiListingReferenceScanner extends ApiListingReferenceScanner {
+
+    private final SwaggerStartupReport report;
+
+    public ReportingApiListingReferenceScanner(SwaggerStartupReport report) {
+        this.report = report;
+    }
+
+    @Override
+    public ApiListingReferenceScanResult scan(DocumentationContext context) {
+        long start = System.nanoTime();
+        ApiListingReferenceScanResult result = super.scan(context);
+        int handlers = 0;
+        for (List<RequestMappingContext> each : result.getResourceGroupRequestMappings().values()) {
+            handlers += each.size();
+        }
+        report.group(context.getGroupName()).recordSelection(System.nanoTime() - start, handlers);
+        return result;
+    }
+}
@@ -0,0 +1,34 @@
+package com.spring4all.swagger.report;
+
+import com.fasterxml.classmate.TypeResolver;
+import springfox.documentation.schema.Model;
+import springfox.documentation.schema.ModelProvider;
+import springfox.documentation.spi.service.contexts.RequestMappingContext;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsManager;
+import springfox.documentation.spring.web.scanners.ApiModelReader;
+
+import java.util.Map;
+
+/**
+ * 记录解析模型的耗时及分组中的模型数量
+ */
+public class ReportingApiModelReader extends ApiModelReader {
+
+    private final SwaggerStartupReport report;
+
+    public ReportingApiModelReader(ModelProvider modelProvider,
+                                   TypeResolver typeResolver,
+                                   DocumentationPluginsManager pluginsManager,
+                                   SwaggerStartupReport report) {
+        super(modelProvider, typeResolver, pluginsManager);
+        this.report = report;
+    }
+
+    @Override
+    public Map<String, Model> read(RequestMappingContext context) {
+        long start = System.nanoTime();
+        Map<String, Model> models = super.read(context);
+        report.group(context.getDocumentationContext().getGroupName()).recordModels(System.nanoTime() - start, models.keySet());
+        return models;
+    }
+}
@@ -0,0 +1,143 @@
+package com.spring4all.swagger.report;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 单个分组的文档生成耗时及规模
+ * <p>
+ * 扫描阶段可能在多个线程中进行，所有计数均为线程安全的累加；
+ * 序列化在文档首次被请求时才发生，之前为0
+ */
+public class SwaggerGroupReport {
+
+    private final String groupName;
+
+    /**
+     * 创建Docket的耗时
+     **/
+    private final AtomicLong buildNanos = new AtomicLong();
+
+    /**
+     * 按包、路径筛选接口的耗时
+     **/
+    private final AtomicLong selectionNanos = new AtomicLong();
+
+    /**
+     * 解析模型的耗时
+     **/
+    private final AtomicLong modelNanos = new AtomicLong();
+
+    /**
+     * 扫描分组的总耗时，包括筛选接口与解析模型
+     **/
+    private final AtomicLong scanNanos = new AtomicLong();
+
+    /**
+     * 最近一次序列化的耗时
+     **/
+    private final AtomicLong serializationNanos = new AtomicLong();
+
+    private final AtomicLong handlers = new AtomicLong();
+
+    private final Set<String> models = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    /**
+     * 最近一次序列化后的文档大小
+     **/
+    private final AtomicLong specBytes = new AtomicLong();
+
+    SwaggerGroupReport(String groupName) {
+        this.groupName = groupName;
+    }
+
+    public void recordBuild(long nanos) {
+        buildNanos.addAndGet(nanos);
+    }
+
+    public void recordSelection(long nanos, int handlerCount) {
+        selectionNanos.addAndGet(nanos);
+        handlers.set(handlerCount);
+    }
+
+    public void recordModels(long nanos, Set<String> modelNames) {
+        modelNanos.addAndGet(nanos);
+        models.addAll(modelNames);
+    }
+
+    public void recordScan(long nanos) {
+        scanNanos.addAndGet(nanos);
+    }
+
+    public void recordSerialization(long nanos, long bytes) {
+        serializationNanos.set(nanos);
+        specBytes.set(bytes);
+    }
+
+    /**
+     * 重新扫描前清空扫描阶段的统计
+     */
+    void resetScan() {
+        selectionNanos.set(0);
+        modelNanos.set(0);
+        scanNanos.set(0);
+        handlers.set(0);
+        models.clear();
+    }
+
+    public String getGroupName() {
+        return groupName;
+    }
+
+    public long getBuildNanos() {
+        return buildNanos.get();
+    }
+
+    public long getSelectionNanos() {
+        return selectionNanos.get();
+    }
+
+    public long getModelNanos() {
+        return modelNanos.get();
+    }
+
+    public long getScanNanos() {
+        return scanNanos.get();
+    }
+
+    public long getSerializationNanos() {
+        return serializationNanos.get();
+    }
+
+    public long getHandlers() {
+        return handlers.get();
+    }
+
+    public int getModels() {
+        return models.size();
+    }
+
+    public long getSpecBytes() {
+        return specBytes.get();
+    }
+
+    /**
+     * @return 以毫秒为单位的各阶段耗时及规模，用于actuator端点输出
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("buildMillis", SwaggerStartupReport.millis(getBuildNanos()));
+        result.put("selectionMillis", SwaggerStartupReport.millis(getSelectionNanos()));
+        result.put("modelMillis", SwaggerStartupReport.millis(getModelNanos()));
+        result.put("scanMillis", SwaggerStartupReport.millis(getScanNanos()));
+        result.put("serializationMillis", SwaggerStartupReport.millis(getSerializationNanos()));
+        result.put("handlers", getHandlers());
+        result.put("models", getModels());
+        result.put("specBytes", getSpecBytes());
+        return result;
+    }
+}
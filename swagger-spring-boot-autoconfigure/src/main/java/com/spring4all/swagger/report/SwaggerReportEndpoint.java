@@ -0,0 +1,23 @@
+package com.spring4all.swagger.report;
+
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+
+import java.util.Map;
+
+/**
+ * 输出文档生成报告的actuator端点，id为swagger
+ */
+public class SwaggerReportEndpoint extends AbstractEndpoint<Map<String, Object>> {
+
+    private final SwaggerStartupReport report;
+
+    public SwaggerReportEndpoint(SwaggerStartupReport report) {
+        super("swagger");
+        this.report = report;
+    }
+
+    @Override
+    public Map<String, Object> invoke() {
+        return report.toMap();
+    }
+}
@@ -0,0 +1,148 @@
+package com.spring4all.swagger.report;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 记录文档生成各阶段的耗时及规模：编译配置、创建Docket、筛选接口、解析模型、扫描以及序列化
+ * <p>
+ * 应用就绪后输出一行汇总日志，完整的报告通过actuator的swagger端点查看
+ */
+public class SwaggerStartupReport implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(SwaggerStartupReport.class);
+
+    private final AtomicLong planNanos = new AtomicLong();
+
+    private final ConcurrentMap<String, SwaggerGroupReport> groups = new ConcurrentHashMap<>();
+
+    /**
+     * 记录编译配置的耗时
+     *
+     * @param nanos 耗时
+     */
+    public void recordPlan(long nanos) {
+        planNanos.set(nanos);
+    }
+
+    /**
+     * 获取分组的报告，不存在时创建
+     *
+     * @param groupName 分组名称
+     * @return 分组报告
+     */
+    public SwaggerGroupReport group(String groupName) {
+        return groups.computeIfAbsent(groupName, SwaggerGroupReport::new);
+    }
+
+    /**
+     * 移除分组的报告，用于已拆分或已删除的分组
+     *
+     * @param groupName 分组名称
+     */
+    public void removeGroup(String groupName) {
+        groups.remove(groupName);
+    }
+
+    /**
+     * 开始扫描分组，清空该分组上一次扫描的统计
+     *
+     * @param groupName 分组名称
+     * @return 分组报告
+     */
+    public SwaggerGroupReport startScan(String groupName) {
+        SwaggerGroupReport group = group(groupName);
+        group.resetScan();
+        return group;
+    }
+
+    public long getPlanNanos() {
+        return planNanos.get();
+    }
+
+    /**
+     * @return 按分组名称排序的分组报告
+     */
+    public List<SwaggerGroupReport> getGroups() {
+        List<SwaggerGroupReport> result = new ArrayList<>(groups.values());
+        result.sort((a, b) -> a.getGroupName().compareTo(b.getGroupName()));
+        return result;
+    }
+
+    /**
+     * @return 汇总及各分组的报告，用于actuator端点输出
+     */
+    public Map<String, Object> toMap() {
+        List<SwaggerGroupReport> groupReports = getGroups();
+        long scanNanos = 0;
+        long handlers = 0;
+        long specBytes = 0;
+        Map<String, Object> groupMaps = new LinkedHashMap<>();
+        for (SwaggerGroupReport group : groupReports) {
+            scanNanos += group.getBuildNanos() + group.getScanNanos();
+            handlers += group.getHandlers();
+            specBytes += group.getSpecBytes();
+            groupMaps.put(group.getGroupName(), group.toMap());
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("planMillis", millis(getPlanNanos()));
+        result.put("totalMillis", millis(getPlanNanos() + scanNanos));
+        result.put("handlers", handlers);
+        result.put("specBytes", specBytes);
+        result.put("groups", groupMaps);
+        return result;
+    }
+
+    /**
+     * @return 一行汇总，例如：plan 2.1 ms, 2 group(s), 120 handler(s) in 815.3 ms [default: build 0.4 ms, ...]
+     */
+    public String summary() {
+        List<SwaggerGroupReport> groupReports = getGroups();
+        long totalNanos = getPlanNanos();
+        long handlers = 0;
+        StringBuilder details = new StringBuilder();
+        for (SwaggerGroupReport group : groupReports) {
+            totalNanos += group.getBuildNanos() + group.getScanNanos();
+            handlers += group.getHandlers();
+            if (details.length() > 0) {
+                details.append("; ");
+            }
+            details.append(group.getGroupName())
+                    .append(": build ").append(millis(group.getBuildNanos())).append(" ms")
+                    .append(", select ").append(millis(group.getSelectionNanos())).append(" ms")
+                    .append(", models ").append(millis(group.getModelNanos())).append(" ms")
+                    .append(", scan ").append(millis(group.getScanNanos())).append(" ms")
+                    .append(", ").append(group.getHandlers()).append(" handler(s)")
+                    .append(", ").append(group.getModels()).append(" model(s)");
+            if (group.getSpecBytes() > 0) {
+                details.append(", serialize ").append(millis(group.getSerializationNanos())).append(" ms")
+                        .append(", ").append(group.getSpecBytes()).append(" byte(s)");
+            }
+        }
+        return "plan " + millis(getPlanNanos()) + " ms, " + groupReports.size() + " group(s), "
+                + handlers + " handler(s) in " + millis(totalNanos) + " ms [" + details + "]";
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!groups.isEmpty()) {
+            log.info("Swagger documentation: {}", summary());
+        }
+    }
+
+    static BigDecimal millis(long nanos) {
+        return BigDecimal.valueOf(nanos, 6).setScale(1, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,344 @@
+package com.spring4all.swagger.scan;
+
+import com.fasterxml.classmate.ResolvedType;
+import com.fasterxml.classmate.TypeResolver;
+import com.google.common.base.Optional;
+import com.spring4all.swagger.plan.ModelLimits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.util.ReflectionUtils;
+import springfox.documentation.builders.ModelBuilder;
+import springfox.documentation.schema.AlternateTypeRule;
+import springfox.documentation.schema.Model;
+import springfox.documentation.schema.ModelProperty;
+import springfox.documentation.schema.ModelProvider;
+import springfox.documentation.schema.ModelReference;
+import springfox.documentation.schema.ResolvedTypes;
+import springfox.documentation.schema.TypeNameExtractor;
+import springfox.documentation.spi.schema.AlternateTypeProvider;
+import springfox.documentation.spi.schema.contexts.ModelContext;
+import springfox.documentation.spi.service.contexts.DocumentationContext;
+
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static springfox.documentation.schema.Collections.collectionElementType;
+import static springfox.documentation.schema.Collections.isContainerType;
+import static springfox.documentation.schema.Maps.isMapType;
+import static springfox.documentation.schema.Maps.mapValueType;
+import static springfox.documentation.schema.Types.isBaseType;
+
+/**
+ * 替代springfox的CachingModelProvider，在分组之间共享解析出的模型
+ * <p>
+ * springfox按分组名称缓存模型，同一个类型在每个分组中都要重新解析一次。
+ * 这里将影响模型解析的配置（文档类型、忽略的参数类型、泛型命名策略、类型替换规则）相同的分组归为同一个作用域，
+ * 同一作用域内的分组共享模型及其依赖模型，未登记的分组按分组名称单独缓存
+ * <p>
+ * 配置了模型解析限制（max-model-depth、opaque-types）的分组按限制归入不同的作用域，
+ * 依赖模型改为按层广度优先遍历：每个类型只访问一次，循环引用在第二次遇到时直接跳过，
+ * 超过最大层数或只保留名称的模型输出为没有属性的同名模型，不再继续展开
+ * <p>
+ * 比较类型替换规则需要读取springfox 2.9.x中AlternateTypeProvider.rules及AlternateTypeRule.original、alternate私有字段，
+ * 升级springfox后这些字段不存在时在创建时即报错，此时可以设置swagger.scan.share-models=false
+ */
+public class SharedModelProvider implements ModelProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedModelProvider.class);
+
+    private final ModelProvider delegate;
+
+    private final TypeResolver typeResolver;
+
+    private final TypeNameExtractor typeNameExtractor;
+
+    private final boolean shareAcrossGroups;
+
+    private final ConcurrentMap<List<Object>, Integer> scopes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger scopeSequence = new AtomicInteger();
+
+    private final ConcurrentMap<String, Object> groupScopes = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, ModelLimits> groupLimits = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<ModelKey, Optional<Model>> models = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<ModelKey, Map<String, Model>> dependencies = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate          实际解析模型的ModelProvider
+     * @param typeResolver      类型解析
+     * @param typeNameExtractor 模型名称解析，与springfox保持一致
+     * @param shareAcrossGroups 为false时只在分组内缓存
+     */
+    public SharedModelProvider(ModelProvider delegate, TypeResolver typeResolver, TypeNameExtractor typeNameExtractor,
+                               boolean shareAcrossGroups) {
+        if (shareAcrossGroups) {
+            checkRuleFields();
+        }
+        this.delegate = delegate;
+        this.typeResolver = typeResolver;
+        this.typeNameExtractor = typeNameExtractor;
+        this.shareAcrossGroups = shareAcrossGroups;
+    }
+
+    /**
+     * 确认当前springfox版本中存在比较类型替换规则所需的字段，避免字段不存在时不同规则的分组被错误地归入同一作用域
+     */
+    private static void checkRuleFields() {
+        checkField(AlternateTypeProvider.class, "rules");
+        checkField(AlternateTypeRule.class, "original");
+        checkField(AlternateTypeRule.class, "alternate");
+    }
+
+    private static void checkField(Class<?> owner, String name) {
+        if (ReflectionUtils.findField(owner, name) == null) {
+            throw new IllegalStateException(String.format("Field %s.%s is not available in this springfox version, "
+                    + "set swagger.scan.share-models=false to resolve models per group", owner.getName(), name));
+        }
+    }
+
+    /**
+     * 登记分组的模型作用域及解析限制，需在扫描该分组之前调用
+     *
+     * @param context 分组上下文
+     * @param limits  模型解析限制
+     */
+    public void register(DocumentationContext context, ModelLimits limits) {
+        String groupName = context.getGroupName();
+        if (limits.isEmpty()) {
+            groupLimits.remove(groupName);
+        } else {
+            groupLimits.put(groupName, limits);
+            log.debug("Documentation group {} resolves models with {}", groupName, limits);
+        }
+        if (!shareAcrossGroups) {
+            groupScopes.put(groupName, limits.isEmpty() ? groupName : Arrays.asList(groupName, limits));
+            return;
+        }
+        List<Object> signature = Arrays.asList(
+                context.getDocumentationType(),
+                context.getIgnorableParameterTypes(),
+                context.getGenericsNamingStrategy() == null ? null : context.getGenericsNamingStrategy().getClass(),
+                ruleSignatures(context.getAlternateTypeProvider()),
+                limits);
+        Integer scope = scopes.computeIfAbsent(signature, s -> scopeSequence.getAndIncrement());
+        groupScopes.put(groupName, scope);
+        log.debug("Documentation group {} resolves models in scope {}", groupName, scope);
+    }
+
+    @Override
+    public Optional<Model> modelFor(ModelContext modelContext) {
+        ModelKey key = keyOf(modelContext);
+        Optional<Model> model = models.get(key);
+        if (model == null) {
+            model = resolve(modelContext);
+            Optional<Model> existing = models.putIfAbsent(key, model);
+            model = existing != null ? existing : model;
+        }
+        return model;
+    }
+
+    @Override
+    public Map<String, Model> dependencies(ModelContext modelContext) {
+        ModelKey key = keyOf(modelContext);
+        Map<String, Model> result = dependencies.get(key);
+        if (result == null) {
+            ModelLimits limits = limitsOf(modelContext);
+            result = Collections.unmodifiableMap(limits.isEmpty()
+                    ? delegate.dependencies(modelContext) : limitedDependencies(modelContext, limits));
+            Map<String, Model> existing = dependencies.putIfAbsent(key, result);
+            result = existing != null ? existing : result;
+        }
+        return result;
+    }
+
+    public void clear() {
+        scopes.clear();
+        groupScopes.clear();
+        groupLimits.clear();
+        models.clear();
+        dependencies.clear();
+    }
+
+    private Optional<Model> resolve(ModelContext modelContext) {
+        ModelLimits limits = limitsOf(modelContext);
+        if (!limits.isEmpty()) {
+            ResolvedType type = modelContext.alternateFor(modelContext.resolvedType(typeResolver));
+            if (isModelType(type) && limits.isOpaque(type.getErasedType())) {
+                return Optional.of(opaqueModel(modelContext, type));
+            }
+        }
+        return delegate.modelFor(modelContext);
+    }
+
+    /**
+     * 按层广度优先遍历依赖模型，接口直接引用的模型为第1层，集合元素及Map的值与所在的属性同层
+     */
+    private Map<String, Model> limitedDependencies(ModelContext root, ModelLimits limits) {
+        Map<String, Model> result = new HashMap<>();
+        Set<ResolvedType> visited = new HashSet<>();
+        Deque<Dependency> queue = new ArrayDeque<>();
+        ResolvedType rootType = root.alternateFor(root.resolvedType(typeResolver));
+        if (isModelType(rootType)) {
+            visited.add(rootType);
+            Optional<Model> model = modelFor(root);
+            if (model.isPresent()) {
+                enqueueProperties(queue, root, model.get(), 2);
+            }
+        } else {
+            queue.add(new Dependency(root, rootType, 1));
+        }
+        while (!queue.isEmpty()) {
+            Dependency dependency = queue.poll();
+            ModelContext context = ModelContext.fromParent(dependency.parent, dependency.type);
+            ResolvedType type = context.alternateFor(dependency.type);
+            if (isContainerType(type)) {
+                ResolvedType elementType = collectionElementType(type);
+                if (elementType != null) {
+                    queue.addFirst(new Dependency(dependency.parent, elementType, dependency.depth));
+                }
+            } else if (isMapType(type)) {
+                queue.addFirst(new Dependency(dependency.parent, mapValueType(type), dependency.depth));
+            } else if (isModelType(type) && visited.add(type)) {
+                if (limits.exceeds(dependency.depth)) {
+                    Model truncated = opaqueModel(context, type);
+                    result.putIfAbsent(truncated.getName(), truncated);
+                    continue;
+                }
+                Optional<Model> model = modelFor(context);
+                if (model.isPresent()) {
+                    result.put(model.get().getName(), model.get());
+                    enqueueProperties(queue, context, model.get(), dependency.depth + 1);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void enqueueProperties(Deque<Dependency> queue, ModelContext context, Model model, int depth) {
+        for (ModelProperty property : model.getProperties().values()) {
+            if (property.getType() != null) {
+                queue.add(new Dependency(context, property.getType(), depth));
+            }
+        }
+    }
+
+    /**
+     * 只有名称没有属性的模型，名称与引用处一致
+     */
+    private Model opaqueModel(ModelContext context, ResolvedType type) {
+        String name = typeNameExtractor.typeName(ModelContext.fromParent(context, type));
+        return new ModelBuilder()
+                .id(name)
+                .type(type)
+                .name(name)
+                .qualifiedType(ResolvedTypes.simpleQualifiedTypeName(type))
+                .properties(new HashMap<String, ModelProperty>())
+                .description("")
+                .baseModel("")
+                .discriminator("")
+                .subTypes(new ArrayList<ModelReference>())
+                .build();
+    }
+
+    private static boolean isModelType(ResolvedType type) {
+        return type != null && !isContainerType(type) && !isMapType(type) && !isBaseType(type)
+                && !type.getErasedType().isEnum();
+    }
+
+    private ModelLimits limitsOf(ModelContext modelContext) {
+        return groupLimits.getOrDefault(modelContext.getGroupName(), ModelLimits.NONE);
+    }
+
+    private ModelKey keyOf(ModelContext modelContext) {
+        Object scope = groupScopes.get(modelContext.getGroupName());
+        if (scope == null) {
+            scope = modelContext.getGroupName();
+        }
+        return new ModelKey(scope, modelContext.getType(), modelContext.isReturnType());
+    }
+
+    /**
+     * 类型替换规则本身没有实现equals，按被替换类型、替换类型及顺序比较；自定义的规则按实例比较
+     */
+    private static List<Object> ruleSignatures(AlternateTypeProvider provider) {
+        Object rules = new DirectFieldAccessor(provider).getPropertyValue("rules");
+        if (!(rules instanceof List)) {
+            return Collections.singletonList(provider);
+        }
+        List<Object> signatures = new ArrayList<>();
+        for (Object rule : (List<?>) rules) {
+            if (rule != null && rule.getClass() == AlternateTypeRule.class) {
+                DirectFieldAccessor accessor = new DirectFieldAccessor(rule);
+                signatures.add(Arrays.asList(accessor.getPropertyValue("original"),
+                        accessor.getPropertyValue("alternate"), ((AlternateTypeRule) rule).getOrder()));
+            } else {
+                signatures.add(rule);
+            }
+        }
+        return signatures;
+    }
+
+    private static final class Dependency {
+
+        private final ModelContext parent;
+
+        private final ResolvedType type;
+
+        private final int depth;
+
+        Dependency(ModelContext parent, ResolvedType type, int depth) {
+            this.parent = parent;
+            this.type = type;
+            this.depth = depth;
+        }
+    }
+
+    private static final class ModelKey {
+
+        private final Object scope;
+
+        private final Type type;
+
+        private final boolean returnType;
+
+        ModelKey(Object scope, Type type, boolean returnType) {
+            this.scope = scope;
+            this.type = type;
+            this.returnType = returnType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ModelKey)) {
+                return false;
+            }
+            ModelKey other = (ModelKey) o;
+            return returnType == other.returnType && scope.equals(other.scope) && Objects.equals(type, other.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scope, type, returnType);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.spring4all.swagger.scan;
+
+import com.fasterxml.classmate.ResolvedType;
+import com.google.common.base.Optional;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.condition.NameValueExpression;
+import org.springframework.web.servlet.mvc.condition.PatternsRequestCondition;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import springfox.documentation.RequestHandler;
+import springfox.documentation.RequestHandlerKey;
+import springfox.documentation.service.ResolvedMethodParameter;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 在各分组之间共享的RequestHandler，参数与返回值类型只解析一次
+ * <p>
+ * springfox每次调用getParameters、getReturnType都会重新解析方法签名，
+ * 分组越多、同一接口被解析的次数越多，共享后与分组数量无关
+ */
+final class SharedRequestHandler implements RequestHandler {
+
+    private final RequestHandler delegate;
+
+    private volatile List<ResolvedMethodParameter> parameters;
+
+    private volatile ResolvedType returnType;
+
+    SharedRequestHandler(RequestHandler delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public List<ResolvedMethodParameter> getParameters() {
+        List<ResolvedMethodParameter> result = parameters;
+        if (result == null) {
+            result = Collections.unmodifiableList(delegate.getParameters());
+            parameters = result;
+        }
+        return result;
+    }
+
+    @Override
+    public ResolvedType getReturnType() {
+        ResolvedType result = returnType;
+        if (result == null) {
+            result = delegate.getReturnType();
+            returnType = result;
+        }
+        return result;
+    }
+
+    @Override
+    public Class<?> declaringClass() {
+        return delegate.declaringClass();
+    }
+
+    @Override
+    public boolean isAnnotatedWith(Class<? extends Annotation> annotation) {
+        return delegate.isAnnotatedWith(annotation);
+    }
+
+    @Override
+    public PatternsRequestCondition getPatternsCondition() {
+        return delegate.getPatternsCondition();
+    }
+
+    @Override
+    public String groupName() {
+        return delegate.groupName();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Set<RequestMethod> supportedMethods() {
+        return delegate.supportedMethods();
+    }
+
+    @Override
+    public Set<? extends MediaType> produces() {
+        return delegate.produces();
+    }
+
+    @Override
+    public Set<? extends MediaType> consumes() {
+        return delegate.consumes();
+    }
+
+    @Override
+    public Set<NameValueExpression<String>> headers() {
+        return delegate.headers();
+    }
+
+    @Override
+    public Set<NameValueExpression<String>> params() {
+        return delegate.params();
+    }
+
+    @Override
+    public <T extends Annotation> Optional<T> findAnnotation(Class<T> annotation) {
+        return delegate.findAnnotation(annotation);
+    }
+
+    @Override
+    public RequestHandlerKey key() {
+        return delegate.key();
+    }
+
+    @Override
+    public <T extends Annotation> Optional<T> findControllerAnnotation(Class<T> annotation) {
+        return delegate.findControllerAnnotation(annotation);
+    }
+
+    @Override
+    public RequestMappingInfo getRequestMapping() {
+        return delegate.getRequestMapping();
+    }
+
+    @Override
+    public HandlerMethod getHandlerMethod() {
+        return delegate.getHandlerMethod();
+    }
+
+    @Override
+    public RequestHandler combine(RequestHandler other) {
+        RequestHandler unwrapped = other instanceof SharedRequestHandler ? ((SharedRequestHandler) other).delegate : other;
+        return new SharedRequestHandler(delegate.combine(unwrapped));
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+}
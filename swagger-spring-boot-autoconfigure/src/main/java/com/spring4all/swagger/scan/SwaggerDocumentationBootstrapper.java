@@ -0,0 +1,580 @@
+package com.spring4all.swagger.scan;
+
+import com.fasterxml.classmate.TypeResolver;
+import com.spring4all.swagger.index.IndexedHandlerSelector;
+import com.spring4all.swagger.plan.DocketPlan;
+import com.spring4all.swagger.plan.ModelLimits;
+import com.spring4all.swagger.plan.SwaggerPlan;
+import com.spring4all.swagger.properties.SwaggerProperties;
+import com.spring4all.swagger.report.SwaggerGroupReport;
+import com.spring4all.swagger.report.SwaggerStartupReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ClassUtils;
+import springfox.documentation.RequestHandler;
+import springfox.documentation.schema.AlternateTypeRule;
+import springfox.documentation.schema.AlternateTypeRuleConvention;
+import springfox.documentation.service.Documentation;
+import springfox.documentation.spi.service.DocumentationPlugin;
+import springfox.documentation.spi.service.RequestHandlerCombiner;
+import springfox.documentation.spi.service.RequestHandlerProvider;
+import springfox.documentation.spi.service.contexts.Defaults;
+import springfox.documentation.spi.service.contexts.DocumentationContext;
+import springfox.documentation.spi.service.contexts.DocumentationContextBuilder;
+import springfox.documentation.spring.web.plugins.DefaultConfiguration;
+import springfox.documentation.spring.web.plugins.Docket;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsManager;
+import springfox.documentation.spring.web.scanners.ApiDocumentationScanner;
+
+import javax.servlet.ServletContext;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static springfox.documentation.spi.service.contexts.Orderings.pluginOrdering;
+
+/**
+ * 替代springfox的DocumentationPluginsBootstrapper，负责在容器启动后扫描各分组文档
+ * 支持串行（与springfox一致）以及按swagger.scan配置在有界线程池中并行扫描
+ * <p>
+ * 无论串行还是并行，扫描结果都按分组顺序写入DocumentationCache，单个分组扫描失败只记录日志，不影响其他分组
+ * <p>
+ * 开启swagger.scan.lazy后启动时只登记分组占位，分组在首次被请求时才扫描；
+ * 同时开启swagger.scan.warm-up则在ApplicationReadyEvent之后于后台线程预热所有分组
+ * <p>
+ * 所有分组共享同一份接口列表，每个接口的参数与返回值类型只解析一次；配合SharedModelProvider在分组之间共享模型。
+ * 开启swagger.scan.use-index时借助编译期索引预先划分各分组的候选接口
+ * <p>
+ * 配置刷新后通过{@link #refresh(SwaggerPlan, Collection, Collection)}只重新扫描发生变化的分组
+ * <p>
+ * 配置了swagger.shard.threshold时，接口数超过阈值的分组由SwaggerGroupSharder拆分为多个子分组后再扫描
+ * <p>
+ * 同名接口的operationId编号由SwaggerOperationNameGenerator在分组按顺序提交时确定，与扫描的先后及并发无关；
+ * 延迟扫描的分组只在分组内编号
+ */
+public class SwaggerDocumentationBootstrapper implements SmartLifecycle, ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(SwaggerDocumentationBootstrapper.class);
+
+    private static final String SPRINGFOX_DOCUMENTATION_AUTO_STARTUP = "springfox.documentation.auto-startup";
+
+    /**
+     * springfox默认的RequestHandlerCombiner，非public类
+     */
+    private static final String DEFAULT_REQUEST_HANDLER_COMBINER =
+            "springfox.documentation.spring.web.plugins.DefaultRequestHandlerCombiner";
+
+    private final DocumentationPluginsManager documentationPluginsManager;
+    private final List<RequestHandlerProvider> handlerProviders;
+    private final SwaggerDocumentationCache scanned;
+    private final ApiDocumentationScanner resourceListing;
+    private final Environment environment;
+    private final DefaultConfiguration defaultConfiguration;
+    private final SwaggerProperties.Scan scanProperties;
+
+    private final AtomicBoolean initialized = new AtomicBoolean(false);
+
+    private RequestHandlerCombiner combiner;
+    private List<AlternateTypeRuleConvention> typeConventions;
+    private SharedModelProvider modelProvider;
+    private SwaggerStartupReport report;
+    private IndexedHandlerSelector indexedHandlerSelector;
+    private SwaggerGroupSharder sharder;
+    private SwaggerOperationNameGenerator operationNames;
+    private volatile SwaggerPlan plan;
+
+    /**
+     * 配置刷新或拆分后的分组，为null时使用springfox登记的分组
+     */
+    private volatile List<DocumentationPlugin> refreshedPlugins;
+
+    /**
+     * 拆分出的子分组与原分组名称的对应关系
+     */
+    private final Map<String, String> shardParents = new ConcurrentHashMap<>();
+
+    /**
+     * 所有分组共享的接口及类型替换规则，首次扫描时读取一次
+     */
+    private volatile List<RequestHandler> requestHandlers;
+    private volatile Map<String, List<RequestHandler>> groupRequestHandlers;
+    private List<RequestHandler> combinedHandlers;
+    private Map<RequestHandler, RequestHandler> sharedHandlers;
+    private volatile List<AlternateTypeRule> rules;
+
+    public SwaggerDocumentationBootstrapper(DocumentationPluginsManager documentationPluginsManager,
+                                            List<RequestHandlerProvider> handlerProviders,
+                                            SwaggerDocumentationCache scanned,
+                                            ApiDocumentationScanner resourceListing,
+                                            TypeResolver typeResolver,
+                                            Defaults defaults,
+                                            ServletContext servletContext,
+                                            Environment environment,
+                                            SwaggerProperties swaggerProperties) {
+        this.documentationPluginsManager = documentationPluginsManager;
+        this.handlerProviders = handlerProviders;
+        this.scanned = scanned;
+        this.resourceListing = resourceListing;
+        this.environment = environment;
+        this.defaultConfiguration = new DefaultConfiguration(defaults, typeResolver, servletContext);
+        this.scanProperties = swaggerProperties.getScan();
+        this.combiner = (RequestHandlerCombiner) BeanUtils.instantiateClass(ClassUtils.resolveClassName(
+                DEFAULT_REQUEST_HANDLER_COMBINER, RequestHandlerCombiner.class.getClassLoader()));
+    }
+
+    @Autowired(required = false)
+    public void setCombiner(RequestHandlerCombiner combiner) {
+        this.combiner = combiner;
+    }
+
+    @Autowired(required = false)
+    public void setTypeConventions(List<AlternateTypeRuleConvention> typeConventions) {
+        this.typeConventions = typeConventions;
+    }
+
+    @Autowired(required = false)
+    public void setModelProvider(SharedModelProvider modelProvider) {
+        this.modelProvider = modelProvider;
+    }
+
+    @Autowired(required = false)
+    public void setReport(SwaggerStartupReport report) {
+        this.report = report;
+    }
+
+    @Autowired(required = false)
+    public void setIndexedHandlerSelector(IndexedHandlerSelector indexedHandlerSelector) {
+        this.indexedHandlerSelector = indexedHandlerSelector;
+    }
+
+    @Autowired(required = false)
+    public void setSharder(SwaggerGroupSharder sharder) {
+        this.sharder = sharder;
+    }
+
+    @Autowired(required = false)
+    public void setOperationNames(SwaggerOperationNameGenerator operationNames) {
+        this.operationNames = operationNames;
+        if (!operationNames.isRenameSupported() && scanProperties.getParallel()) {
+            log.warn("The springfox version on the classpath does not allow operationIds to be renumbered, "
+                    + "documentation groups will be scanned serially");
+        }
+    }
+
+    @Autowired(required = false)
+    public void setPlan(SwaggerPlan plan) {
+        this.plan = plan;
+    }
+
+    @Override
+    public void start() {
+        if (!initialized.compareAndSet(false, true)) {
+            return;
+        }
+        log.info("Context refreshed");
+        List<DocumentationPlugin> plugins = currentPlugins();
+        log.info("Found {} custom documentation plugin(s)", plugins.size());
+        if (sharder != null) {
+            List<DocumentationPlugin> sharded = new ArrayList<>();
+            for (DocumentationPlugin each : plugins) {
+                if (each instanceof Docket && each.isEnabled()) {
+                    sharded.addAll(shard((Docket) each));
+                } else {
+                    sharded.add(each);
+                }
+            }
+            plugins = pluginOrdering().sortedCopy(sharded);
+            refreshedPlugins = plugins;
+        }
+
+        List<DocumentationPlugin> enabledPlugins = new ArrayList<>();
+        for (DocumentationPlugin each : plugins) {
+            if (each.isEnabled()) {
+                enabledPlugins.add(each);
+            } else {
+                log.info("Skipping initializing disabled plugin bean {} v{}",
+                        each.getDocumentationType().getName(), each.getDocumentationType().getVersion());
+            }
+        }
+
+        if (scanProperties.getLazy()) {
+            for (DocumentationPlugin each : enabledPlugins) {
+                scanned.addLazyGroup(each.getGroupName(), () -> scanLazily(each));
+            }
+            log.info("Deferred scanning of {} documentation group(s) until first request", enabledPlugins.size());
+            return;
+        }
+
+        int poolSize = poolSize(enabledPlugins.size());
+        if (parallel() && poolSize > 1) {
+            scanInParallel(enabledPlugins, poolSize);
+        } else {
+            for (DocumentationPlugin each : enabledPlugins) {
+                addDocumentation(scanDocumentation(each));
+            }
+        }
+    }
+
+    private List<DocumentationPlugin> currentPlugins() {
+        List<DocumentationPlugin> plugins = refreshedPlugins;
+        return plugins != null ? plugins : pluginOrdering().sortedCopy(documentationPluginsManager.documentationPlugins());
+    }
+
+    /**
+     * 配置刷新后重新扫描发生变化的分组，扫描完成后替换文档缓存中的对应分组，扫描期间的请求仍返回原有文档；
+     * 未变化的分组保持不变
+     *
+     * @param plan    新的分组配置
+     * @param dockets 配置发生变化或新增的分组
+     * @param removed 已删除的分组名称
+     */
+    public void refresh(SwaggerPlan plan, Collection<Docket> dockets, Collection<String> removed) {
+        this.plan = plan;
+        reselectGroupHandlers();
+        Set<String> replaced = new HashSet<>();
+        for (Docket each : dockets) {
+            replaced.add(each.getGroupName());
+        }
+        Set<String> previousNames = new HashSet<>();
+        List<DocumentationPlugin> plugins = new ArrayList<>();
+        for (DocumentationPlugin each : currentPlugins()) {
+            String parent = shardParents.getOrDefault(each.getGroupName(), each.getGroupName());
+            if (removed.contains(parent) || replaced.contains(parent)) {
+                previousNames.add(each.getGroupName());
+            } else {
+                plugins.add(each);
+            }
+        }
+        List<Docket> added = new ArrayList<>();
+        for (Docket each : dockets) {
+            added.addAll(initialized.get() ? shard(each) : Collections.singletonList(each));
+        }
+        plugins.addAll(added);
+        for (String each : removed) {
+            releaseShards(each);
+        }
+        refreshedPlugins = pluginOrdering().sortedCopy(plugins);
+        if (!initialized.get()) {
+            return;
+        }
+        for (Docket each : added) {
+            previousNames.remove(each.getGroupName());
+        }
+        for (String each : previousNames) {
+            scanned.removeGroup(each);
+        }
+        Set<String> pending = scanned.pendingGroupNames();
+        for (Docket each : added) {
+            if (!each.isEnabled()) {
+                scanned.removeGroup(each.getGroupName());
+            } else if (pending.contains(each.getGroupName())) {
+                scanned.addLazyGroup(each.getGroupName(), () -> scanLazily(each));
+            } else {
+                addDocumentation(scanDocumentation(each));
+            }
+        }
+    }
+
+    /**
+     * 按需拆分分组，返回拆分后的子分组，未拆分时返回分组本身
+     */
+    private List<Docket> shard(Docket docket) {
+        String groupName = docket.getGroupName();
+        releaseShards(groupName);
+        if (sharder == null) {
+            return Collections.singletonList(docket);
+        }
+        readSharedHandlers();
+        List<Docket> shards = sharder.shard(groupName,
+                groupRequestHandlers.getOrDefault(groupName, requestHandlers), plan);
+        if (shards == null) {
+            return Collections.singletonList(docket);
+        }
+        for (Docket each : shards) {
+            shardParents.put(each.getGroupName(), groupName);
+        }
+        // 原分组不再扫描，报告中只保留子分组
+        if (report != null) {
+            report.removeGroup(groupName);
+        }
+        return shards;
+    }
+
+    private void releaseShards(String groupName) {
+        for (Iterator<Map.Entry<String, String>> it = shardParents.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, String> entry = it.next();
+            if (groupName.equals(entry.getValue())) {
+                it.remove();
+                if (report != null) {
+                    report.removeGroup(entry.getKey());
+                }
+            }
+        }
+        if (sharder != null) {
+            sharder.release(groupName);
+        }
+    }
+
+    /**
+     * 在有界线程池中并行扫描，按分组顺序收集结果，保证与串行扫描的结果一致
+     */
+    private void scanInParallel(List<DocumentationPlugin> plugins, int poolSize) {
+        log.info("Scanning {} documentation group(s) with {} thread(s)", plugins.size(), poolSize);
+        ExecutorService executor = newExecutor(poolSize);
+        try {
+            List<Future<Documentation>> futures = new ArrayList<>(plugins.size());
+            for (DocumentationPlugin each : plugins) {
+                futures.add(executor.submit(() -> scanDocumentation(each)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    addDocumentation(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    log.error(String.format("Unable to scan documentation context %s",
+                            plugins.get(i).getGroupName()), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while scanning documentation groups");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 延迟扫描模式下，在应用就绪后于后台预热所有尚未扫描的分组
+     */
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!scanProperties.getLazy() || !scanProperties.getWarmUp()) {
+            return;
+        }
+        Set<String> groupNames = scanned.pendingGroupNames();
+        if (groupNames.isEmpty()) {
+            return;
+        }
+        int poolSize = parallel() ? poolSize(groupNames.size()) : 1;
+        log.info("Warming up {} documentation group(s) in background with {} thread(s)", groupNames.size(), poolSize);
+        ExecutorService executor = newExecutor(poolSize);
+        for (String groupName : groupNames) {
+            executor.execute(() -> scanned.documentationByGroup(groupName));
+        }
+        executor.shutdown();
+    }
+
+    private ExecutorService newExecutor(int poolSize) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("swagger-scan-");
+        threadFactory.setDaemon(true);
+        return Executors.newFixedThreadPool(poolSize, threadFactory);
+    }
+
+    /**
+     * 无法改写operationId时，同名接口的编号取决于扫描顺序，只能串行扫描
+     */
+    private boolean parallel() {
+        return scanProperties.getParallel() && (operationNames == null || operationNames.isRenameSupported());
+    }
+
+    private int poolSize(int groups) {
+        Integer poolSize = scanProperties.getPoolSize();
+        if (poolSize == null || poolSize <= 0) {
+            poolSize = Runtime.getRuntime().availableProcessors();
+        }
+        return Math.min(poolSize, groups);
+    }
+
+    /**
+     * 按分组顺序提交扫描结果，operationId的编号在这里确定
+     */
+    private void addDocumentation(Documentation documentation) {
+        if (documentation != null) {
+            if (operationNames != null) {
+                operationNames.commit(documentation);
+            }
+            scanned.addDocumentation(documentation);
+        }
+    }
+
+    /**
+     * 扫描延迟分组，可能同时在多个请求线程及预热线程中执行，operationId只在分组内编号
+     */
+    private Documentation scanLazily(DocumentationPlugin plugin) {
+        Documentation documentation = scanDocumentation(plugin);
+        if (documentation != null && operationNames != null) {
+            operationNames.commitLocal(documentation);
+        }
+        return documentation;
+    }
+
+    /**
+     * 拆分出的子分组沿用原分组的模型解析限制
+     */
+    private ModelLimits modelLimitsOf(String groupName) {
+        SwaggerPlan current = plan;
+        DocketPlan docketPlan = current == null ? null
+                : current.docketFor(shardParents.getOrDefault(groupName, groupName));
+        return docketPlan == null ? ModelLimits.NONE : docketPlan.getModelLimits();
+    }
+
+    /**
+     * 扫描单个分组，失败时返回null
+     */
+    private Documentation scanDocumentation(DocumentationPlugin plugin) {
+        DocumentationContext context = null;
+        try {
+            long start = System.nanoTime();
+            context = plugin.configure(defaultContextBuilder(plugin));
+            if (modelProvider != null) {
+                modelProvider.register(context, modelLimitsOf(context.getGroupName()));
+            }
+            SwaggerGroupReport groupReport = report == null ? null : report.startScan(context.getGroupName());
+            Documentation documentation = scan(context);
+            if (groupReport != null) {
+                groupReport.recordScan(System.nanoTime() - start);
+            }
+            return documentation;
+        } catch (Exception e) {
+            log.error(String.format("Unable to scan documentation context %s",
+                    context != null ? context.getGroupName() : plugin.getGroupName()), e);
+            return null;
+        }
+    }
+
+    private Documentation scan(DocumentationContext context) {
+        if (operationNames == null) {
+            return resourceListing.scan(context);
+        }
+        boolean success = false;
+        operationNames.begin(context.getGroupName(), context.operationOrdering());
+        try {
+            Documentation documentation = resourceListing.scan(context);
+            success = true;
+            return documentation;
+        } finally {
+            operationNames.end(success);
+        }
+    }
+
+    private DocumentationContextBuilder defaultContextBuilder(DocumentationPlugin plugin) {
+        readSharedHandlers();
+        return documentationPluginsManager
+                .createContextBuilder(plugin.getDocumentationType(), defaultConfiguration)
+                .rules(rules)
+                .requestHandlers(groupRequestHandlers.getOrDefault(
+                        shardParents.getOrDefault(plugin.getGroupName(), plugin.getGroupName()), requestHandlers));
+    }
+
+    /**
+     * 读取所有接口并合并，各分组共享同一份只读列表，由各分组的选择器自行过滤
+     */
+    private synchronized void readSharedHandlers() {
+        if (requestHandlers != null) {
+            return;
+        }
+        List<RequestHandler> handlers = new ArrayList<>();
+        for (RequestHandlerProvider each : handlerProviders) {
+            handlers.addAll(each.requestHandlers());
+        }
+        combinedHandlers = combiner.combine(handlers);
+        sharedHandlers = new IdentityHashMap<>();
+        for (RequestHandler each : combinedHandlers) {
+            sharedHandlers.put(each, new SharedRequestHandler(each));
+        }
+        List<AlternateTypeRule> alternateTypeRules = new ArrayList<>();
+        if (typeConventions != null) {
+            for (AlternateTypeRuleConvention each : typeConventions) {
+                alternateTypeRules.addAll(each.rules());
+            }
+        }
+        rules = Collections.unmodifiableList(alternateTypeRules);
+        groupRequestHandlers = selectGroupHandlers();
+        requestHandlers = shared(combinedHandlers);
+        log.info("Read {} request handler(s) shared by all documentation groups", combinedHandlers.size());
+    }
+
+    /**
+     * 分组配置变化后重新划分各分组的候选接口
+     */
+    private synchronized void reselectGroupHandlers() {
+        if (requestHandlers != null) {
+            groupRequestHandlers = selectGroupHandlers();
+        }
+    }
+
+    private Map<String, List<RequestHandler>> selectGroupHandlers() {
+        Map<String, List<RequestHandler>> groups = new LinkedHashMap<>();
+        if (indexedHandlerSelector != null) {
+            for (Map.Entry<String, List<RequestHandler>> entry
+                    : indexedHandlerSelector.select(combinedHandlers, plan).entrySet()) {
+                groups.put(entry.getKey(), shared(entry.getValue()));
+            }
+        }
+        return groups;
+    }
+
+    private List<RequestHandler> shared(List<RequestHandler> handlers) {
+        List<RequestHandler> result = new ArrayList<>(handlers.size());
+        for (RequestHandler each : handlers) {
+            result.add(sharedHandlers.get(each));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return Boolean.valueOf(environment.getProperty(SPRINGFOX_DOCUMENTATION_AUTO_STARTUP, "true"));
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        callback.run();
+    }
+
+    @Override
+    public void stop() {
+        initialized.getAndSet(false);
+        scanned.clear();
+        requestHandlers = null;
+        groupRequestHandlers = null;
+        combinedHandlers = null;
+        sharedHandlers = null;
+        rules = null;
+        if (modelProvider != null) {
+            modelProvider.clear();
+        }
+        if (operationNames != null) {
+            operationNames.clear();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return initialized.get();
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,180 @@
+package com.spring4all.swagger.scan;
+
+import springfox.documentation.service.Documentation;
+import springfox.documentation.spring.web.DocumentationCache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * 线程安全的文档缓存，替代springfox的DocumentationCache
+ * <p>
+ * 除了已扫描的分组文档外，还可以登记延迟扫描的分组占位，分组首次被访问时才执行扫描
+ */
+public class SwaggerDocumentationCache extends DocumentationCache {
+
+    private final Map<String, Documentation> documentationLookup = new LinkedHashMap<>();
+
+    private final Map<String, LazyGroup> lazyGroups = new LinkedHashMap<>();
+
+    private final List<Runnable> scannedCallbacks = new ArrayList<>();
+
+    @Override
+    public void addDocumentation(Documentation documentation) {
+        synchronized (this) {
+            documentationLookup.put(documentation.getGroupName(), documentation);
+        }
+    }
+
+    /**
+     * 登记延迟扫描的分组，scanner返回null表示扫描失败
+     *
+     * @param groupName 分组名称
+     * @param scanner   分组扫描逻辑
+     */
+    public void addLazyGroup(String groupName, Callable<Documentation> scanner) {
+        synchronized (this) {
+            lazyGroups.put(groupName, new LazyGroup(scanner));
+        }
+    }
+
+    @Override
+    public Documentation documentationByGroup(String groupName) {
+        LazyGroup lazyGroup;
+        synchronized (this) {
+            Documentation documentation = documentationLookup.get(groupName);
+            if (documentation != null) {
+                return documentation;
+            }
+            lazyGroup = lazyGroups.get(groupName);
+        }
+        if (lazyGroup == null) {
+            return null;
+        }
+        Documentation documentation = lazyGroup.load();
+        synchronized (this) {
+            if (documentation != null && lazyGroups.get(groupName) == lazyGroup) {
+                documentationLookup.put(groupName, documentation);
+            }
+            lazyGroups.remove(groupName, lazyGroup);
+        }
+        runScannedCallbacks();
+        return documentation;
+    }
+
+    /**
+     * 所有延迟分组都扫描完成后执行一次callback，当前没有待扫描的分组时立即执行；不会触发延迟分组的扫描
+     *
+     * @param callback 回调
+     */
+    public void whenScanned(Runnable callback) {
+        synchronized (this) {
+            scannedCallbacks.add(callback);
+        }
+        runScannedCallbacks();
+    }
+
+    private void runScannedCallbacks() {
+        List<Runnable> callbacks;
+        synchronized (this) {
+            if (!lazyGroups.isEmpty() || scannedCallbacks.isEmpty()) {
+                return;
+            }
+            callbacks = new ArrayList<>(scannedCallbacks);
+            scannedCallbacks.clear();
+        }
+        callbacks.forEach(Runnable::run);
+    }
+
+    /**
+     * 移除分组，包括尚未扫描的延迟分组
+     *
+     * @param groupName 分组名称
+     */
+    public void removeGroup(String groupName) {
+        synchronized (this) {
+            documentationLookup.remove(groupName);
+            lazyGroups.remove(groupName);
+        }
+        runScannedCallbacks();
+    }
+
+    /**
+     * @param groupName 分组名称
+     * @return 是否为尚未扫描的延迟分组
+     */
+    public boolean isPending(String groupName) {
+        synchronized (this) {
+            return !documentationLookup.containsKey(groupName) && lazyGroups.containsKey(groupName);
+        }
+    }
+
+    /**
+     * 尚未扫描的延迟分组
+     */
+    public Set<String> pendingGroupNames() {
+        synchronized (this) {
+            return new LinkedHashSet<>(lazyGroups.keySet());
+        }
+    }
+
+    /**
+     * 所有分组名称，包括尚未扫描的延迟分组
+     */
+    public Set<String> groupNames() {
+        synchronized (this) {
+            Set<String> groupNames = new LinkedHashSet<>(documentationLookup.keySet());
+            groupNames.addAll(lazyGroups.keySet());
+            return groupNames;
+        }
+    }
+
+    @Override
+    public Map<String, Documentation> all() {
+        synchronized (this) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(documentationLookup));
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (this) {
+            documentationLookup.clear();
+            lazyGroups.clear();
+        }
+    }
+
+    /**
+     * 延迟分组，保证同一分组只被扫描一次，并发请求等待同一次扫描的结果
+     */
+    private static class LazyGroup {
+
+        private final Callable<Documentation> scanner;
+
+        private boolean scanned;
+
+        private Documentation documentation;
+
+        LazyGroup(Callable<Documentation> scanner) {
+            this.scanner = scanner;
+        }
+
+        synchronized Documentation load() {
+            if (!scanned) {
+                try {
+                    documentation = scanner.call();
+                } catch (Exception e) {
+                    documentation = null;
+                }
+                scanned = true;
+            }
+            return documentation;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.spring4all.swagger.scan;
+
+import com.spring4all.swagger.plan.DocketPlan;
+import com.spring4all.swagger.plan.SwaggerPlan;
+import com.spring4all.swagger.plan.SwaggerPlanCompiler;
+import com.spring4all.swagger.plan.SwaggerPlanException;
+import com.spring4all.swagger.properties.SwaggerProperties;
+import com.spring4all.swagger.report.SwaggerStartupReport;
+import com.spring4all.swagger.web.SwaggerSpecCache;
+import com.spring4all.swagger.web.SwaggerSpecSlices;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.DefaultSingletonBeanRegistry;
+import org.springframework.boot.bind.PropertiesConfigurationFactory;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.event.SmartApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ReflectionUtils;
+import springfox.documentation.spring.web.plugins.Docket;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * swagger.*配置变化后只重建发生变化的分组
+ * <p>
+ * 收到spring-cloud的EnvironmentChangeEvent（按类名识别，不依赖spring-cloud）且变化的配置以swagger.开头时，
+ * 重新绑定配置并与上一次的配置逐个分组比较：全局配置（标题、全局参数、鉴权、全局响应消息等）变化时所有分组都需要重建，
+ * 否则只重建DocketInfo发生变化、新增或删除的分组。重建在后台单线程中进行，扫描完成后替换文档缓存中的分组并使其输出缓存失效，
+ * 期间的请求仍返回原有文档，不会被阻塞。配置有误时记录日志并保留原有文档
+ * <p>
+ * 重建后的Docket会替换同名的单例bean；createRestApi返回的Docket列表仍是启动时的列表
+ */
+public class SwaggerGroupRefresher implements SmartApplicationListener, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SwaggerGroupRefresher.class);
+
+    private static final String ENVIRONMENT_CHANGE_EVENT =
+            "org.springframework.cloud.context.environment.EnvironmentChangeEvent";
+
+    private static final String PREFIX = "swagger";
+
+    private final ConfigurableEnvironment environment;
+    private final ConfigurableListableBeanFactory beanFactory;
+    private final SwaggerDocumentationBootstrapper bootstrapper;
+    private final SwaggerSpecCache specCache;
+    private final SwaggerSpecSlices specSlices;
+    private final SwaggerStartupReport report;
+
+    private final ExecutorService executor;
+
+    /**
+     * 上一次生效的配置，单独绑定一份，不受配置bean被原地刷新的影响
+     */
+    private SwaggerProperties current;
+
+    public SwaggerGroupRefresher(ConfigurableEnvironment environment,
+                                 ConfigurableListableBeanFactory beanFactory,
+                                 SwaggerDocumentationBootstrapper bootstrapper,
+                                 SwaggerSpecCache specCache,
+                                 SwaggerSpecSlices specSlices,
+                                 SwaggerStartupReport report) {
+        this.environment = environment;
+        this.beanFactory = beanFactory;
+        this.bootstrapper = bootstrapper;
+        this.specCache = specCache;
+        this.specSlices = specSlices;
+        this.report = report;
+        this.current = bind();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("swagger-refresh-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    @Override
+    public boolean supportsEventType(Class<? extends ApplicationEvent> eventType) {
+        return ENVIRONMENT_CHANGE_EVENT.equals(eventType.getName());
+    }
+
+    @Override
+    public boolean supportsSourceType(Class<?> sourceType) {
+        return true;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        Method getKeys = ReflectionUtils.findMethod(event.getClass(), "getKeys");
+        Object keys = getKeys == null ? null : ReflectionUtils.invokeMethod(getKeys, event);
+        if (keys instanceof Collection) {
+            for (Object key : (Collection<?>) keys) {
+                if (String.valueOf(key).startsWith(PREFIX + ".")) {
+                    refresh();
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    /**
+     * 在后台按当前配置重建发生变化的分组，多次调用按顺序执行
+     *
+     * @return 重建完成的Future
+     */
+    public Future<?> refresh() {
+        return executor.submit(this::doRefresh);
+    }
+
+    private synchronized void doRefresh() {
+        // 在后台线程中执行，refresh()返回的Future通常无人检查，异常须在这里记录
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Unable to refresh swagger documentation, keeping the current documentation", e);
+        }
+    }
+
+    private void rebuild() {
+        long start = System.nanoTime();
+        SwaggerProperties previous = current;
+        SwaggerProperties properties = bind();
+        Set<String> changed = changedGroups(previous, properties);
+        if (changed.isEmpty()) {
+            log.debug("Swagger properties changed without affecting any documentation group");
+            current = properties;
+            return;
+        }
+        SwaggerPlan plan;
+        try {
+            plan = SwaggerPlanCompiler.compile(properties);
+        } catch (SwaggerPlanException e) {
+            log.error("Ignoring refreshed swagger properties, keeping the current documentation. {}", e.getMessage());
+            return;
+        }
+        Map<String, DocketPlan> plans = new LinkedHashMap<>();
+        for (DocketPlan each : plan.getDockets()) {
+            plans.put(groupName(each.getGroupName()), each);
+        }
+        List<Docket> dockets = new ArrayList<>();
+        Set<String> removed = new LinkedHashSet<>();
+        for (String groupName : changed) {
+            DocketPlan docketPlan = plans.get(groupName);
+            if (docketPlan == null) {
+                removed.add(groupName);
+                continue;
+            }
+            long buildStart = System.nanoTime();
+            Docket docket = docketPlan.toDocket();
+            if (report != null) {
+                report.group(groupName).recordBuild(System.nanoTime() - buildStart);
+            }
+            registerSingleton(docketPlan.getBeanName(), docket);
+            dockets.add(docket);
+        }
+        for (String groupName : removed) {
+            destroySingleton(previous.getDocket().isEmpty() ? previous.getBeanName() : groupName);
+            if (report != null) {
+                report.removeGroup(groupName);
+            }
+        }
+        bootstrapper.refresh(plan, dockets, removed);
+        if (specCache != null) {
+            for (String groupName : changed) {
+                specCache.invalidate(groupName);
+            }
+        }
+        if (specSlices != null) {
+            for (String groupName : changed) {
+                specSlices.invalidate(groupName);
+            }
+        }
+        current = properties;
+        log.info("Refreshed swagger documentation group(s) {} in {} ms", changed,
+                (System.nanoTime() - start) / 1000000);
+    }
+
+    private void registerSingleton(String beanName, Docket docket) {
+        destroySingleton(beanName);
+        beanFactory.registerSingleton(beanName, docket);
+    }
+
+    private void destroySingleton(String beanName) {
+        if (beanFactory instanceof DefaultSingletonBeanRegistry) {
+            ((DefaultSingletonBeanRegistry) beanFactory).destroySingleton(beanName);
+        }
+    }
+
+    /**
+     * 比较两次配置，返回需要重建的分组名称（包括新增及删除的分组）
+     */
+    private static Set<String> changedGroups(SwaggerProperties previous, SwaggerProperties properties) {
+        Set<String> previousGroups = groupNames(previous);
+        Set<String> groups = groupNames(properties);
+        Set<String> changed = new LinkedHashSet<>();
+        if (globalChanged(previous, properties)) {
+            changed.addAll(previousGroups);
+            changed.addAll(groups);
+            return changed;
+        }
+        for (String groupName : groups) {
+            if (!previousGroups.contains(groupName)
+                    || !Objects.equals(previous.getDocket().get(groupName), properties.getDocket().get(groupName))) {
+                changed.add(groupName);
+            }
+        }
+        for (String groupName : previousGroups) {
+            if (!groups.contains(groupName)) {
+                changed.add(groupName);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * 所有分组都会用到的配置：DocketInfo中的全局配置（同时用作分组的默认值）、host、鉴权及全局响应消息
+     */
+    private static boolean globalChanged(SwaggerProperties previous, SwaggerProperties properties) {
+        // SwaggerProperties未覆盖equals，继承自DocketInfo的equals只比较DocketInfo中的字段
+        return !previous.equals(properties)
+                || !Objects.equals(previous.getBeanName(), properties.getBeanName())
+                || !Objects.equals(previous.getHost(), properties.getHost())
+                || !Objects.equals(previous.getAuthorization(), properties.getAuthorization())
+                || !Objects.equals(previous.getApplyDefaultResponseMessages(), properties.getApplyDefaultResponseMessages())
+                || !Objects.equals(previous.getGlobalResponseMessage(), properties.getGlobalResponseMessage())
+                || previous.getDocket().isEmpty() != properties.getDocket().isEmpty();
+    }
+
+    private static Set<String> groupNames(SwaggerProperties properties) {
+        Set<String> groupNames = new LinkedHashSet<>();
+        if (properties.getDocket().isEmpty()) {
+            groupNames.add(Docket.DEFAULT_GROUP_NAME);
+        } else {
+            groupNames.addAll(properties.getDocket().keySet());
+        }
+        return groupNames;
+    }
+
+    private static String groupName(String groupName) {
+        return groupName == null ? Docket.DEFAULT_GROUP_NAME : groupName;
+    }
+
+    private SwaggerProperties bind() {
+        SwaggerProperties properties = new SwaggerProperties();
+        PropertiesConfigurationFactory<SwaggerProperties> factory = new PropertiesConfigurationFactory<>(properties);
+        factory.setPropertySources(environment.getPropertySources());
+        factory.setConversionService(new DefaultConversionService());
+        factory.setTargetName(PREFIX);
+        try {
+            factory.bindPropertiesToTarget();
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to bind swagger properties", e);
+        }
+        return properties;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,60 @@
+package com.spring4all.swagger.scan;
+
+import com.spring4all.swagger.remote.SwaggerRemoteSpecs;
+import org.springframework.core.env.Environment;
+import springfox.documentation.spring.web.plugins.Docket;
+import springfox.documentation.swagger.web.SwaggerResource;
+import springfox.documentation.swagger.web.SwaggerResourcesProvider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 替代springfox的InMemorySwaggerResourcesProvider，列出所有分组（包括尚未扫描的延迟分组以及聚合的远程文档）
+ */
+public class SwaggerGroupResourcesProvider implements SwaggerResourcesProvider {
+
+    private final String swagger2Url;
+
+    private final SwaggerDocumentationCache documentationCache;
+
+    private final SwaggerRemoteSpecs remoteSpecs;
+
+    /**
+     * @param remoteSpecs 聚合的远程文档，为null时不聚合
+     */
+    public SwaggerGroupResourcesProvider(Environment environment, SwaggerDocumentationCache documentationCache,
+                                         SwaggerRemoteSpecs remoteSpecs) {
+        this.swagger2Url = environment.getProperty("springfox.documentation.swagger.v2.path", "/v2/api-docs");
+        this.documentationCache = documentationCache;
+        this.remoteSpecs = remoteSpecs;
+    }
+
+    @Override
+    public List<SwaggerResource> get() {
+        List<SwaggerResource> resources = new ArrayList<>();
+        Set<String> groupNames = new LinkedHashSet<>(documentationCache.groupNames());
+        if (remoteSpecs != null) {
+            groupNames.addAll(remoteSpecs.groupNames());
+        }
+        for (String groupName : groupNames) {
+            SwaggerResource resource = new SwaggerResource();
+            resource.setName(groupName);
+            resource.setUrl(swaggerLocation(groupName));
+            resource.setSwaggerVersion("2.0");
+            resources.add(resource);
+        }
+        Collections.sort(resources);
+        return resources;
+    }
+
+    private String swaggerLocation(String groupName) {
+        if (Docket.DEFAULT_GROUP_NAME.equals(groupName)) {
+            return swagger2Url;
+        }
+        return swagger2Url + "?group=" + groupName;
+    }
+}
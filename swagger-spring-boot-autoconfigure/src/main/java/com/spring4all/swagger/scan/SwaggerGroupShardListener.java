@@ -0,0 +1,17 @@
+package com.spring4all.swagger.scan;
+
+import java.util.List;
+
+/**
+ * 分组拆分的回调，用于登记新的子分组名称
+ */
+public interface SwaggerGroupShardListener {
+
+    /**
+     * 分组拆分为子分组后回调
+     *
+     * @param groupName       原分组名称
+     * @param shardGroupNames 子分组名称
+     */
+    void onShard(String groupName, List<String> shardGroupNames);
+}
@@ -0,0 +1,188 @@
+package com.spring4all.swagger.scan;
+
+import com.google.common.base.Predicate;
+import com.spring4all.swagger.plan.DocketPlan;
+import com.spring4all.swagger.plan.SwaggerPlan;
+import com.spring4all.swagger.properties.SwaggerProperties;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.DefaultSingletonBeanRegistry;
+import org.springframework.util.ClassUtils;
+import springfox.documentation.RequestHandler;
+import springfox.documentation.annotations.ApiIgnore;
+import springfox.documentation.spring.web.plugins.Docket;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 将接口数超过swagger.shard.threshold的分组按tag或base-package下的第一级子包拆分为多个子分组
+ * <p>
+ * 子分组名称为“原分组名称-tag/子包名”，由原分组的配置创建并在原有选择器的基础上只选择对应的接口，
+ * 以“原bean名称-tag/子包名”注册为单例，原分组不再扫描。只有由swagger.*配置创建的分组才会拆分
+ */
+public class SwaggerGroupSharder {
+
+    private static final Logger log = LoggerFactory.getLogger(SwaggerGroupSharder.class);
+
+    private final int threshold;
+    private final SwaggerProperties.ShardBy by;
+    private final ConfigurableListableBeanFactory beanFactory;
+
+    /**
+     * 各分组拆分后注册的子分组bean名称
+     */
+    private final Map<String, List<String>> registered = new HashMap<>();
+
+    private volatile SwaggerGroupShardListener listener;
+
+    public SwaggerGroupSharder(SwaggerProperties.Shard shard, ConfigurableListableBeanFactory beanFactory) {
+        this.threshold = shard.getThreshold() == null ? 0 : shard.getThreshold();
+        this.by = shard.getBy();
+        this.beanFactory = beanFactory;
+    }
+
+    /**
+     * @param listener 分组拆分的回调，为null时不回调；须在扫描开始前设置
+     */
+    public void setListener(SwaggerGroupShardListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * 按需拆分分组，该分组此前拆分出的子分组会被替换
+     *
+     * @param groupName 分组名称
+     * @param handlers  分组的候选接口
+     * @param plan      分组配置
+     * @return 拆分后的子分组，未超过阈值或无法拆分时返回null
+     */
+    public synchronized List<Docket> shard(String groupName, List<RequestHandler> handlers, SwaggerPlan plan) {
+        release(groupName);
+        DocketPlan docketPlan = plan == null ? null : plan.docketFor(groupName);
+        if (threshold <= 0 || docketPlan == null) {
+            return null;
+        }
+        Map<String, Integer> keys = new TreeMap<>();
+        int selected = 0;
+        for (RequestHandler each : handlers) {
+            if (selects(docketPlan, each)) {
+                selected++;
+                keys.merge(key(docketPlan, each), 1, Integer::sum);
+            }
+        }
+        if (selected <= threshold || keys.size() < 2) {
+            return null;
+        }
+        List<Docket> shards = new ArrayList<>(keys.size());
+        List<String> beanNames = new ArrayList<>(keys.size());
+        List<String> groupNames = new ArrayList<>(keys.size());
+        for (String key : keys.keySet()) {
+            Predicate<RequestHandler> apis = input -> docketPlan.getApis().apply(input) && key.equals(key(docketPlan, input));
+            Docket docket = docketPlan.toDocket(groupName + "-" + key, apis);
+            String beanName = docketPlan.getBeanName() + "-" + key;
+            beanFactory.registerSingleton(beanName, docket);
+            beanNames.add(beanName);
+            groupNames.add(docket.getGroupName());
+            shards.add(docket);
+        }
+        registered.put(groupName, beanNames);
+        SwaggerGroupShardListener current = listener;
+        if (current != null) {
+            current.onShard(groupName, groupNames);
+        }
+        log.info("Split documentation group {} with {} request handler(s) into {} group(s) by {}: {}",
+                groupName, selected, keys.size(), by.name().toLowerCase(), keys);
+        return shards;
+    }
+
+    /**
+     * 注销分组此前拆分出的子分组
+     *
+     * @param groupName 分组名称
+     */
+    public synchronized void release(String groupName) {
+        List<String> beanNames = registered.remove(groupName);
+        if (beanNames == null) {
+            return;
+        }
+        for (String beanName : beanNames) {
+            if (beanFactory.containsSingleton(beanName)) {
+                ((DefaultSingletonBeanRegistry) beanFactory).destroySingleton(beanName);
+            }
+        }
+    }
+
+    /**
+     * 与springfox的ApiSelector一致：未被忽略、满足包选择器并且任一路径满足路径选择器
+     */
+    private static boolean selects(DocketPlan docketPlan, RequestHandler handler) {
+        if (handler.isAnnotatedWith(ApiIgnore.class) || handler.findControllerAnnotation(ApiIgnore.class).isPresent()
+                || !docketPlan.getApis().apply(handler)) {
+            return false;
+        }
+        for (String pattern : handler.getPatternsCondition().getPatterns()) {
+            if (docketPlan.getPaths().apply(pattern)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String key(DocketPlan docketPlan, RequestHandler handler) {
+        return by == SwaggerProperties.ShardBy.PACKAGE ? packageKey(docketPlan, handler) : tagKey(handler);
+    }
+
+    /**
+     * 与springfox生成的tag一致：优先取@ApiOperation的tags，其次@Api的tags，否则为控制器名称
+     */
+    private static String tagKey(RequestHandler handler) {
+        String tag = firstTag(handler.findAnnotation(ApiOperation.class).transform(ApiOperation::tags).or(new String[0]));
+        if (tag == null) {
+            tag = firstTag(handler.findControllerAnnotation(Api.class).transform(Api::tags).or(new String[0]));
+        }
+        return tag != null ? tag : handler.groupName();
+    }
+
+    private static String firstTag(String[] tags) {
+        for (String each : tags) {
+            if (!each.trim().isEmpty()) {
+                return each.trim();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 接口所在包位于base-package下时取其下的第一级子包，直接位于base-package中时取base-package的最后一级；
+     * 未配置base-package时取包名的第二级
+     */
+    private static String packageKey(DocketPlan docketPlan, RequestHandler handler) {
+        Class<?> declaringClass = handler.declaringClass();
+        String packageName = declaringClass == null ? "" : ClassUtils.getPackageName(declaringClass);
+        String base = null;
+        for (String each : docketPlan.getBasePackages()) {
+            String prefix = each.trim();
+            if (!prefix.isEmpty() && (packageName.equals(prefix) || packageName.startsWith(prefix + "."))
+                    && (base == null || prefix.length() > base.length())) {
+                base = prefix;
+            }
+        }
+        if (base == null) {
+            String[] segments = packageName.split("\\.");
+            return segments.length > 1 ? segments[1] : segments[0];
+        }
+        if (packageName.equals(base)) {
+            return base.substring(base.lastIndexOf('.') + 1);
+        }
+        String remainder = packageName.substring(base.length() + 1);
+        int dot = remainder.indexOf('.');
+        return dot < 0 ? remainder : remainder.substring(0, dot);
+    }
+}
@@ -0,0 +1,274 @@
+package com.spring4all.swagger.scan;
+
+import com.google.common.collect.Ordering;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.util.ReflectionUtils;
+import springfox.documentation.OperationNameGenerator;
+import springfox.documentation.service.ApiDescription;
+import springfox.documentation.service.ApiListing;
+import springfox.documentation.service.Documentation;
+import springfox.documentation.service.Operation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 线程安全的operationId生成器，替代springfox的CachingOperationNameGenerator
+ * <p>
+ * springfox在全局的HashMap中按前缀计数，同名接口依次得到prefix、prefix_1、prefix_2……，编号取决于各分组的扫描顺序。
+ * 这里扫描期间先在分组内编号，分组按顺序提交时再加上之前分组已占用的数量，
+ * 因此无论串行还是并行扫描，最终的operationId都与springfox串行扫描的结果一致
+ * <p>
+ * 配置刷新后重建的分组沿用各接口原有的编号，新增的接口在所有已占用的编号之后继续编号
+ * <p>
+ * 延迟扫描的分组按首次请求的顺序扫描，无法按分组顺序提交，改为只在分组内编号，结果与访问顺序无关
+ * <p>
+ * 改写operationId需要写入springfox 2.9.x中Operation.uniqueId及ApiDescription.operations两个私有字段，
+ * 升级springfox后这两个字段不存在时不再在分组内编号，与CachingOperationNameGenerator的结果相同，分组只能串行扫描
+ */
+public class SwaggerOperationNameGenerator implements OperationNameGenerator {
+
+    /**
+     * 当前springfox版本中是否存在需要改写的字段
+     */
+    private static final boolean RENAME_SUPPORTED =
+            ReflectionUtils.findField(Operation.class, "uniqueId", String.class) != null
+                    && ReflectionUtils.findField(ApiDescription.class, "operations", List.class) != null;
+
+    private final boolean renameSupported;
+
+    private final ThreadLocal<GroupNames> current = new ThreadLocal<>();
+
+    /**
+     * 已扫描但尚未提交的分组
+     */
+    private final ConcurrentMap<String, GroupNames> scanned = new ConcurrentHashMap<>();
+
+    /**
+     * 已提交的分组中各前缀占用的数量
+     */
+    private final Map<String, Integer> reserved = new HashMap<>();
+
+    /**
+     * 已提交的分组中各接口（前缀、请求方法及路径）的编号，重建分组时沿用，由reserved的锁保护
+     */
+    private final Map<String, Map<String, Integer>> assigned = new HashMap<>();
+
+    /**
+     * 不在分组扫描期间生成的名称，与springfox的计数方式相同
+     */
+    private final Map<String, Integer> unscoped = new HashMap<>();
+
+    public SwaggerOperationNameGenerator() {
+        this(RENAME_SUPPORTED);
+    }
+
+    SwaggerOperationNameGenerator(boolean renameSupported) {
+        this.renameSupported = renameSupported;
+    }
+
+    /**
+     * @return 是否能够改写文档中的operationId；为false时所有名称都按生成顺序全局编号，并行扫描的结果不确定
+     */
+    public boolean isRenameSupported() {
+        return renameSupported;
+    }
+
+    @Override
+    public String startingWith(String prefix) {
+        GroupNames names = current.get();
+        if (names != null) {
+            return names.next(prefix);
+        }
+        synchronized (unscoped) {
+            Integer count = unscoped.get(prefix);
+            int index = count == null ? 0 : count;
+            unscoped.put(prefix, index + 1);
+            return name(prefix, index);
+        }
+    }
+
+    /**
+     * 开始在当前线程中扫描分组，此后生成的名称都属于该分组
+     *
+     * @param groupName 分组名称
+     * @param ordering  分组中同一路径下接口的排序规则
+     */
+    public void begin(String groupName, Ordering<Operation> ordering) {
+        if (!renameSupported) {
+            return;
+        }
+        current.set(new GroupNames(groupName, ordering));
+    }
+
+    /**
+     * 当前线程的分组扫描结束，扫描失败时丢弃该分组的名称
+     *
+     * @param success 是否扫描成功
+     */
+    public void end(boolean success) {
+        GroupNames names = current.get();
+        current.remove();
+        if (names != null && success) {
+            scanned.put(names.groupName, names);
+        }
+    }
+
+    /**
+     * 按分组顺序提交扫描结果，为各前缀预留编号并改写文档中的operationId
+     * <p>
+     * 重建已提交过的分组时，路径、请求方法及前缀都未变化的接口沿用原有编号，其余接口在所有已占用的编号之后继续编号
+     *
+     * @param documentation 分组文档
+     */
+    public void commit(Documentation documentation) {
+        GroupNames names = scanned.remove(documentation.getGroupName());
+        if (names == null) {
+            return;
+        }
+        Map<Operation, String> keys = new IdentityHashMap<>();
+        for (ApiListing listing : documentation.getApiListings().values()) {
+            for (ApiDescription api : listing.getApis()) {
+                for (Operation operation : api.getOperations()) {
+                    Name name = names.generated.get(operation.getUniqueId());
+                    if (name != null) {
+                        keys.putIfAbsent(operation, name.prefix + " " + operation.getMethod() + " " + api.getPath());
+                    }
+                }
+            }
+        }
+        List<Operation> operations = new ArrayList<>(keys.keySet());
+        operations.sort(Comparator.comparing((Operation operation) -> names.generated.get(operation.getUniqueId()).index));
+        Map<Operation, String> uniqueIds = new IdentityHashMap<>();
+        synchronized (reserved) {
+            Map<String, Integer> previous = assigned.get(names.groupName);
+            Map<String, Integer> numbers = new HashMap<>();
+            Set<String> used = new HashSet<>();
+            Map<String, Integer> bases = previous == null ? reserve(names.counts) : Collections.emptyMap();
+            for (Operation operation : operations) {
+                Name name = names.generated.get(operation.getUniqueId());
+                String key = keys.get(operation);
+                Integer number = previous == null ? bases.get(name.prefix) + name.index : previous.get(key);
+                if (number == null || !used.add(name(name.prefix, number))) {
+                    number = reserve(name.prefix);
+                    used.add(name(name.prefix, number));
+                }
+                numbers.put(key, number);
+                uniqueIds.put(operation, name(name.prefix, number));
+            }
+            assigned.put(names.groupName, numbers);
+        }
+        rename(documentation, names, uniqueIds);
+    }
+
+    /**
+     * 提交延迟扫描的分组，operationId只在分组内编号，不占用其他分组的编号
+     *
+     * @param documentation 分组文档
+     */
+    public void commitLocal(Documentation documentation) {
+        scanned.remove(documentation.getGroupName());
+    }
+
+    public void clear() {
+        scanned.clear();
+        synchronized (reserved) {
+            reserved.clear();
+            assigned.clear();
+        }
+        synchronized (unscoped) {
+            unscoped.clear();
+        }
+    }
+
+    /**
+     * 首次提交的分组在之前分组已占用的数量之后编号，与springfox串行扫描的结果一致
+     */
+    private Map<String, Integer> reserve(Map<String, Integer> counts) {
+        Map<String, Integer> bases = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            Integer base = reserved.get(entry.getKey());
+            bases.put(entry.getKey(), base == null ? 0 : base);
+            reserved.put(entry.getKey(), (base == null ? 0 : base) + entry.getValue());
+        }
+        return bases;
+    }
+
+    private int reserve(String prefix) {
+        Integer base = reserved.get(prefix);
+        reserved.put(prefix, (base == null ? 0 : base) + 1);
+        return base == null ? 0 : base;
+    }
+
+    private static void rename(Documentation documentation, GroupNames names, Map<Operation, String> uniqueIds) {
+        for (ApiListing listing : documentation.getApiListings().values()) {
+            for (ApiDescription api : listing.getApis()) {
+                boolean changed = false;
+                for (Operation operation : api.getOperations()) {
+                    String uniqueId = uniqueIds.get(operation);
+                    if (uniqueId != null && !uniqueId.equals(operation.getUniqueId())) {
+                        new DirectFieldAccessor(operation).setPropertyValue("uniqueId", uniqueId);
+                        changed = true;
+                    }
+                }
+                // 同一路径下的接口按位置及operationId排序，编号变化后重新排序
+                if (changed) {
+                    new DirectFieldAccessor(api).setPropertyValue("operations", names.ordering.sortedCopy(api.getOperations()));
+                }
+            }
+        }
+    }
+
+    private static String name(String prefix, int index) {
+        return index == 0 ? prefix : String.format("%s_%s", prefix, index);
+    }
+
+    /**
+     * 单个分组扫描期间生成的名称，只在扫描线程中访问
+     */
+    private static class GroupNames {
+
+        private final String groupName;
+
+        private final Ordering<Operation> ordering;
+
+        private final Map<String, Integer> counts = new HashMap<>();
+
+        private final Map<String, Name> generated = new HashMap<>();
+
+        GroupNames(String groupName, Ordering<Operation> ordering) {
+            this.groupName = groupName;
+            this.ordering = ordering;
+        }
+
+        String next(String prefix) {
+            Integer count = counts.get(prefix);
+            int index = count == null ? 0 : count;
+            counts.put(prefix, index + 1);
+            String name = name(prefix, index);
+            generated.put(name, new Name(prefix, index));
+            return name;
+        }
+    }
+
+    private static class Name {
+
+        private final String prefix;
+
+        private final int index;
+
+        Name(String prefix, int index) {
+            this.prefix = prefix;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.spring4all.swagger.selector;
+
+import com.google.common.base.Predicate;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 将一组包含、排除的ant路径规则编译为按路径段组织的前缀树，一次遍历完成匹配
+ * <p>
+ * 匹配结果与逐个使用{@link AntPathMatcher}匹配后组合的结果一致：
+ * 满足任一包含规则并且不满足任何排除规则的路径才会被选中。
+ * 路径段内的通配（*、?、{name}）仍交由AntPathMatcher处理，独立的**段作为可匹配任意层级的节点
+ */
+public final class AntPathSelector implements Predicate<String> {
+
+    private static final String SEPARATOR = "/";
+
+    private static final String DOUBLE_STAR = "**";
+
+    private static final String STAR = "*";
+
+    /**
+     * 路径以/结尾时接受
+     */
+    private static final int TRAILING_SLASH = 1;
+
+    /**
+     * 路径不以/结尾时接受
+     */
+    private static final int NO_TRAILING_SLASH = 2;
+
+    private static final int ANY = TRAILING_SLASH | NO_TRAILING_SLASH;
+
+    private final SegmentMatchers segmentMatchers = new SegmentMatchers();
+
+    /**
+     * 以/开头的规则
+     */
+    private final Node absoluteRoot = new Node(false, null);
+
+    /**
+     * 不以/开头的规则
+     */
+    private final Node relativeRoot = new Node(false, null);
+
+    private AntPathSelector() {
+    }
+
+    /**
+     * 编译路径规则
+     *
+     * @param includes 包含规则
+     * @param excludes 排除规则
+     * @return 路径选择器
+     */
+    public static AntPathSelector of(Collection<String> includes, Collection<String> excludes) {
+        AntPathSelector selector = new AntPathSelector();
+        for (String pattern : includes) {
+            selector.add(pattern, false);
+        }
+        for (String pattern : excludes) {
+            selector.add(pattern, true);
+        }
+        return selector;
+    }
+
+    private void add(String pattern, boolean exclude) {
+        String[] segments = tokenize(pattern);
+        Node node = pattern.startsWith(SEPARATOR) ? absoluteRoot : relativeRoot;
+        Node parent = null;
+        boolean doubleStar = false;
+        for (String segment : segments) {
+            doubleStar |= DOUBLE_STAR.equals(segment);
+            parent = node;
+            node = node.child(segment, segmentMatchers);
+        }
+        if (doubleStar) {
+            // 含有**的规则不区分路径结尾的/
+            node.accept(exclude, ANY);
+            return;
+        }
+        node.accept(exclude, pattern.endsWith(SEPARATOR) ? TRAILING_SLASH : NO_TRAILING_SLASH);
+        if (parent != null && STAR.equals(segments[segments.length - 1])) {
+            // 与AntPathMatcher一致，/a/*可以匹配/a/
+            parent.accept(exclude, TRAILING_SLASH);
+        }
+    }
+
+    @Override
+    public boolean apply(String path) {
+        List<Node> active = new ArrayList<>();
+        add(active, path.startsWith(SEPARATOR) ? absoluteRoot : relativeRoot);
+        for (String segment : tokenize(path)) {
+            List<Node> next = new ArrayList<>();
+            for (Node node : active) {
+                node.step(segment, next);
+            }
+            if (next.isEmpty()) {
+                return false;
+            }
+            active = next;
+        }
+        int condition = path.endsWith(SEPARATOR) ? TRAILING_SLASH : NO_TRAILING_SLASH;
+        boolean included = false;
+        for (Node node : active) {
+            if ((node.exclude & condition) != 0) {
+                return false;
+            }
+            included |= (node.include & condition) != 0;
+        }
+        return included;
+    }
+
+    private static String[] tokenize(String path) {
+        return StringUtils.tokenizeToStringArray(path, SEPARATOR, false, true);
+    }
+
+    /**
+     * 加入节点，同时加入其后可以匹配零个路径段的**节点
+     */
+    private static void add(List<Node> nodes, Node node) {
+        while (node != null && !nodes.contains(node)) {
+            nodes.add(node);
+            node = node.doubleStar;
+        }
+    }
+
+    private static final class Node {
+
+        private final boolean anySegments;
+
+        private final SegmentMatcher matcher;
+
+        private Map<String, Node> literals = Collections.emptyMap();
+
+        private Map<String, Node> wildcards = Collections.emptyMap();
+
+        private Node doubleStar;
+
+        private int include;
+
+        private int exclude;
+
+        Node(boolean anySegments, SegmentMatcher matcher) {
+            this.anySegments = anySegments;
+            this.matcher = matcher;
+        }
+
+        Node child(String segment, SegmentMatchers segmentMatchers) {
+            if (DOUBLE_STAR.equals(segment)) {
+                if (doubleStar == null) {
+                    doubleStar = new Node(true, null);
+                }
+                return doubleStar;
+            }
+            if (SegmentMatchers.isLiteral(segment)) {
+                if (literals.isEmpty()) {
+                    literals = new HashMap<>();
+                }
+                return literals.computeIfAbsent(segment, s -> new Node(false, null));
+            }
+            if (wildcards.isEmpty()) {
+                wildcards = new LinkedHashMap<>();
+            }
+            return wildcards.computeIfAbsent(segment, s -> new Node(false, segmentMatchers.compile(s)));
+        }
+
+        void accept(boolean excluded, int condition) {
+            if (excluded) {
+                exclude |= condition;
+            } else {
+                include |= condition;
+            }
+        }
+
+        void step(String segment, List<Node> next) {
+            if (anySegments) {
+                add(next, this);
+            }
+            Node literal = literals.get(segment);
+            if (literal != null) {
+                add(next, literal);
+            }
+            for (Node wildcard : wildcards.values()) {
+                if (wildcard.matcher.matches(segment)) {
+                    add(next, wildcard);
+                }
+            }
+        }
+    }
+
+    private interface SegmentMatcher {
+
+        boolean matches(String segment);
+    }
+
+    /**
+     * 复用AntPathMatcher对单个路径段的匹配实现
+     */
+    private static final class SegmentMatchers extends AntPathMatcher {
+
+        static boolean isLiteral(String segment) {
+            for (int i = 0; i < segment.length(); i++) {
+                char c = segment.charAt(i);
+                if (c == '*' || c == '?' || c == '{') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        SegmentMatcher compile(String segment) {
+            if (STAR.equals(segment)) {
+                return s -> true;
+            }
+            AntPathStringMatcher matcher = getStringMatcher(segment);
+            return s -> matcher.matchStrings(s, null);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.spring4all.swagger.selector;
+
+import com.google.common.base.Predicate;
+import org.springframework.util.ClassUtils;
+import springfox.documentation.RequestHandler;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按包名选择接口，支持多个包含、排除的包
+ * <p>
+ * 与{@link springfox.documentation.builders.RequestHandlerSelectors#basePackage(String)}一致按包名前缀匹配，
+ * 所有包前缀在创建时构建为一棵前缀树，每个包名只需沿树遍历一次，且结果按包名缓存。
+ * 满足任一包含前缀（未配置时包含所有包）并且不满足任何排除前缀的接口才会被选中
+ */
+public final class PackageSelector implements Predicate<RequestHandler> {
+
+    private final Node root = new Node();
+
+    private final boolean includeAll;
+
+    private final ConcurrentMap<String, Boolean> selected = new ConcurrentHashMap<>();
+
+    private PackageSelector(boolean includeAll) {
+        this.includeAll = includeAll;
+    }
+
+    /**
+     * 创建包选择器
+     *
+     * @param includes 包含的包前缀，为空时包含所有包
+     * @param excludes 排除的包前缀
+     * @return 包选择器
+     */
+    public static PackageSelector of(Collection<String> includes, Collection<String> excludes) {
+        PackageSelector selector = new PackageSelector(includes.stream().allMatch(prefix -> prefix.trim().isEmpty()));
+        for (String prefix : includes) {
+            selector.root.add(prefix.trim()).include = true;
+        }
+        for (String prefix : excludes) {
+            if (!prefix.trim().isEmpty()) {
+                selector.root.add(prefix.trim()).exclude = true;
+            }
+        }
+        return selector;
+    }
+
+    @Override
+    public boolean apply(RequestHandler input) {
+        Class<?> declaringClass = input.declaringClass();
+        if (declaringClass == null) {
+            return true;
+        }
+        return matches(ClassUtils.getPackageName(declaringClass));
+    }
+
+    /**
+     * 按包名判断是否选中，用于无需加载接口类的场景
+     *
+     * @param packageName 包名
+     * @return 是否选中
+     */
+    public boolean matches(String packageName) {
+        return selected.computeIfAbsent(packageName, this::select);
+    }
+
+    private boolean select(String packageName) {
+        Node node = root;
+        boolean included = includeAll;
+        for (int i = 0; ; i++) {
+            if (node.exclude) {
+                return false;
+            }
+            included |= node.include;
+            if (i == packageName.length()) {
+                return included;
+            }
+            node = node.children.get(packageName.charAt(i));
+            if (node == null) {
+                return included;
+            }
+        }
+    }
+
+    private static final class Node {
+
+        private final Map<Character, Node> children = new HashMap<>();
+
+        private boolean include;
+
+        private boolean exclude;
+
+        Node add(String prefix) {
+            Node node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), c -> new Node());
+            }
+            return node;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.spring4all.swagger.store;
+
+import com.spring4all.swagger.web.SwaggerSpecDiskCache;
+import com.spring4all.swagger.web.SwaggerSpecGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.bind.RelaxedPropertyResolver;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于共享文件系统（如NFS）或本地目录的文档存储
+ * <p>
+ * 每个版本对应目录下的一个子目录，发布方式与磁盘缓存相同：先写入临时目录再原子重命名。
+ * 构建权为同级的&lt;版本&gt;.lock文件，以独占方式创建，内容为持有者标识；持有期间每隔lock-timeout的三分之一刷新其修改时间。
+ * 修改时间早于swagger.spec-store.lock-timeout的锁文件视为持有者已退出，可被其他节点接管：
+ * 接管方写出内容为自身标识的候选文件，原子重命名覆盖锁文件后再读取持有者，读到自身标识才视为取得构建权
+ */
+public class FileSystemSwaggerSpecStore implements SwaggerSpecStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FileSystemSwaggerSpecStore.class);
+
+    private static final String LOCK_SUFFIX = ".lock";
+
+    /**
+     * 当前进程的持有者标识，同一进程内多次创建的存储共享同一标识
+     */
+    private static final String OWNER = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    private static final ScheduledExecutorService HEARTBEATS = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "swagger-spec-store-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 正在刷新的锁，按锁文件与持有者区分；取得与释放构建权的可能是同一进程内创建的不同存储实例
+     */
+    private static final ConcurrentMap<String, ScheduledFuture<?>> HEARTBEATS_BY_LOCK = new ConcurrentHashMap<>();
+
+    private final File directory;
+
+    private final long lockTimeoutMillis;
+
+    private final SwaggerSpecDiskCache entries;
+
+    private final String owner;
+
+
+    public FileSystemSwaggerSpecStore(Environment environment) {
+        RelaxedPropertyResolver resolver = new RelaxedPropertyResolver(environment, "swagger.spec-store.");
+        String directory = resolver.getProperty("directory");
+        if (!StringUtils.hasText(directory)) {
+            directory = new File(System.getProperty("java.io.tmpdir"), "swagger-spec-store/"
+                    + environment.getProperty("spring.application.name", "application")).getPath();
+        }
+        this.directory = new File(directory);
+        this.lockTimeoutMillis = resolver.getProperty("lock-timeout", Long.class, 300000L);
+        this.entries = new SwaggerSpecDiskCache(this.directory, resolver.getProperty("max-entries", Integer.class, 3));
+        this.owner = OWNER;
+    }
+
+    public FileSystemSwaggerSpecStore(File directory, long lockTimeoutMillis, int maxEntries) {
+        this(directory, lockTimeoutMillis, maxEntries, OWNER);
+    }
+
+    /**
+     * @param owner 持有者标识，用于在同一进程内模拟多个节点
+     */
+    FileSystemSwaggerSpecStore(File directory, long lockTimeoutMillis, int maxEntries, String owner) {
+        this.directory = directory;
+        this.lockTimeoutMillis = lockTimeoutMillis;
+        this.entries = new SwaggerSpecDiskCache(directory, maxEntries);
+        this.owner = owner;
+    }
+
+    @Override
+    public boolean contains(String version) {
+        return entries.contains(version);
+    }
+
+    @Override
+    public boolean tryLock(String version) {
+        Path lock = lockFile(version).toPath();
+        try {
+            Files.createDirectories(directory.toPath());
+            try {
+                Files.write(Files.createFile(lock), owner.getBytes(StandardCharsets.UTF_8));
+                log.info("Claimed swagger specification build {}", lock);
+                return claimed(version);
+            } catch (FileAlreadyExistsException e) {
+                String current = owner(lock);
+                if (owner.equals(current)) {
+                    return claimed(version);
+                }
+                if (!expired(lock)) {
+                    log.debug("Swagger specification build {} is claimed by {}", lock, current);
+                    return false;
+                }
+                if (takeOver(lock)) {
+                    log.warn("Took over expired swagger specification build {} claimed by {}", lock, current);
+                    return claimed(version);
+                }
+                return false;
+            }
+        } catch (IOException e) {
+            log.warn("Unable to claim swagger specification build " + lock, e);
+        }
+        return false;
+    }
+
+    /**
+     * 以原子重命名覆盖过期的锁文件，多个节点同时接管时以最后一次重命名为准，重命名后读到自身标识的节点取得构建权
+     */
+    private boolean takeOver(Path lock) throws IOException {
+        Path candidate = lock.resolveSibling(lock.getFileName() + "." + UUID.randomUUID());
+        try {
+            Files.write(candidate, owner.getBytes(StandardCharsets.UTF_8));
+            Files.move(candidate, lock, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            log.warn("Unable to take over swagger specification build {}: atomic move is not supported", lock);
+            return false;
+        } finally {
+            Files.deleteIfExists(candidate);
+        }
+        return owner.equals(owner(lock));
+    }
+
+    /**
+     * 开始刷新锁文件的修改时间，直到释放构建权或锁被其他节点接管
+     */
+    private boolean claimed(String version) {
+        long interval = Math.max(lockTimeoutMillis / 3, 1);
+        HEARTBEATS_BY_LOCK.computeIfAbsent(heartbeatKey(version), key -> HEARTBEATS.scheduleWithFixedDelay(
+                () -> heartbeat(version), interval, interval, TimeUnit.MILLISECONDS));
+        return true;
+    }
+
+    private void heartbeat(String version) {
+        Path lock = lockFile(version).toPath();
+        try {
+            String current = owner(lock);
+            if (owner.equals(current)) {
+                Files.setLastModifiedTime(lock, FileTime.fromMillis(System.currentTimeMillis()));
+                return;
+            }
+            if (current != null) {
+                log.warn("Swagger specification build {} has been taken over by {}", lock, current);
+            }
+        } catch (IOException e) {
+            log.warn("Unable to refresh swagger specification build " + lock, e);
+            return;
+        }
+        stopHeartbeat(version);
+    }
+
+    private void stopHeartbeat(String version) {
+        ScheduledFuture<?> heartbeat = HEARTBEATS_BY_LOCK.remove(heartbeatKey(version));
+        if (heartbeat != null) {
+            heartbeat.cancel(false);
+        }
+    }
+
+    @Override
+    public void unlock(String version) {
+        stopHeartbeat(version);
+        Path lock = lockFile(version).toPath();
+        try {
+            if (owner.equals(owner(lock))) {
+                Files.deleteIfExists(lock);
+            }
+        } catch (IOException e) {
+            log.warn("Unable to release swagger specification build " + lock, e);
+        }
+    }
+
+    @Override
+    public void publish(String version, SwaggerSpecGenerator generator) throws IOException {
+        entries.store(version, generator);
+    }
+
+    @Override
+    public String location(String version) {
+        String location = entries.entry(version).toURI().toString();
+        return location.endsWith("/") ? location : location + "/";
+    }
+
+    private String heartbeatKey(String version) {
+        return lockFile(version).getAbsolutePath() + "\n" + owner;
+    }
+
+    private File lockFile(String version) {
+        return new File(directory, version + LOCK_SUFFIX);
+    }
+
+    /**
+     * 锁文件不存在时返回null，刚创建、尚未写入持有者时返回空字符串
+     */
+    private static String owner(Path lock) throws IOException {
+        try {
+            return new String(Files.readAllBytes(lock), StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private boolean expired(Path lock) throws IOException {
+        try {
+            return System.currentTimeMillis() - Files.getLastModifiedTime(lock).toMillis() > lockTimeoutMillis;
+        } catch (NoSuchFileException e) {
+            return true;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return directory.getPath();
+    }
+}
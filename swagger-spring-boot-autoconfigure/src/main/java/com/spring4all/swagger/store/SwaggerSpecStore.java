@@ -0,0 +1,52 @@
+package com.spring4all.swagger.store;
+
+import com.spring4all.swagger.web.SwaggerSpecGenerator;
+
+import java.io.IOException;
+
+/**
+ * 集群共享的文档存储，同一版本的文档只由一个节点扫描并发布，其他节点直接读取
+ * <p>
+ * 首个启动的节点通过{@link #tryLock(String)}取得该版本的构建权，扫描完成后{@link #publish(String, SwaggerSpecGenerator)}
+ * 并释放；其他节点在短暂等待后按静态文档模式从{@link #location(String)}读取已发布的文档。
+ * <p>
+ * 自定义实现通过swagger.spec-store.type指定，需要提供以Environment为参数的public构造方法
+ */
+public interface SwaggerSpecStore {
+
+    /**
+     * @param version 版本
+     * @return 该版本的文档是否已完整发布
+     */
+    boolean contains(String version);
+
+    /**
+     * 尝试取得该版本的构建权，当前进程已持有时同样返回true
+     *
+     * @param version 版本
+     * @return 是否由当前进程构建
+     */
+    boolean tryLock(String version);
+
+    /**
+     * 释放当前进程持有的构建权，未持有时不做任何处理
+     *
+     * @param version 版本
+     */
+    void unlock(String version);
+
+    /**
+     * 发布文档，已发布时不覆盖
+     *
+     * @param version   版本
+     * @param generator 文档生成器
+     * @throws IOException 写出失败
+     */
+    void publish(String version, SwaggerSpecGenerator generator) throws IOException;
+
+    /**
+     * @param version 版本
+     * @return 已发布文档的位置，格式与swagger.static-spec.location相同
+     */
+    String location(String version);
+}
@@ -0,0 +1,52 @@
+package com.spring4all.swagger.store;
+
+import com.spring4all.swagger.web.SwaggerSpecGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.io.IOException;
+
+/**
+ * 扫描模式下，持有构建权的节点在应用就绪后于后台线程中发布各分组文档，完成后释放构建权
+ * <p>
+ * 等待超时而自行扫描的节点只有在原持有者释放或锁过期后才会接管发布，不会与持有者重复发布
+ */
+public class SwaggerSpecStorePublisher implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(SwaggerSpecStorePublisher.class);
+
+    private final SwaggerSpecStore store;
+    private final String version;
+    private final SwaggerSpecGenerator generator;
+
+    public SwaggerSpecStorePublisher(SwaggerSpecStore store, String version, SwaggerSpecGenerator generator) {
+        this.store = store;
+        this.version = version;
+        this.generator = generator;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (store.contains(version)) {
+            store.unlock(version);
+            return;
+        }
+        if (!store.tryLock(version)) {
+            return;
+        }
+        Thread publisher = new Thread(() -> {
+            try {
+                store.publish(version, generator);
+                log.info("Published swagger specification {} to {}", version, store);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Unable to publish swagger specification " + version + " to " + store, e);
+            } finally {
+                store.unlock(version);
+            }
+        }, "swagger-spec-store");
+        publisher.setDaemon(true);
+        publisher.start();
+    }
+}
@@ -0,0 +1,102 @@
+package com.spring4all.swagger.store;
+
+import com.spring4all.swagger.web.SwaggerSpecDiskCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.bind.RelaxedPropertyResolver;
+import org.springframework.core.env.Environment;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * 按swagger.spec-store配置创建文档存储，并决定当前节点是扫描还是读取已发布的文档
+ */
+public final class SwaggerSpecStores {
+
+    private static final Logger log = LoggerFactory.getLogger(SwaggerSpecStores.class);
+
+    private static final long POLL_INTERVAL_MILLIS = 500;
+
+    private SwaggerSpecStores() {
+    }
+
+    /**
+     * 按swagger.spec-store配置创建，未开启时返回null
+     *
+     * @param environment 环境
+     * @return 文档存储
+     */
+    public static SwaggerSpecStore of(Environment environment) {
+        RelaxedPropertyResolver resolver = new RelaxedPropertyResolver(environment, "swagger.spec-store.");
+        if (!resolver.getProperty("enabled", Boolean.class, false)) {
+            return null;
+        }
+        String type = resolver.getProperty("type");
+        if (!StringUtils.hasText(type)) {
+            return new FileSystemSwaggerSpecStore(environment);
+        }
+        try {
+            Class<?> storeClass = ClassUtils.forName(type.trim(), SwaggerSpecStores.class.getClassLoader());
+            return (SwaggerSpecStore) BeanUtils.instantiateClass(storeClass.getConstructor(Environment.class), environment);
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            throw new IllegalStateException("Invalid swagger.spec-store.type " + type, e);
+        }
+    }
+
+    /**
+     * 文档版本，默认与磁盘缓存的指纹相同
+     *
+     * @param environment 环境
+     * @return 版本
+     */
+    public static String version(Environment environment) {
+        String version = new RelaxedPropertyResolver(environment, "swagger.spec-store.").getProperty("version");
+        return StringUtils.hasText(version) ? version.trim() : SwaggerSpecDiskCache.fingerprintOf(environment);
+    }
+
+    /**
+     * 判断当前节点是否读取已发布的文档：已发布时直接读取；取得构建权时由当前节点扫描；
+     * 其他节点正在构建时最多等待swagger.spec-store.wait-timeout，超时后退回扫描。
+     * 每次调用都会重新判断，启动时由StaticSpecSourceResolver调用一次
+     *
+     * @param store       文档存储
+     * @param environment 环境
+     * @return true时读取已发布的文档，false时扫描
+     */
+    public static boolean published(SwaggerSpecStore store, Environment environment) {
+        String version = version(environment);
+        long timeout = new RelaxedPropertyResolver(environment, "swagger.spec-store.")
+                .getProperty("wait-timeout", Long.class, 30000L);
+        return await(store, version, timeout);
+    }
+
+    private static boolean await(SwaggerSpecStore store, String version, long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        boolean waiting = false;
+        while (true) {
+            if (store.contains(version)) {
+                log.info("Loading published swagger specification {} from {}", version, store);
+                return true;
+            }
+            if (store.tryLock(version)) {
+                return false;
+            }
+            if (!waiting) {
+                log.info("Waiting up to {} ms for swagger specification {} to be published to {}",
+                        timeoutMillis, version, store);
+                waiting = true;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                log.warn("Timed out waiting for swagger specification {} in {}, scanning locally", version, store);
+                return false;
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
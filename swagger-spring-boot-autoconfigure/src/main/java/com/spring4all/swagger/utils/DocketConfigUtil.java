@@ -1,24 +1,21 @@
-package com.spring4all.swagger;
+package com.spring4all.swagger.utils;
 
 import com.google.common.base.Predicate;
-import com.google.common.base.Predicates;
-import com.google.common.base.Splitter;
-import com.google.common.base.Strings;
 import com.spring4all.swagger.properties.DocketInfo;
 import com.spring4all.swagger.properties.GlobalOperationParameter;
 import com.spring4all.swagger.properties.GlobalResponseMessageBody;
 import com.spring4all.swagger.properties.SwaggerProperties;
-import org.springframework.util.ClassUtils;
+import com.spring4all.swagger.selector.AntPathSelector;
+import com.spring4all.swagger.selector.PackageSelector;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.RequestMethod;
+import springfox.documentation.RequestHandler;
 import springfox.documentation.builders.*;
 import springfox.documentation.schema.ModelRef;
 import springfox.documentation.service.ApiInfo;
 import springfox.documentation.service.Contact;
 import springfox.documentation.service.Parameter;
 import springfox.documentation.service.ResponseMessage;
-import springfox.documentation.spring.web.plugins.ApiSelectorBuilder;
-import springfox.documentation.spring.web.plugins.Docket;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -27,64 +24,57 @@ import static com.google.common.collect.Lists.newArrayList;
 
 /**
  * Created by zhangleimin on 2019/3/11.
+ * <p>
+ * 由分组配置构建springfox对象的工具方法，供{@link com.spring4all.swagger.plan.SwaggerPlanCompiler}使用
  */
-public class BaseSwaggerConfiguration {
+public final class DocketConfigUtil {
 
-    protected Docket configPath(DocketInfo docketInfo, ApiSelectorBuilder apiSelectorBuilder) throws ClassNotFoundException {
-        // base-path处理
-        // 当没有配置任何path的时候，解析/**
-        if (docketInfo.getBasePath().isEmpty()) {
-            docketInfo.getBasePath().add("/**");
-        }
-        List<Predicate<String>> basePath = new ArrayList<>();
-        for (String path : docketInfo.getBasePath()) {
-            basePath.add(PathSelectors.ant(path));
-        }
-        // exclude-path处理
-        List<Predicate<String>> excludePath = new ArrayList<>();
-        for (String path : docketInfo.getExcludePath()) {
-            excludePath.add(PathSelectors.ant(path));
-        }
-        Docket docket = apiSelectorBuilder.apis(RequestHandlerSelectors.basePackage(docketInfo.getBasePackage()))
-                .paths(
-                        // 满足在basePath中并且不能在excludePath列表中的路径才能被访问
-                        Predicates.and(
-                                Predicates.not(Predicates.or(excludePath)),
-                                Predicates.or(basePath)
-                        )
-                ).build()
-                .pathMapping(docketInfo.getPathMapping());
-        /* 忽略不被处理的参数类型 **/
-        Class<?>[] array = new Class[docketInfo.getIgnoredParameterTypes().size()];
-        Class<?>[] ignoredParameterTypes = docketInfo.getIgnoredParameterTypes().toArray(array);
-        docket.ignoredParameterTypes(ignoredParameterTypes);
-        if (!Strings.isNullOrEmpty(docketInfo.getDirectModelSubstitutes())) {
-            setDirectModelSubstitutes(docket, docketInfo.getDirectModelSubstitutes());
-        }
-        if (!Strings.isNullOrEmpty(docketInfo.getGenericModelSubstitutes())) {
-            setGenericModelSubstitutes(docket, docketInfo.getGenericModelSubstitutes());
-        }
-        return docket;
+    private DocketConfigUtil() {
     }
 
-    private void setDirectModelSubstitutes(Docket docket, String directModelSubstitutes) throws ClassNotFoundException {
-        Map<String, String> map = Splitter.on(',').withKeyValueSeparator('-').split(directModelSubstitutes);
-        for (String className : map.keySet()) {
-            String with = map.get(className);
-            Class clazz = ClassUtils.forName(className, null);
-            Class withClazz = ClassUtils.forName(with, null);
-            docket.directModelSubstitute(clazz, withClazz);
+    /**
+     * 合并base-package中逗号分割的包路径与base-packages列表，去掉空白及重复的包路径
+     *
+     * @param docketInfo 分组配置
+     * @return 包路径，为空时表示全扫描
+     */
+    public static List<String> basePackages(DocketInfo docketInfo) {
+        Set<String> basePackages = new LinkedHashSet<>();
+        Collections.addAll(basePackages, StringUtils.tokenizeToStringArray(docketInfo.getBasePackage(), ","));
+        if (docketInfo.getBasePackages() != null) {
+            for (String each : docketInfo.getBasePackages()) {
+                if (StringUtils.hasText(each)) {
+                    basePackages.add(each.trim());
+                }
+            }
         }
+        return new ArrayList<>(basePackages);
     }
 
-    private void setGenericModelSubstitutes(Docket docket, String genericModelSubstitutes) throws ClassNotFoundException {
-        List<String> classes = Splitter.on(',').splitToList(genericModelSubstitutes);
-        for (String className : classes) {
-            docket.genericModelSubstitutes(ClassUtils.forName(className, null));
-        }
+    /**
+     * base-package、base-packages与exclude-package编译为一个包选择器
+     *
+     * @param docketInfo 分组配置
+     * @return 包选择器
+     */
+    public static Predicate<RequestHandler> packageSelector(DocketInfo docketInfo) {
+        return PackageSelector.of(basePackages(docketInfo), docketInfo.getExcludePackage());
     }
 
-    protected ApiInfo createApiInfo(DocketInfo defaultDocketInfo, DocketInfo docketInfo) {
+    /**
+     * base-path与exclude-path编译为一个路径选择器，满足在basePath中并且不能在excludePath列表中的路径才能被访问；
+     * 没有配置任何base-path时解析/**
+     *
+     * @param docketInfo 分组配置
+     * @return 路径选择器
+     */
+    public static Predicate<String> pathSelector(DocketInfo docketInfo) {
+        List<String> basePath = docketInfo.getBasePath().isEmpty()
+                ? Collections.singletonList("/**") : docketInfo.getBasePath();
+        return AntPathSelector.of(basePath, docketInfo.getExcludePath());
+    }
+
+    public static ApiInfo createApiInfo(DocketInfo defaultDocketInfo, DocketInfo docketInfo) {
         DocketInfo docket = Optional.ofNullable(docketInfo).orElse(defaultDocketInfo);
         return new ApiInfoBuilder()
                 .title(docket.getTitle().isEmpty() ? defaultDocketInfo.getTitle() : docket.getTitle())
@@ -103,7 +93,7 @@ public class BaseSwaggerConfiguration {
                 .build();
     }
 
-    protected List<Parameter> buildGlobalOperationParametersFromSwaggerProperties(
+    public static List<Parameter> buildGlobalOperationParametersFromSwaggerProperties(
             List<GlobalOperationParameter> globalOperationParameters) {
         List<Parameter> parameters = newArrayList();
 
@@ -129,7 +119,7 @@ public class BaseSwaggerConfiguration {
      * @param docketOperationParameters
      * @return
      */
-    protected List<Parameter> assemblyGlobalOperationParameters(
+    public static List<Parameter> assemblyGlobalOperationParameters(
             List<GlobalOperationParameter> globalOperationParameters,
             List<GlobalOperationParameter> docketOperationParameters) {
 
@@ -158,39 +148,26 @@ public class BaseSwaggerConfiguration {
     }
 
     /**
-     * 设置全局响应消息
+     * 按请求方法整理全局响应消息，未配置global-response-message时各方法均为空列表
      *
      * @param swaggerProperties swaggerProperties 支持 POST,GET,PUT,PATCH,DELETE,HEAD,OPTIONS,TRACE
-     * @param docketForBuilder  swagger docket builder
+     * @return 各请求方法的响应消息
      */
-    protected void buildGlobalResponseMessage(SwaggerProperties swaggerProperties, Docket docketForBuilder) {
-        docketForBuilder.useDefaultResponseMessages(swaggerProperties.getApplyDefaultResponseMessages());
-        // 使用默认http响应则直接返回
-        if (swaggerProperties.getApplyDefaultResponseMessages()) {
-            return;
-        }
-        SwaggerProperties.GlobalResponseMessage globalResponseMessages =
-                swaggerProperties.getGlobalResponseMessage();
+    public static Map<RequestMethod, List<ResponseMessage>> globalResponseMessages(SwaggerProperties swaggerProperties) {
+        SwaggerProperties.GlobalResponseMessage globalResponseMessages = Optional.ofNullable(
+                swaggerProperties.getGlobalResponseMessage()).orElseGet(SwaggerProperties.GlobalResponseMessage::new);
 
         /* POST,GET,PUT,PATCH,DELETE,HEAD,OPTIONS,TRACE 响应消息体 **/
-        List<ResponseMessage> postResponseMessages = getResponseMessageList(globalResponseMessages.getPost());
-        List<ResponseMessage> getResponseMessages = getResponseMessageList(globalResponseMessages.getGet());
-        List<ResponseMessage> putResponseMessages = getResponseMessageList(globalResponseMessages.getPut());
-        List<ResponseMessage> patchResponseMessages = getResponseMessageList(globalResponseMessages.getPatch());
-        List<ResponseMessage> deleteResponseMessages = getResponseMessageList(globalResponseMessages.getDelete());
-        List<ResponseMessage> headResponseMessages = getResponseMessageList(globalResponseMessages.getHead());
-        List<ResponseMessage> optionsResponseMessages = getResponseMessageList(globalResponseMessages.getOptions());
-        List<ResponseMessage> trackResponseMessages = getResponseMessageList(globalResponseMessages.getTrace());
-
-        docketForBuilder.useDefaultResponseMessages(swaggerProperties.getApplyDefaultResponseMessages())
-                .globalResponseMessage(RequestMethod.POST, postResponseMessages)
-                .globalResponseMessage(RequestMethod.GET, getResponseMessages)
-                .globalResponseMessage(RequestMethod.PUT, putResponseMessages)
-                .globalResponseMessage(RequestMethod.PATCH, patchResponseMessages)
-                .globalResponseMessage(RequestMethod.DELETE, deleteResponseMessages)
-                .globalResponseMessage(RequestMethod.HEAD, headResponseMessages)
-                .globalResponseMessage(RequestMethod.OPTIONS, optionsResponseMessages)
-                .globalResponseMessage(RequestMethod.TRACE, trackResponseMessages);
+        Map<RequestMethod, List<ResponseMessage>> responseMessages = new LinkedHashMap<>();
+        responseMessages.put(RequestMethod.POST, getResponseMessageList(globalResponseMessages.getPost()));
+        responseMessages.put(RequestMethod.GET, getResponseMessageList(globalResponseMessages.getGet()));
+        responseMessages.put(RequestMethod.PUT, getResponseMessageList(globalResponseMessages.getPut()));
+        responseMessages.put(RequestMethod.PATCH, getResponseMessageList(globalResponseMessages.getPatch()));
+        responseMessages.put(RequestMethod.DELETE, getResponseMessageList(globalResponseMessages.getDelete()));
+        responseMessages.put(RequestMethod.HEAD, getResponseMessageList(globalResponseMessages.getHead()));
+        responseMessages.put(RequestMethod.OPTIONS, getResponseMessageList(globalResponseMessages.getOptions()));
+        responseMessages.put(RequestMethod.TRACE, getResponseMessageList(globalResponseMessages.getTrace()));
+        return responseMessages;
     }
 
     /**
@@ -199,7 +176,7 @@ public class BaseSwaggerConfiguration {
      * @param globalResponseMessageBodyList 全局Code消息返回集合
      * @return
      */
-    private List<ResponseMessage> getResponseMessageList
+    private static List<ResponseMessage> getResponseMessageList
     (List<GlobalResponseMessageBody> globalResponseMessageBodyList) {
         List<ResponseMessage> responseMessages = new ArrayList<>();
         for (GlobalResponseMessageBody globalResponseMessageBody : globalResponseMessageBodyList) {
@@ -0,0 +1,308 @@
+package com.spring4all.swagger.web;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Strings;
+import com.spring4all.swagger.remote.SwaggerRemoteSpecs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.ResourceUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.util.UriComponents;
+import springfox.documentation.annotations.ApiIgnore;
+import springfox.documentation.spring.web.plugins.Docket;
+import springfox.documentation.swagger.web.SecurityConfiguration;
+import springfox.documentation.swagger.web.SecurityConfigurationBuilder;
+import springfox.documentation.swagger.web.SwaggerResource;
+import springfox.documentation.swagger.web.UiConfiguration;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static springfox.documentation.swagger.common.HostNameProvider.componentsFrom;
+
+/**
+ * 静态文档模式下输出由SwaggerSpecGenerator预先生成的文档，以及swagger-ui所需的/swagger-resources接口
+ * <p>
+ * 该模式下不引入springfox的扫描，文档从swagger.static-spec.location或磁盘缓存读取，host与basePath按请求补全，
+ * 精简版文档与部分文档由预生成的文档转换得到；聚合的远程文档作为额外的分组原样输出
+ * <p>
+ * 每个分组只保留文件的原始字节及其gzip压缩结果与ETag，请求的host/basePath与文件中的一致时直接输出；
+ * 其余组合才解析文件并改写，改写结果按组合缓存为字节，不保留解析出的json树
+ */
+@Controller
+@ApiIgnore
+public class StaticSwaggerSpecController {
+
+    private static final Logger log = LoggerFactory.getLogger(StaticSwaggerSpecController.class);
+
+    private static final String HAL_MEDIA_TYPE = "application/hal+json";
+
+    private static final String LITE_VARIANT_PREFIX = "lite:";
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+    private final String swagger2Url;
+    private final String hostNameOverride;
+    private final UiConfiguration uiConfiguration;
+    private final SwaggerSpecCache specCache;
+    private final SwaggerSpecSlices specSlices;
+    private final boolean liteByDefault;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ConcurrentMap<String, Optional<StaticSpec>> specs = new ConcurrentHashMap<>();
+
+    private volatile List<String> groupNames;
+
+    private volatile SwaggerRemoteSpecs remoteSpecs;
+
+    public StaticSwaggerSpecController(ResourceLoader resourceLoader,
+                                       String location,
+                                       Environment environment,
+                                       UiConfiguration uiConfiguration,
+                                       SwaggerSpecCache specCache,
+                                       SwaggerSpecSlices specSlices,
+                                       boolean liteByDefault) {
+        this.resourceLoader = resourceLoader;
+        this.location = location.endsWith("/") ? location : location + "/";
+        this.swagger2Url = environment.getProperty("springfox.documentation.swagger.v2.path", SwaggerSpecController.DEFAULT_URL);
+        this.hostNameOverride = environment.getProperty("springfox.documentation.swagger.v2.host", "DEFAULT");
+        this.uiConfiguration = uiConfiguration;
+        this.specCache = specCache;
+        this.specSlices = specSlices;
+        this.liteByDefault = liteByDefault;
+    }
+
+    /**
+     * @param remoteSpecs 聚合的远程文档，为null时不聚合
+     */
+    public void setRemoteSpecs(SwaggerRemoteSpecs remoteSpecs) {
+        this.remoteSpecs = remoteSpecs;
+    }
+
+    @RequestMapping(value = "${springfox.documentation.swagger.v2.path:" + SwaggerSpecController.DEFAULT_URL + "}",
+            method = RequestMethod.GET, produces = {MediaType.APPLICATION_JSON_VALUE, HAL_MEDIA_TYPE})
+    @ResponseBody
+    public ResponseEntity<?> getDocumentation(
+            @RequestParam(value = "group", required = false) String swaggerGroup,
+            @RequestParam(value = "lite", required = false) Boolean lite,
+            @RequestParam(value = "tag", required = false) String tag,
+            @RequestParam(value = "path", required = false) String path,
+            HttpServletRequest servletRequest) {
+        String groupName = Strings.isNullOrEmpty(swaggerGroup) ? Docket.DEFAULT_GROUP_NAME : swaggerGroup;
+        if (!groupNames().contains(groupName)) {
+            SwaggerRemoteSpecs remotes = remoteSpecs;
+            if (remotes != null && remotes.contains(groupName)) {
+                return SwaggerSpecResponses.remote(remotes.get(groupName), servletRequest);
+            }
+            log.warn("Unable to find specification for group {}", groupName);
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        StaticSpec file = specs.computeIfAbsent(groupName, this::load).orElse(null);
+        if (file == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        UriComponents uriComponents = componentsFrom(servletRequest, file.basePath);
+        String basePath = SwaggerSpecResponses.basePath(uriComponents);
+        String host = Strings.isNullOrEmpty(file.host)
+                ? SwaggerSpecResponses.hostName(uriComponents, hostNameOverride) : file.host;
+
+        boolean liteVariant = lite == null ? liteByDefault : lite;
+        if (!Strings.isNullOrEmpty(tag) || !Strings.isNullOrEmpty(path)) {
+            SwaggerSpec spec = specSlices.get(groupName, file, () -> parse(file),
+                    Strings.emptyToNull(tag), Strings.emptyToNull(path), liteVariant, host, basePath);
+            return SwaggerSpecResponses.of(spec, servletRequest);
+        }
+        SwaggerSpec spec;
+        if (liteVariant) {
+            spec = specCache.get(groupName, file, LITE_VARIANT_PREFIX + host + basePath,
+                    () -> SwaggerSpec.of(withHostAndBasePath(SwaggerSpecLite.apply(parse(file)), host, basePath)));
+        } else if (host.equals(file.host) && basePath.equals(file.basePath)) {
+            spec = file.spec;
+        } else {
+            spec = specCache.get(groupName, file, host + basePath,
+                    () -> SwaggerSpec.of(withHostAndBasePath(parse(file), host, basePath)));
+        }
+        return SwaggerSpecResponses.of(spec, servletRequest);
+    }
+
+    @ExceptionHandler(SwaggerSpecRejectedException.class)
+    public ResponseEntity<Void> rejected(SwaggerSpecRejectedException e) {
+        return SwaggerSpecResponses.rejected(e);
+    }
+
+    @RequestMapping(value = "/swagger-resources", method = RequestMethod.GET)
+    @ResponseBody
+    public ResponseEntity<List<SwaggerResource>> swaggerResources() {
+        List<SwaggerResource> resources = new ArrayList<>();
+        Set<String> names = new LinkedHashSet<>(groupNames());
+        SwaggerRemoteSpecs remotes = remoteSpecs;
+        if (remotes != null) {
+            names.addAll(remotes.groupNames());
+        }
+        for (String groupName : names) {
+            SwaggerResource resource = new SwaggerResource();
+            resource.setName(groupName);
+            resource.setUrl(Docket.DEFAULT_GROUP_NAME.equals(groupName) ? swagger2Url : swagger2Url + "?group=" + groupName);
+            resource.setSwaggerVersion("2.0");
+            resources.add(resource);
+        }
+        Collections.sort(resources);
+        return new ResponseEntity<>(resources, HttpStatus.OK);
+    }
+
+    @RequestMapping(value = "/swagger-resources/configuration/ui", method = RequestMethod.GET)
+    @ResponseBody
+    public ResponseEntity<UiConfiguration> uiConfiguration() {
+        return new ResponseEntity<>(uiConfiguration, HttpStatus.OK);
+    }
+
+    @RequestMapping(value = "/swagger-resources/configuration/security", method = RequestMethod.GET)
+    @ResponseBody
+    public ResponseEntity<SecurityConfiguration> securityConfiguration() {
+        return new ResponseEntity<>(SecurityConfigurationBuilder.builder().build(), HttpStatus.OK);
+    }
+
+    private List<String> groupNames() {
+        if (groupNames == null) {
+            Resource index = resourceLoader.getResource(location + SwaggerSpecGenerator.INDEX_FILE);
+            List<String> names = new ArrayList<>();
+            if (index.exists()) {
+                for (String line : read(index).split("\\r?\\n")) {
+                    if (!line.trim().isEmpty()) {
+                        names.add(line.trim());
+                    }
+                }
+            } else {
+                log.warn("Unable to find swagger specification index {}", index);
+            }
+            groupNames = Collections.unmodifiableList(names);
+        }
+        return groupNames;
+    }
+
+    private Optional<StaticSpec> load(String groupName) {
+        Resource resource = resourceLoader.getResource(location + groupName + SwaggerSpecGenerator.SPEC_FILE_SUFFIX);
+        if (!resource.exists()) {
+            log.warn("Unable to find specification for group {} at {}", groupName, resource);
+            return Optional.empty();
+        }
+        try {
+            File file = fileOf(resource);
+            byte[] json;
+            if (file != null) {
+                json = Files.readAllBytes(file.toPath());
+            } else {
+                try (InputStream in = resource.getInputStream()) {
+                    json = StreamUtils.copyToByteArray(in);
+                }
+            }
+            return Optional.of(new StaticSpec(SwaggerSpec.of(json), topLevelText(json, "host"),
+                    topLevelText(json, "basePath")));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static File fileOf(Resource resource) {
+        try {
+            return ResourceUtils.isFileURL(resource.getURL()) ? resource.getFile() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 只读取顶层字段的值，不解析整个文档
+     */
+    private String topLevelText(byte[] json, String fieldName) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (fieldName.equals(name)) {
+                    return value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 解析文件为json树，只在改写host/basePath、精简或截取时使用，结果不缓存
+     */
+    private ObjectNode parse(StaticSpec file) {
+        try {
+            return (ObjectNode) objectMapper.readTree(file.spec.getJson());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] withHostAndBasePath(ObjectNode canonical, String host, String basePath) {
+        try {
+            return objectMapper.writeValueAsBytes(SwaggerSpecResponses.withHostAndBasePath(canonical, host, basePath));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String read(Resource resource) {
+        try (InputStream in = resource.getInputStream()) {
+            return StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 预生成的文档文件及其中的host与basePath
+     */
+    private static final class StaticSpec {
+
+        private final SwaggerSpec spec;
+
+        private final String host;
+
+        private final String basePath;
+
+        StaticSpec(SwaggerSpec spec, String host, String basePath) {
+            this.spec = spec;
+            this.host = host;
+            this.basePath = basePath;
+        }
+    }
+}
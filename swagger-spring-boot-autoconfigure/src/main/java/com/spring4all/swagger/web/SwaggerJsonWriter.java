@@ -0,0 +1,101 @@
+package com.spring4all.swagger.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.CountingOutputStream;
+import io.swagger.models.Swagger;
+import org.springframework.util.StreamUtils;
+import springfox.documentation.spring.web.json.JacksonModuleRegistrar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 以流的方式序列化文档，输出与springfox的JsonSerializer一致
+ * <p>
+ * Jackson按属性逐个写出，paths按接口路径逐条写出，输出过程中不会生成完整的json字符串或字节数组
+ */
+public class SwaggerJsonWriter {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * @param registrars 与JsonSerializer相同的Jackson模块
+     */
+    public SwaggerJsonWriter(List<JacksonModuleRegistrar> registrars) {
+        for (JacksonModuleRegistrar registrar : registrars) {
+            registrar.maybeRegisterModule(objectMapper);
+        }
+    }
+
+    /**
+     * 将文档写出到输出流，写出后不关闭输出流
+     *
+     * @param swagger 文档
+     * @param out     输出流
+     * @return 写出的json字节数
+     * @throws IOException 写出失败
+     */
+    public long write(Swagger swagger, OutputStream out) throws IOException {
+        CountingOutputStream counting = new CountingOutputStream(StreamUtils.nonClosing(out));
+        objectMapper.writeValue(counting, swagger);
+        return counting.getCount();
+    }
+
+    /**
+     * 将文档直接写出为gzip压缩结果，同时计算json原文的ETag，内存中只保留压缩后的内容
+     *
+     * @param swagger 文档
+     * @return 文档
+     * @throws IOException 写出失败
+     */
+    public SwaggerSpec writeCompressed(Swagger swagger) throws IOException {
+        MessageDigest md5 = md5();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+        long length;
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            length = write(swagger, new DigestOutputStream(gzip, md5));
+        }
+        String etag = "\"" + BaseEncoding.base16().lowerCase().encode(md5.digest()) + "\"";
+        return SwaggerSpec.compressed(buffer.toByteArray(), length, etag);
+    }
+
+    /**
+     * 将文档转换为json树，用于生成精简版等需要改写文档的场景
+     *
+     * @param swagger 文档
+     * @return json树
+     */
+    public ObjectNode toTree(Swagger swagger) {
+        return objectMapper.valueToTree(swagger);
+    }
+
+    /**
+     * @param tree json树
+     * @return 序列化后的json
+     */
+    public byte[] toBytes(JsonNode tree) {
+        try {
+            return objectMapper.writeValueAsBytes(tree);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
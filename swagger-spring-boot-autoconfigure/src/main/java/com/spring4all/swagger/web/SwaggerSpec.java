@@ -0,0 +1,119 @@
+package com.spring4all.swagger.web;
+
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 序列化后的文档，包含json原文、gzip压缩结果以及强ETag，创建后不可变
+ * <p>
+ * 流式输出时只保留gzip压缩结果，json原文在输出时再解压
+ */
+public final class SwaggerSpec {
+
+    private final byte[] json;
+
+    private final byte[] gzip;
+
+    private final long length;
+
+    private final String etag;
+
+    private SwaggerSpec(byte[] json, byte[] gzip, long length, String etag) {
+        this.json = json;
+        this.gzip = gzip;
+        this.length = length;
+        this.etag = etag;
+    }
+
+    /**
+     * 根据json原文创建，同时计算gzip压缩结果与ETag
+     *
+     * @param json 序列化后的文档
+     * @return 文档
+     */
+    public static SwaggerSpec of(byte[] json) {
+        return new SwaggerSpec(json, gzip(json), json.length, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+    }
+
+    /**
+     * 只包含json原文，不计算gzip与ETag，用于不缓存的场景
+     *
+     * @param json 序列化后的文档
+     * @return 文档
+     */
+    public static SwaggerSpec uncompressed(byte[] json) {
+        return new SwaggerSpec(json, null, json.length, null);
+    }
+
+    /**
+     * 只包含gzip压缩结果，用于流式输出的场景
+     *
+     * @param gzip   压缩后的文档
+     * @param length json原文的字节数
+     * @param etag   根据json原文计算的ETag
+     * @return 文档
+     */
+    public static SwaggerSpec compressed(byte[] gzip, long length, String etag) {
+        return new SwaggerSpec(null, gzip, length, etag);
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    /**
+     * @return json原文的字节数
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * 读取json原文，只有压缩结果时边读边解压
+     *
+     * @return json原文
+     */
+    public InputStream openJson() {
+        if (json != null) {
+            return new ByteArrayInputStream(json);
+        }
+        try {
+            return new GZIPInputStream(new ByteArrayInputStream(gzip));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+
+    public boolean hasJson() {
+        return json != null;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(json.length / 4, 64));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,108 @@
+package com.spring4all.swagger.web;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 按分组缓存序列化后的文档，每个分组按host/basePath组合缓存多份
+ * <p>
+ * 缓存与生成文档的数据源（如springfox的Documentation）绑定，数据源发生变化时该分组的缓存自动失效
+ */
+public class SwaggerSpecCache {
+
+    private final int maxVariants;
+
+    private final ConcurrentMap<String, GroupSpecs> groups = new ConcurrentHashMap<>();
+
+    private volatile SwaggerSpecCacheListener listener;
+
+    private volatile SwaggerSpecLimiter limiter;
+
+    public SwaggerSpecCache(int maxVariants) {
+        this.maxVariants = maxVariants;
+    }
+
+    /**
+     * @param listener 缓存访问回调，为null时不回调
+     */
+    public void setListener(SwaggerSpecCacheListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @param limiter 未命中时生成文档的并发限制，为null时不限制
+     */
+    public void setLimiter(SwaggerSpecLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    /**
+     * 获取文档，未命中时通过loader生成并缓存
+     *
+     * @param groupName 分组名称
+     * @param source    生成文档的数据源
+     * @param variant   host/basePath组合
+     * @param loader    文档生成逻辑
+     * @return 文档
+     */
+    public SwaggerSpec get(String groupName, Object source, String variant, Supplier<SwaggerSpec> loader) {
+        GroupSpecs specs = groups.compute(groupName,
+                (name, existing) -> existing == null || existing.source != source ? new GroupSpecs(source, maxVariants) : existing);
+        SwaggerSpec spec = specs.get(variant);
+        boolean hit = spec != null;
+        if (!hit) {
+            SwaggerSpecLimiter current = limiter;
+            spec = current == null ? loader.get() : current.call(groupName + "\n" + variant, loader);
+            specs.put(variant, spec);
+        }
+        SwaggerSpecCacheListener current = listener;
+        if (current != null) {
+            current.onAccess(groupName, hit);
+        }
+        return spec;
+    }
+
+    /**
+     * 使分组的缓存失效
+     *
+     * @param groupName 分组名称
+     */
+    public void invalidate(String groupName) {
+        groups.remove(groupName);
+    }
+
+    public void clear() {
+        groups.clear();
+    }
+
+    /**
+     * 单个分组的缓存，按最近最少使用淘汰多余的host/basePath组合
+     */
+    private static class GroupSpecs {
+
+        private final Object source;
+
+        private final Map<String, SwaggerSpec> variants;
+
+        GroupSpecs(Object source, int maxVariants) {
+            this.source = source;
+            this.variants = new LinkedHashMap<String, SwaggerSpec>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, SwaggerSpec> eldest) {
+                    return size() > maxVariants;
+                }
+            };
+        }
+
+        synchronized SwaggerSpec get(String variant) {
+            return variants.get(variant);
+        }
+
+        synchronized void put(String variant, SwaggerSpec spec) {
+            variants.put(variant, spec);
+        }
+    }
+}
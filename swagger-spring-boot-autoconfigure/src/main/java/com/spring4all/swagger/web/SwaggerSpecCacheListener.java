@@ -0,0 +1,15 @@
+package com.spring4all.swagger.web;
+
+/**
+ * 文档缓存的访问回调，用于统计命中率
+ */
+public interface SwaggerSpecCacheListener {
+
+    /**
+     * 每次从缓存获取文档时回调
+     *
+     * @param groupName 分组名称
+     * @param hit       是否命中
+     */
+    void onAccess(String groupName, boolean hit);
+}
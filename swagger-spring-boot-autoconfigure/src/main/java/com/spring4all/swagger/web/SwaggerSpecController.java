@@ -0,0 +1,246 @@
+package com.spring4all.swagger.web;
+
+import com.google.common.base.Strings;
+import com.spring4all.swagger.remote.SwaggerRemoteSpecs;
+import com.spring4all.swagger.report.SwaggerStartupReport;
+import com.spring4all.swagger.scan.SwaggerDocumentationCache;
+import io.swagger.models.Swagger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.util.UriComponents;
+import springfox.documentation.annotations.ApiIgnore;
+import springfox.documentation.service.Documentation;
+import springfox.documentation.spring.web.PropertySourcedMapping;
+import springfox.documentation.spring.web.json.JsonSerializer;
+import springfox.documentation.spring.web.plugins.Docket;
+import springfox.documentation.swagger2.mappers.ServiceModelToSwagger2Mapper;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+import static springfox.documentation.swagger.common.HostNameProvider.componentsFrom;
+
+/**
+ * 替代springfox的Swagger2Controller，输出与其一致的文档
+ * <p>
+ * 序列化后的json按分组及host/basePath缓存，并预先计算gzip压缩结果与强ETag，
+ * 命中If-None-Match时直接返回304，客户端支持gzip时直接输出压缩后的内容
+ * <p>
+ * 开启流式输出时，文档由SwaggerJsonWriter直接写出：不缓存时写出到响应，缓存时写出为gzip压缩结果，
+ * 不再生成完整的json字符串与字节数组
+ * <p>
+ * 请求参数lite（或swagger.lite.by-default）选择精简版文档，精简版与完整文档在同一分组下分别缓存；
+ * 请求参数tag、path按tag或路径前缀截取部分文档，由SwaggerSpecSlices从分组索引中截取并缓存
+ * <p>
+ * 设置SwaggerSpecLimiter后，延迟分组的扫描以及未缓存的序列化受其并发限制，超出限制时返回503与Retry-After
+ * <p>
+ * 不存在的分组再从SwaggerRemoteSpecs中查找，远程文档原样输出，远程不可用时返回502
+ */
+@Controller
+@ApiIgnore
+public class SwaggerSpecController {
+
+    public static final String DEFAULT_URL = "/v2/api-docs";
+
+    private static final Logger log = LoggerFactory.getLogger(SwaggerSpecController.class);
+
+    private static final String HAL_MEDIA_TYPE = "application/hal+json";
+
+    private static final String LITE_VARIANT_PREFIX = "lite:";
+
+    /**
+     * 扫描延迟分组在限流中的标识，与host/basePath组合不会重复
+     */
+    private static final String SCAN_VARIANT = "scan";
+
+    private final String hostNameOverride;
+    private final SwaggerDocumentationCache documentationCache;
+    private final ServiceModelToSwagger2Mapper mapper;
+    private final JsonSerializer jsonSerializer;
+    private final SwaggerSpecCache specCache;
+    private final SwaggerSpecSlices specSlices;
+    private final SwaggerStartupReport report;
+    private final SwaggerJsonWriter jsonWriter;
+    private final boolean streaming;
+    private final boolean liteByDefault;
+
+    private volatile SwaggerSpecLimiter limiter;
+
+    private volatile SwaggerRemoteSpecs remoteSpecs;
+
+    /**
+     * @param specCache     为null时不缓存，每次请求重新序列化
+     * @param report        为null时不记录序列化耗时
+     * @param streaming     是否开启流式输出
+     * @param liteByDefault 未指定lite参数时是否输出精简版文档
+     */
+    public SwaggerSpecController(Environment environment,
+                                 SwaggerDocumentationCache documentationCache,
+                                 ServiceModelToSwagger2Mapper mapper,
+                                 JsonSerializer jsonSerializer,
+                                 SwaggerSpecCache specCache,
+                                 SwaggerSpecSlices specSlices,
+                                 SwaggerStartupReport report,
+                                 SwaggerJsonWriter jsonWriter,
+                                 boolean streaming,
+                                 boolean liteByDefault) {
+        this.hostNameOverride = environment.getProperty("springfox.documentation.swagger.v2.host", "DEFAULT");
+        this.documentationCache = documentationCache;
+        this.mapper = mapper;
+        this.jsonSerializer = jsonSerializer;
+        this.specCache = specCache;
+        this.specSlices = specSlices;
+        this.report = report;
+        this.jsonWriter = jsonWriter;
+        this.streaming = streaming;
+        this.liteByDefault = liteByDefault;
+    }
+
+    /**
+     * @param limiter 扫描延迟分组以及未缓存时序列化的并发限制，为null时不限制
+     */
+    public void setLimiter(SwaggerSpecLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    /**
+     * @param remoteSpecs 聚合的远程文档，为null时不聚合
+     */
+    public void setRemoteSpecs(SwaggerRemoteSpecs remoteSpecs) {
+        this.remoteSpecs = remoteSpecs;
+    }
+
+    @RequestMapping(value = DEFAULT_URL, method = RequestMethod.GET,
+            produces = {MediaType.APPLICATION_JSON_VALUE, HAL_MEDIA_TYPE})
+    @PropertySourcedMapping(value = "${springfox.documentation.swagger.v2.path}",
+            propertyKey = "springfox.documentation.swagger.v2.path")
+    @ResponseBody
+    public ResponseEntity<?> getDocumentation(
+            @RequestParam(value = "group", required = false) String swaggerGroup,
+            @RequestParam(value = "lite", required = false) Boolean lite,
+            @RequestParam(value = "tag", required = false) String tag,
+            @RequestParam(value = "path", required = false) String path,
+            HttpServletRequest servletRequest,
+            HttpServletResponse servletResponse) throws IOException {
+        String groupName = Strings.isNullOrEmpty(swaggerGroup) ? Docket.DEFAULT_GROUP_NAME : swaggerGroup;
+        Documentation documentation = documentationCache.isPending(groupName)
+                ? limited(groupName + "\n" + SCAN_VARIANT, () -> documentationCache.documentationByGroup(groupName))
+                : documentationCache.documentationByGroup(groupName);
+        if (documentation == null) {
+            SwaggerRemoteSpecs remotes = remoteSpecs;
+            if (remotes != null && remotes.contains(groupName)) {
+                return SwaggerSpecResponses.remote(remotes.get(groupName), servletRequest);
+            }
+            log.warn("Unable to find specification for group {}", groupName);
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        UriComponents uriComponents = componentsFrom(servletRequest, documentation.getBasePath());
+        String basePath = SwaggerSpecResponses.basePath(uriComponents);
+        String host = Strings.isNullOrEmpty(documentation.getHost())
+                ? SwaggerSpecResponses.hostName(uriComponents, hostNameOverride) : documentation.getHost();
+
+        boolean liteVariant = lite == null ? liteByDefault : lite;
+        if (!Strings.isNullOrEmpty(tag) || !Strings.isNullOrEmpty(path)) {
+            SwaggerSpec spec = specSlices.get(groupName, documentation,
+                    () -> jsonWriter.toTree(mapper.mapDocumentation(documentation)),
+                    Strings.emptyToNull(tag), Strings.emptyToNull(path), liteVariant, host, basePath);
+            return SwaggerSpecResponses.of(spec, servletRequest);
+        }
+        if (liteVariant) {
+            SwaggerSpec spec = specCache == null
+                    ? limited(groupName + "\n" + LITE_VARIANT_PREFIX + host + basePath,
+                    () -> SwaggerSpec.uncompressed(serializeLite(documentation, host, basePath)))
+                    : specCache.get(groupName, documentation, LITE_VARIANT_PREFIX + host + basePath,
+                    () -> SwaggerSpec.of(serializeLite(documentation, host, basePath)));
+            return SwaggerSpecResponses.of(spec, servletRequest);
+        }
+        if (streaming && specCache == null) {
+            limited(null, () -> {
+                long start = System.nanoTime();
+                Swagger swagger = toSwagger(documentation, host, basePath);
+                try {
+                    long length = SwaggerSpecResponses.stream(out -> jsonWriter.write(swagger, out),
+                            servletRequest, servletResponse);
+                    record(documentation, start, length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return null;
+            });
+            return null;
+        }
+        SwaggerSpec spec;
+        if (specCache == null) {
+            spec = limited(groupName + "\n" + host + basePath,
+                    () -> SwaggerSpec.uncompressed(serialize(documentation, host, basePath)));
+        } else if (!streaming) {
+            spec = specCache.get(groupName, documentation, host + basePath,
+                    () -> SwaggerSpec.of(serialize(documentation, host, basePath)));
+        } else {
+            spec = specCache.get(groupName, documentation, host + basePath,
+                    () -> serializeCompressed(documentation, host, basePath));
+        }
+        return SwaggerSpecResponses.of(spec, servletRequest);
+    }
+
+    @ExceptionHandler(SwaggerSpecRejectedException.class)
+    public ResponseEntity<Void> rejected(SwaggerSpecRejectedException e) {
+        return SwaggerSpecResponses.rejected(e);
+    }
+
+    private <T> T limited(String key, Supplier<T> builder) {
+        SwaggerSpecLimiter current = limiter;
+        return current == null ? builder.get() : current.call(key, builder);
+    }
+
+    private byte[] serialize(Documentation documentation, String host, String basePath) {
+        long start = System.nanoTime();
+        Swagger swagger = toSwagger(documentation, host, basePath);
+        byte[] json = jsonSerializer.toJson(swagger).value().getBytes(StandardCharsets.UTF_8);
+        record(documentation, start, json.length);
+        return json;
+    }
+
+    private byte[] serializeLite(Documentation documentation, String host, String basePath) {
+        return jsonWriter.toBytes(SwaggerSpecLite.apply(jsonWriter.toTree(toSwagger(documentation, host, basePath))));
+    }
+
+    private SwaggerSpec serializeCompressed(Documentation documentation, String host, String basePath) {
+        long start = System.nanoTime();
+        try {
+            SwaggerSpec spec = jsonWriter.writeCompressed(toSwagger(documentation, host, basePath));
+            record(documentation, start, spec.getLength());
+            return spec;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Swagger toSwagger(Documentation documentation, String host, String basePath) {
+        Swagger swagger = mapper.mapDocumentation(documentation);
+        swagger.basePath(basePath);
+        swagger.host(host);
+        return swagger;
+    }
+
+    private void record(Documentation documentation, long start, long length) {
+        if (report != null) {
+            report.group(documentation.getGroupName()).recordSerialization(System.nanoTime() - start, length);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.spring4all.swagger.web;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.bind.RelaxedPropertyResolver;
+import org.springframework.core.env.Environment;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+
+/**
+ * 跨重启的文档磁盘缓存
+ * <p>
+ * 以classpath中各条目的内容、激活的profile与swagger、springfox相关配置计算指纹，每个指纹对应缓存目录下的一个子目录，
+ * 内容与SwaggerSpecGenerator的输出一致。指纹命中时直接按静态文档模式输出，不再扫描；
+ * 未命中时正常扫描，应用就绪后写出新的缓存：先写入临时目录，完成后原子重命名，其他进程不会读到写了一半的缓存
+ */
+public class SwaggerSpecDiskCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SwaggerSpecDiskCache.class);
+
+    private static final String TEMP_PREFIX = ".tmp-";
+
+    /**
+     * 参与指纹计算的配置前缀
+     */
+    private static final List<String> PROPERTY_PREFIXES = Arrays.asList("swagger.", "springfox.documentation.");
+
+    /**
+     * classpath在JVM内不会变化，只计算一次
+     */
+    private static volatile String classpathFingerprint;
+
+    private final File directory;
+
+    private final int maxEntries;
+
+    public SwaggerSpecDiskCache(File directory, int maxEntries) {
+        this.directory = directory;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * 按swagger.disk-cache配置创建，未开启时返回null
+     *
+     * @param environment 环境
+     * @return 磁盘缓存
+     */
+    public static SwaggerSpecDiskCache of(Environment environment) {
+        RelaxedPropertyResolver resolver = new RelaxedPropertyResolver(environment, "swagger.disk-cache.");
+        if (!resolver.getProperty("enabled", Boolean.class, false)) {
+            return null;
+        }
+        String directory = resolver.getProperty("directory");
+        if (!StringUtils.hasText(directory)) {
+            directory = new File(System.getProperty("java.io.tmpdir"), "swagger-spec-cache/"
+                    + environment.getProperty("spring.application.name", "application")).getPath();
+        }
+        return new SwaggerSpecDiskCache(new File(directory), resolver.getProperty("max-entries", Integer.class, 3));
+    }
+
+    /**
+     * 计算当前应用的指纹
+     *
+     * @param environment 环境
+     * @return 指纹
+     */
+    public String fingerprint(Environment environment) {
+        return fingerprintOf(environment);
+    }
+
+    /**
+     * 以classpath、激活的profile与swagger、springfox相关配置计算指纹，同一个构建以相同配置启动时指纹相同
+     * <p>
+     * 其他配置（如@ConditionalOnProperty控制的controller）同样可能改变接口，但不参与计算，
+     * 需要时可以将其引用到swagger.disk-cache.key中，如swagger.disk-cache.key=${feature.enabled}
+     *
+     * @param environment 环境
+     * @return 指纹
+     */
+    public static String fingerprintOf(Environment environment) {
+        Map<String, Object> properties = new TreeMap<>();
+        for (String prefix : PROPERTY_PREFIXES) {
+            for (Map.Entry<String, Object> entry : new RelaxedPropertyResolver(environment, prefix)
+                    .getSubProperties("").entrySet()) {
+                properties.put(prefix + entry.getKey(), entry.getValue());
+            }
+        }
+        // swagger.disk-cache.key通常引用其他配置，按解析后的值计算
+        properties.put("swagger.disk-cache.key", environment.getProperty("swagger.disk-cache.key"));
+        String profiles = Arrays.toString(environment.getActiveProfiles());
+        return DigestUtils.md5DigestAsHex((classpathFingerprint() + profiles + properties).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param fingerprint 指纹
+     * @return 指纹对应的缓存是否完整存在
+     */
+    public boolean contains(String fingerprint) {
+        return new File(entry(fingerprint), SwaggerSpecGenerator.INDEX_FILE).isFile();
+    }
+
+    /**
+     * @param fingerprint 指纹
+     * @return 指纹对应的缓存目录
+     */
+    public File entry(String fingerprint) {
+        return new File(directory, fingerprint);
+    }
+
+    /**
+     * 写出缓存，已存在时不覆盖；写出后只保留最近的max-entries份
+     *
+     * @param fingerprint 指纹
+     * @param generator   文档生成器
+     * @throws IOException 写文件失败
+     */
+    public void store(String fingerprint, SwaggerSpecGenerator generator) throws IOException {
+        if (contains(fingerprint)) {
+            return;
+        }
+        Files.createDirectories(directory.toPath());
+        File temp = new File(directory, TEMP_PREFIX + fingerprint + "-" + UUID.randomUUID());
+        try {
+            generator.generate(temp);
+            move(temp.toPath(), entry(fingerprint).toPath());
+        } finally {
+            FileSystemUtils.deleteRecursively(temp);
+        }
+        log.info("Stored swagger specification cache {}", entry(fingerprint));
+        evict(fingerprint);
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target);
+        } catch (FileAlreadyExistsException e) {
+            // 其他进程已经写出同一指纹的缓存
+            log.debug("Swagger specification cache {} already exists", target);
+        } catch (IOException e) {
+            if (!Files.isDirectory(target)) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 按修改时间淘汰多余的缓存
+     */
+    private void evict(String current) {
+        File[] entries = directory.listFiles(file -> file.isDirectory() && !file.getName().startsWith(TEMP_PREFIX)
+                && !file.getName().equals(current));
+        if (entries == null || entries.length < maxEntries) {
+            return;
+        }
+        Arrays.sort(entries, Comparator.comparingLong(File::lastModified).reversed());
+        for (int i = Math.max(maxEntries - 1, 0); i < entries.length; i++) {
+            FileSystemUtils.deleteRecursively(entries[i]);
+        }
+    }
+
+    static String classpathFingerprint() {
+        String fingerprint = classpathFingerprint;
+        if (fingerprint == null) {
+            fingerprint = computeClasspathFingerprint(System.getProperty("java.class.path", ""));
+            classpathFingerprint = fingerprint;
+        }
+        return fingerprint;
+    }
+
+    /**
+     * 按内容计算，与文件的修改时间、所在位置无关，重新构建出相同内容时指纹不变：
+     * 目录按其中每个文件的相对路径与内容计算；jar按其中每个条目的名称、CRC与大小计算（包括清单），
+     * 不需要解压，清单中Class-Path引用的jar同样参与计算；其他文件按内容计算
+     */
+    static String computeClasspathFingerprint(String classpath) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        Set<Path> visited = new HashSet<>();
+        try {
+            for (String element : classpath.split(File.pathSeparator)) {
+                if (!element.isEmpty()) {
+                    update(digest, new File(element).toPath(), visited);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static void update(MessageDigest digest, Path path, Set<Path> visited) throws IOException {
+        if (!visited.add(path.toAbsolutePath().normalize())) {
+            return;
+        }
+        if (Files.isDirectory(path)) {
+            digest.update((byte) 'D');
+            List<Path> files = new ArrayList<>();
+            try (Stream<Path> walk = Files.walk(path)) {
+                walk.filter(Files::isRegularFile).forEach(files::add);
+            }
+            files.sort(Comparator.comparing(file -> path.relativize(file).toString()));
+            for (Path file : files) {
+                digest.update((path.relativize(file) + "\n").getBytes(StandardCharsets.UTF_8));
+                updateContent(digest, file);
+            }
+        } else if (Files.isRegularFile(path) && isArchive(path)) {
+            digest.update((byte) 'J');
+            List<Path> referenced = new ArrayList<>();
+            try (JarFile jar = new JarFile(path.toFile())) {
+                List<JarEntry> entries = Collections.list(jar.entries());
+                entries.sort(Comparator.comparing(JarEntry::getName));
+                for (JarEntry entry : entries) {
+                    digest.update((entry.getName() + ":" + entry.getCrc() + ":" + entry.getSize() + "\n")
+                            .getBytes(StandardCharsets.UTF_8));
+                }
+                Manifest manifest = jar.getManifest();
+                String classPath = manifest == null ? null
+                        : manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH);
+                if (classPath != null) {
+                    for (String each : classPath.trim().split("\\s+")) {
+                        referenced.add(manifestEntry(path, each));
+                    }
+                }
+            }
+            for (Path each : referenced) {
+                if (each != null) {
+                    update(digest, each, visited);
+                }
+            }
+        } else if (Files.isRegularFile(path)) {
+            digest.update((byte) 'F');
+            updateContent(digest, path);
+        }
+    }
+
+    private static boolean isArchive(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".jar") || name.endsWith(".zip") || name.endsWith(".war");
+    }
+
+    /**
+     * 清单中的Class-Path是相对于jar所在目录的URL
+     */
+    private static Path manifestEntry(Path jar, String entry) {
+        if (entry.isEmpty()) {
+            return null;
+        }
+        try {
+            URI uri = jar.toAbsolutePath().getParent().toUri().resolve(entry);
+            return "file".equals(uri.getScheme()) ? Paths.get(uri) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void updateContent(MessageDigest digest, Path file) throws IOException {
+        byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.spring4all.swagger.web;
+
+import com.spring4all.swagger.scan.SwaggerDocumentationCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * 扫描模式下，应用就绪后在后台线程中将各分组文档写入磁盘缓存，供下次以相同指纹启动时直接使用
+ * <p>
+ * 缓存命中时以静态文档模式输出，因此只写出完整的缓存：存在延迟扫描的分组时，不为写缓存而触发扫描，
+ * 等所有延迟分组都被访问并扫描完成后再写出；始终有分组未被访问时，本次启动不写出缓存
+ */
+public class SwaggerSpecDiskCacheWriter implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(SwaggerSpecDiskCacheWriter.class);
+
+    private final SwaggerSpecDiskCache diskCache;
+    private final SwaggerDocumentationCache documentationCache;
+    private final SwaggerSpecGenerator generator;
+    private final Environment environment;
+
+    public SwaggerSpecDiskCacheWriter(SwaggerSpecDiskCache diskCache,
+                                      SwaggerDocumentationCache documentationCache,
+                                      SwaggerSpecGenerator generator,
+                                      Environment environment) {
+        this.diskCache = diskCache;
+        this.documentationCache = documentationCache;
+        this.generator = generator;
+        this.environment = environment;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        String fingerprint = diskCache.fingerprint(environment);
+        if (diskCache.contains(fingerprint)) {
+            return;
+        }
+        Set<String> pending = documentationCache.pendingGroupNames();
+        if (!pending.isEmpty()) {
+            log.info("Swagger specification cache {} will be stored once lazy groups {} are scanned",
+                    diskCache.entry(fingerprint), pending);
+        }
+        documentationCache.whenScanned(() -> store(fingerprint));
+    }
+
+    private void store(String fingerprint) {
+        Thread writer = new Thread(() -> {
+            try {
+                diskCache.store(fingerprint, generator);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Unable to store swagger specification cache " + diskCache.entry(fingerprint), e);
+            }
+        }, "swagger-disk-cache");
+        writer.setDaemon(true);
+        writer.start();
+    }
+}
@@ -0,0 +1,104 @@
+package com.spring4all.swagger.web;
+
+import com.spring4all.swagger.scan.SwaggerDocumentationCache;
+import io.swagger.models.Swagger;
+import org.springframework.context.ApplicationContext;
+import springfox.documentation.service.Documentation;
+import springfox.documentation.spring.web.DocumentationCache;
+import springfox.documentation.spring.web.json.JsonSerializer;
+import springfox.documentation.swagger2.mappers.ServiceModelToSwagger2Mapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 将各分组文档写入目录，配合swagger.static-spec.enabled在运行时直接输出，无需扫描
+ * <p>
+ * 一般在构建阶段通过测试用例调用，例如：
+ * <pre>
+ * &#64;RunWith(SpringRunner.class)
+ * &#64;SpringBootTest
+ * public class SwaggerSpecGeneration {
+ *
+ *     &#64;Autowired
+ *     private ApplicationContext context;
+ *
+ *     &#64;Test
+ *     public void generate() throws IOException {
+ *         SwaggerSpecGenerator.of(context).generate(new File("target/classes/META-INF/swagger"));
+ *     }
+ * }
+ * </pre>
+ * 写出的文件为&lt;分组名&gt;.json，以及记录所有分组名称的index文件
+ */
+public class SwaggerSpecGenerator {
+
+    /**
+     * 分组索引文件，每行一个分组名称
+     */
+    public static final String INDEX_FILE = "index";
+
+    public static final String SPEC_FILE_SUFFIX = ".json";
+
+    private final DocumentationCache documentationCache;
+    private final ServiceModelToSwagger2Mapper mapper;
+    private final JsonSerializer jsonSerializer;
+
+    public SwaggerSpecGenerator(DocumentationCache documentationCache,
+                                ServiceModelToSwagger2Mapper mapper,
+                                JsonSerializer jsonSerializer) {
+        this.documentationCache = documentationCache;
+        this.mapper = mapper;
+        this.jsonSerializer = jsonSerializer;
+    }
+
+    public static SwaggerSpecGenerator of(ApplicationContext context) {
+        return new SwaggerSpecGenerator(context.getBean(DocumentationCache.class),
+                context.getBean(ServiceModelToSwagger2Mapper.class),
+                context.getBean(JsonSerializer.class));
+    }
+
+    /**
+     * 写出所有分组的文档
+     *
+     * @param outputDirectory 输出目录
+     * @return 写出的分组名称
+     * @throws IOException 写文件失败
+     */
+    public List<String> generate(File outputDirectory) throws IOException {
+        Files.createDirectories(outputDirectory.toPath());
+        List<String> groupNames = new ArrayList<>();
+        for (String groupName : groupNames()) {
+            Documentation documentation = documentationCache.documentationByGroup(groupName);
+            if (documentation == null) {
+                continue;
+            }
+            Files.write(new File(outputDirectory, groupName + SPEC_FILE_SUFFIX).toPath(), render(documentation));
+            groupNames.add(groupName);
+        }
+        Files.write(new File(outputDirectory, INDEX_FILE).toPath(), groupNames, StandardCharsets.UTF_8);
+        return groupNames;
+    }
+
+    /**
+     * 序列化文档，host与basePath保持Docket中的配置，由运行时按请求补全
+     *
+     * @param documentation 分组文档
+     * @return json
+     */
+    public byte[] render(Documentation documentation) {
+        Swagger swagger = mapper.mapDocumentation(documentation);
+        return jsonSerializer.toJson(swagger).value().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Iterable<String> groupNames() {
+        if (documentationCache instanceof SwaggerDocumentationCache) {
+            return ((SwaggerDocumentationCache) documentationCache).groupNames();
+        }
+        return documentationCache.all().keySet();
+    }
+}
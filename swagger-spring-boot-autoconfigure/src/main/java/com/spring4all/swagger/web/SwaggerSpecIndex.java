@@ -0,0 +1,308 @@
+package com.spring4all.swagger.web;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 分组文档的索引，记录每个接口的tag以及引用的模型、每个模型引用的其他模型，用于按tag或路径前缀截取部分文档
+ * <p>
+ * 索引不持有完整文档，只保留序列化后的片段：每个接口、每个模型、每个tag以及其余顶层字段各自一段json，
+ * 截取时按原文档中的顺序拼接命中的接口、这些接口直接或间接引用的模型以及用到的tag
+ */
+public final class SwaggerSpecIndex {
+
+    private static final String DEFINITION_REF_PREFIX = "#/definitions/";
+
+    private static final List<String> OPERATIONS = Arrays.asList("get", "put", "post", "delete", "options", "head", "patch");
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final JsonFactory JSON_FACTORY = OBJECT_MAPPER.getFactory();
+
+    /**
+     * 顶层字段，paths、definitions、tags只记录位置，内容见下面的片段
+     */
+    private final Map<String, String> fields = new LinkedHashMap<>();
+
+    private final Map<String, List<PathItemField>> paths = new LinkedHashMap<>();
+
+    private final Map<String, Definition> definitions = new LinkedHashMap<>();
+
+    private final Map<String, String> tags = new LinkedHashMap<>();
+
+    private SwaggerSpecIndex() {
+    }
+
+    /**
+     * 为文档建立索引，索引只保留序列化后的片段，不引用传入的文档
+     *
+     * @param spec 完整文档
+     * @return 索引
+     */
+    public static SwaggerSpecIndex of(ObjectNode spec) {
+        SwaggerSpecIndex index = new SwaggerSpecIndex();
+        for (Iterator<Map.Entry<String, JsonNode>> fields = spec.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            switch (field.getKey()) {
+                case "paths":
+                    index.fields.put(field.getKey(), null);
+                    field.getValue().fields().forEachRemaining(path -> index.paths.put(path.getKey(), pathItem(path.getValue())));
+                    break;
+                case "definitions":
+                    index.fields.put(field.getKey(), null);
+                    field.getValue().fields().forEachRemaining(definition -> {
+                        Set<String> refs = new HashSet<>();
+                        collectRefs(definition.getValue(), refs);
+                        index.definitions.put(definition.getKey(), new Definition(toJson(definition.getValue()), refs));
+                    });
+                    break;
+                case "tags":
+                    index.fields.put(field.getKey(), null);
+                    for (JsonNode tag : field.getValue()) {
+                        index.tags.put(tag.path("name").asText(), toJson(tag));
+                    }
+                    break;
+                default:
+                    index.fields.put(field.getKey(), toJson(field.getValue()));
+            }
+        }
+        return index;
+    }
+
+    private static List<PathItemField> pathItem(JsonNode pathItem) {
+        Set<String> shared = new HashSet<>();
+        collectRefs(pathItem.path("parameters"), shared);
+        List<PathItemField> result = new ArrayList<>();
+        for (Iterator<Map.Entry<String, JsonNode>> items = pathItem.fields(); items.hasNext(); ) {
+            Map.Entry<String, JsonNode> item = items.next();
+            if (!OPERATIONS.contains(item.getKey())) {
+                result.add(new PathItemField(item.getKey(), toJson(item.getValue()), null, null));
+                continue;
+            }
+            Set<String> tags = new HashSet<>();
+            for (JsonNode tag : item.getValue().path("tags")) {
+                tags.add(tag.asText());
+            }
+            Set<String> refs = new HashSet<>(shared);
+            collectRefs(item.getValue(), refs);
+            result.add(new PathItemField(item.getKey(), toJson(item.getValue()), tags, refs));
+        }
+        return result;
+    }
+
+    /**
+     * 截取部分文档，tag与路径前缀同时指定时取交集
+     *
+     * @param tag        tag名称，为null时不按tag过滤
+     * @param pathPrefix 路径前缀，按路径段匹配，为null时不按路径过滤
+     * @param host       host
+     * @param basePath   basePath
+     * @return 部分文档的json
+     */
+    public byte[] slice(String tag, String pathPrefix, String host, String basePath) {
+        Map<String, List<PathItemField>> selected = new LinkedHashMap<>();
+        Set<String> usedTags = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        for (Map.Entry<String, List<PathItemField>> path : paths.entrySet()) {
+            if (pathPrefix != null && !matches(path.getKey(), pathPrefix)) {
+                continue;
+            }
+            List<PathItemField> items = new ArrayList<>();
+            boolean hit = false;
+            for (PathItemField item : path.getValue()) {
+                if (!item.isOperation()) {
+                    items.add(item);
+                } else if (tag == null || item.tags.contains(tag)) {
+                    items.add(item);
+                    usedTags.addAll(item.tags);
+                    pending.addAll(item.refs);
+                    hit = true;
+                }
+            }
+            if (hit) {
+                selected.put(path.getKey(), items);
+            }
+        }
+        Set<String> models = new HashSet<>();
+        while (!pending.isEmpty()) {
+            String name = pending.pop();
+            if (models.add(name)) {
+                Definition definition = definitions.get(name);
+                pending.addAll(definition == null ? Collections.emptySet() : definition.refs);
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.writeStartObject();
+            boolean hostWritten = false;
+            for (Map.Entry<String, String> field : fields.entrySet()) {
+                String name = field.getKey();
+                if ("host".equals(name) || "basePath".equals(name)) {
+                    continue;
+                }
+                // 与SwaggerSpecResponses.withHostAndBasePath相同，host与basePath紧跟在swagger、info之后
+                if (!hostWritten && !"swagger".equals(name) && !"info".equals(name)) {
+                    writeHostAndBasePath(generator, host, basePath);
+                    hostWritten = true;
+                }
+                switch (name) {
+                    case "paths":
+                        writePaths(generator, selected);
+                        break;
+                    case "definitions":
+                        writeDefinitions(generator, models);
+                        break;
+                    case "tags":
+                        writeTags(generator, usedTags);
+                        break;
+                    default:
+                        generator.writeFieldName(name);
+                        generator.writeRawValue(field.getValue());
+                }
+            }
+            if (!hostWritten) {
+                writeHostAndBasePath(generator, host, basePath);
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 按路径段匹配，/user匹配/user与/user/{id}，不匹配/users
+     */
+    private static boolean matches(String path, String pathPrefix) {
+        String prefix = pathPrefix.endsWith("/") ? pathPrefix.substring(0, pathPrefix.length() - 1) : pathPrefix;
+        return path.equals(prefix) || path.startsWith(prefix + "/");
+    }
+
+    private static void writeHostAndBasePath(JsonGenerator generator, String host, String basePath) throws IOException {
+        generator.writeStringField("host", host);
+        generator.writeStringField("basePath", basePath);
+    }
+
+    private static void writePaths(JsonGenerator generator, Map<String, List<PathItemField>> selected) throws IOException {
+        generator.writeObjectFieldStart("paths");
+        for (Map.Entry<String, List<PathItemField>> path : selected.entrySet()) {
+            generator.writeObjectFieldStart(path.getKey());
+            for (PathItemField item : path.getValue()) {
+                generator.writeFieldName(item.name);
+                generator.writeRawValue(item.json);
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeDefinitions(JsonGenerator generator, Set<String> models) throws IOException {
+        if (models.isEmpty()) {
+            return;
+        }
+        boolean started = false;
+        for (Map.Entry<String, Definition> definition : definitions.entrySet()) {
+            if (models.contains(definition.getKey())) {
+                if (!started) {
+                    generator.writeObjectFieldStart("definitions");
+                    started = true;
+                }
+                generator.writeFieldName(definition.getKey());
+                generator.writeRawValue(definition.getValue().json);
+            }
+        }
+        if (started) {
+            generator.writeEndObject();
+        }
+    }
+
+    private void writeTags(JsonGenerator generator, Set<String> usedTags) throws IOException {
+        if (usedTags.isEmpty()) {
+            return;
+        }
+        generator.writeArrayFieldStart("tags");
+        for (Map.Entry<String, String> tag : tags.entrySet()) {
+            if (usedTags.contains(tag.getKey())) {
+                generator.writeRawValue(tag.getValue());
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    private static String toJson(JsonNode node) {
+        try {
+            return new String(OBJECT_MAPPER.writeValueAsBytes(node), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void collectRefs(JsonNode node, Set<String> refs) {
+        if (node.isObject()) {
+            JsonNode ref = node.get("$ref");
+            if (ref != null && ref.isTextual() && ref.asText().startsWith(DEFINITION_REF_PREFIX)) {
+                refs.add(ref.asText().substring(DEFINITION_REF_PREFIX.length()).replace("~1", "/").replace("~0", "~"));
+            }
+        }
+        for (JsonNode child : node) {
+            collectRefs(child, refs);
+        }
+    }
+
+    /**
+     * 路径下的一个字段：接口，或者parameters等各接口共用的字段（tags与refs为null）
+     */
+    private static class PathItemField {
+
+        private final String name;
+
+        private final String json;
+
+        private final Set<String> tags;
+
+        private final Set<String> refs;
+
+        PathItemField(String name, String json, Set<String> tags, Set<String> refs) {
+            this.name = name;
+            this.json = json;
+            this.tags = tags;
+            this.refs = refs;
+        }
+
+        boolean isOperation() {
+            return tags != null;
+        }
+    }
+
+    private static class Definition {
+
+        private final String json;
+
+        private final Set<String> refs;
+
+        Definition(String json, Set<String> refs) {
+            this.json = json;
+            this.refs = refs;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.spring4all.swagger.web;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 限制文档生成（扫描延迟分组、序列化、截取等缓存未命中的场景）的并发数
+ * <p>
+ * 同一分组同一形式的文档同时只生成一次，后到的请求等待并共享同一次的结果；
+ * 生成数达到上限时请求进入等待队列，队列已满或等待超时则抛出{@link SwaggerSpecRejectedException}。
+ * 等待共享结果的请求同样计入等待队列
+ */
+public class SwaggerSpecLimiter {
+
+    private final Semaphore permits;
+    private final int maxQueue;
+    private final long queueTimeoutMillis;
+    private final int retryAfterSeconds;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxConcurrent      最大并发生成数
+     * @param maxQueue           最多等待的请求数
+     * @param queueTimeoutMillis 最长等待时间，单位毫秒
+     * @param retryAfterSeconds  拒绝时建议的重试间隔，单位秒
+     */
+    public SwaggerSpecLimiter(int maxConcurrent, int maxQueue, long queueTimeoutMillis, int retryAfterSeconds) {
+        this.permits = new Semaphore(Math.max(maxConcurrent, 1));
+        this.maxQueue = maxQueue;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * 在并发限制内生成文档
+     *
+     * @param key     文档的标识，以分组名称开头；相同标识的并发请求共享同一次生成的结果，为null时不合并
+     * @param builder 生成逻辑
+     * @param <T>     生成结果的类型
+     * @return 生成结果
+     * @throws SwaggerSpecRejectedException 等待队列已满或等待超时
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T call(String key, Supplier<T> builder) {
+        if (key == null) {
+            return limited(builder);
+        }
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return (T) join(existing);
+        }
+        try {
+            T result = limited(builder);
+            created.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    private <T> T limited(Supplier<T> builder) {
+        if (!permits.tryAcquire()) {
+            if (waiting.incrementAndGet() > maxQueue) {
+                waiting.decrementAndGet();
+                throw new SwaggerSpecRejectedException(retryAfterSeconds);
+            }
+            try {
+                if (!permits.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new SwaggerSpecRejectedException(retryAfterSeconds);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SwaggerSpecRejectedException(retryAfterSeconds);
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+        try {
+            return builder.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * 等待同一标识正在进行的生成，与等待许可的请求一样计入等待队列并受等待时间限制
+     */
+    private Object join(CompletableFuture<Object> future) {
+        try {
+            if (future.isDone()) {
+                return future.get();
+            }
+            if (waiting.incrementAndGet() > maxQueue) {
+                waiting.decrementAndGet();
+                throw new SwaggerSpecRejectedException(retryAfterSeconds);
+            }
+            try {
+                return future.get(queueTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                throw new SwaggerSpecRejectedException(retryAfterSeconds);
+            } finally {
+                waiting.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SwaggerSpecRejectedException(retryAfterSeconds);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
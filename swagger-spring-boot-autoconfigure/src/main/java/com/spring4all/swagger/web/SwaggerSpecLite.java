@@ -0,0 +1,247 @@
+package com.spring4all.swagger.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 精简版文档：去掉描述、示例、扩展字段以及外部文档，只保留接口路径、参数与模型结构
+ * <p>
+ * 重复出现的内联对象模型提取到definitions中，以$ref引用。响应的description为必填字段，保留为空字符串
+ */
+public final class SwaggerSpecLite {
+
+    private static final String INLINE_MODEL_PREFIX = "InlineModel";
+
+    private static final List<String> OPERATIONS = Arrays.asList("get", "put", "post", "delete", "options", "head", "patch");
+
+    private SwaggerSpecLite() {
+    }
+
+    /**
+     * 将文档转换为精简版，直接修改传入的文档
+     *
+     * @param spec 完整文档
+     * @return 精简版文档
+     */
+    public static ObjectNode apply(ObjectNode spec) {
+        removeCommon(spec);
+        JsonNode info = spec.get("info");
+        if (info instanceof ObjectNode) {
+            removeCommon((ObjectNode) info);
+        }
+        for (JsonNode tag : spec.path("tags")) {
+            removeCommon((ObjectNode) tag);
+        }
+        for (JsonNode securityDefinition : spec.path("securityDefinitions")) {
+            removeCommon((ObjectNode) securityDefinition);
+        }
+        for (JsonNode pathItem : spec.path("paths")) {
+            stripPathItem((ObjectNode) pathItem);
+        }
+        for (JsonNode parameter : spec.path("parameters")) {
+            stripParameter((ObjectNode) parameter);
+        }
+        for (JsonNode response : spec.path("responses")) {
+            stripResponse((ObjectNode) response);
+        }
+        for (JsonNode definition : spec.path("definitions")) {
+            stripSchema(definition);
+        }
+        extractInlineModels(spec);
+        return spec;
+    }
+
+    private static void stripPathItem(ObjectNode pathItem) {
+        removeExtensions(pathItem);
+        for (JsonNode parameter : pathItem.path("parameters")) {
+            stripParameter((ObjectNode) parameter);
+        }
+        for (String method : OPERATIONS) {
+            JsonNode operation = pathItem.get(method);
+            if (operation instanceof ObjectNode) {
+                removeCommon((ObjectNode) operation);
+                for (JsonNode parameter : operation.path("parameters")) {
+                    stripParameter((ObjectNode) parameter);
+                }
+                for (JsonNode response : operation.path("responses")) {
+                    stripResponse((ObjectNode) response);
+                }
+            }
+        }
+    }
+
+    private static void stripParameter(ObjectNode parameter) {
+        removeCommon(parameter);
+        parameter.remove("example");
+        stripSchema(parameter.get("schema"));
+        stripSchema(parameter.get("items"));
+    }
+
+    private static void stripResponse(ObjectNode response) {
+        removeExtensions(response);
+        response.remove("examples");
+        if (response.has("description")) {
+            response.put("description", "");
+        }
+        for (JsonNode header : response.path("headers")) {
+            removeCommon((ObjectNode) header);
+            ((ObjectNode) header).remove("example");
+        }
+        stripSchema(response.get("schema"));
+    }
+
+    private static void stripSchema(JsonNode schema) {
+        if (!(schema instanceof ObjectNode)) {
+            return;
+        }
+        ObjectNode node = (ObjectNode) schema;
+        removeCommon(node);
+        node.remove("example");
+        for (JsonNode property : node.path("properties")) {
+            stripSchema(property);
+        }
+        JsonNode items = node.get("items");
+        if (items instanceof ArrayNode) {
+            for (JsonNode item : items) {
+                stripSchema(item);
+            }
+        } else {
+            stripSchema(items);
+        }
+        stripSchema(node.get("additionalProperties"));
+        for (JsonNode part : node.path("allOf")) {
+            stripSchema(part);
+        }
+    }
+
+    private static void removeCommon(ObjectNode node) {
+        node.remove("description");
+        node.remove("externalDocs");
+        removeExtensions(node);
+    }
+
+    private static void removeExtensions(ObjectNode node) {
+        for (Iterator<String> names = node.fieldNames(); names.hasNext(); ) {
+            if (names.next().startsWith("x-")) {
+                names.remove();
+            }
+        }
+    }
+
+    /**
+     * 反复提取重复出现的内联对象模型，直到不再有重复。每一轮先替换最外层的模型，新加入的定义在下一轮继续参与去重
+     */
+    private static void extractInlineModels(ObjectNode spec) {
+        ObjectNode definitions = spec.has("definitions") ? (ObjectNode) spec.get("definitions") : null;
+        int sequence = 0;
+        while (true) {
+            Map<String, Integer> counts = new HashMap<>();
+            visitInlineSchemas(spec, (owner, field, schema) -> counts.merge(schema.toString(), 1, Integer::sum));
+            Set<String> repeated = new HashSet<>();
+            counts.forEach((key, count) -> {
+                if (count > 1) {
+                    repeated.add(key);
+                }
+            });
+            if (repeated.isEmpty()) {
+                return;
+            }
+            if (definitions == null) {
+                definitions = spec.putObject("definitions");
+            }
+            Map<String, String> names = new LinkedHashMap<>();
+            Map<String, JsonNode> extracted = new LinkedHashMap<>();
+            ObjectNode target = definitions;
+            int[] next = {sequence};
+            visitInlineSchemas(spec, (owner, field, schema) -> {
+                String key = schema.toString();
+                if (!repeated.contains(key)) {
+                    return;
+                }
+                String name = names.computeIfAbsent(key, k -> {
+                    String candidate;
+                    do {
+                        candidate = INLINE_MODEL_PREFIX + (++next[0]);
+                    } while (target.has(candidate));
+                    extracted.put(candidate, schema);
+                    return candidate;
+                });
+                ObjectNode ref = owner.objectNode();
+                ref.put("$ref", "#/definitions/" + name);
+                owner.set(field, ref);
+            });
+            sequence = next[0];
+            extracted.forEach(target::set);
+        }
+    }
+
+    /**
+     * 按先序遍历所有位于接口参数、响应以及模型属性中的内联对象模型，命中的模型不再向下遍历
+     */
+    private static void visitInlineSchemas(ObjectNode spec, InlineSchemaVisitor visitor) {
+        for (JsonNode pathItem : spec.path("paths")) {
+            visitParameters(pathItem.path("parameters"), visitor);
+            for (String method : OPERATIONS) {
+                JsonNode operation = pathItem.path(method);
+                visitParameters(operation.path("parameters"), visitor);
+                for (JsonNode response : operation.path("responses")) {
+                    visitSchema((ObjectNode) response, "schema", visitor);
+                }
+            }
+        }
+        visitParameters(spec.path("parameters"), visitor);
+        for (JsonNode response : spec.path("responses")) {
+            visitSchema((ObjectNode) response, "schema", visitor);
+        }
+        for (JsonNode definition : spec.path("definitions")) {
+            visitChildren(definition, visitor);
+        }
+    }
+
+    private static void visitParameters(JsonNode parameters, InlineSchemaVisitor visitor) {
+        for (JsonNode parameter : parameters) {
+            visitSchema((ObjectNode) parameter, "schema", visitor);
+            visitSchema((ObjectNode) parameter, "items", visitor);
+        }
+    }
+
+    private static void visitSchema(ObjectNode owner, String field, InlineSchemaVisitor visitor) {
+        JsonNode schema = owner.get(field);
+        if (!(schema instanceof ObjectNode)) {
+            return;
+        }
+        if (schema.has("properties") && !schema.has("$ref")) {
+            visitor.visit(owner, field, (ObjectNode) schema);
+            return;
+        }
+        visitChildren(schema, visitor);
+    }
+
+    private static void visitChildren(JsonNode schema, InlineSchemaVisitor visitor) {
+        JsonNode properties = schema.get("properties");
+        if (properties instanceof ObjectNode) {
+            for (Iterator<String> names = properties.fieldNames(); names.hasNext(); ) {
+                visitSchema((ObjectNode) properties, names.next(), visitor);
+            }
+        }
+        if (schema.get("items") instanceof ObjectNode) {
+            visitSchema((ObjectNode) schema, "items", visitor);
+        }
+        visitSchema((ObjectNode) schema, "additionalProperties", visitor);
+    }
+
+    private interface InlineSchemaVisitor {
+
+        void visit(ObjectNode owner, String field, ObjectNode schema);
+    }
+}
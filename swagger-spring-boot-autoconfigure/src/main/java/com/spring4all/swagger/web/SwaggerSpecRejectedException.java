@@ -0,0 +1,18 @@
+package com.spring4all.swagger.web;
+
+/**
+ * 文档生成请求超出并发限制与等待队列，应返回503并在Retry-After后重试
+ */
+public class SwaggerSpecRejectedException extends IllegalStateException {
+
+    private final int retryAfterSeconds;
+
+    public SwaggerSpecRejectedException(int retryAfterSeconds) {
+        super("Too many concurrent swagger specification builds, retry after " + retryAfterSeconds + " second(s)");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
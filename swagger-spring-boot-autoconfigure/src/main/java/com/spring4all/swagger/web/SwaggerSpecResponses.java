@@ -0,0 +1,216 @@
+package com.spring4all.swagger.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Strings;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriComponents;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 文档响应的协商处理，包括ETag与gzip
+ */
+final class SwaggerSpecResponses {
+
+    private static final MediaType JSON_UTF8 = new MediaType("application", "json", StandardCharsets.UTF_8);
+
+    private static final String GZIP_ETAG_SUFFIX = "-gz";
+
+    private SwaggerSpecResponses() {
+    }
+
+    /**
+     * 与springfox的Swagger2Controller一致，根据请求计算文档的basePath
+     */
+    static String basePath(UriComponents uriComponents) {
+        return Strings.isNullOrEmpty(uriComponents.getPath()) ? "/" : uriComponents.getPath();
+    }
+
+    /**
+     * 与springfox的Swagger2Controller一致，根据请求或springfox.documentation.swagger.v2.host计算文档的host
+     */
+    static String hostName(UriComponents uriComponents, String hostNameOverride) {
+        if ("DEFAULT".equals(hostNameOverride)) {
+            String host = uriComponents.getHost();
+            int port = uriComponents.getPort();
+            if (port > -1) {
+                return String.format("%s:%d", host, port);
+            }
+            return host;
+        }
+        return hostNameOverride;
+    }
+
+    /**
+     * 在保持字段顺序的前提下设置host与basePath，返回新的文档，不修改传入的文档
+     */
+    static ObjectNode withHostAndBasePath(ObjectNode canonical, String host, String basePath) {
+        ObjectNode spec = canonical.objectNode();
+        boolean written = false;
+        for (Iterator<Map.Entry<String, JsonNode>> fields = canonical.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = field.getKey();
+            if ("host".equals(name) || "basePath".equals(name)) {
+                continue;
+            }
+            if (!written && !"swagger".equals(name) && !"info".equals(name)) {
+                spec.put("host", host);
+                spec.put("basePath", basePath);
+                written = true;
+            }
+            spec.set(name, field.getValue());
+        }
+        if (!written) {
+            spec.put("host", host);
+            spec.put("basePath", basePath);
+        }
+        return spec;
+    }
+
+    /**
+     * 根据请求头输出文档：ETag命中时返回304，客户端支持gzip时输出压缩后的内容；
+     * 压缩与未压缩的内容字节不同，分别使用不同的强ETag
+     *
+     * @param spec    文档
+     * @param request 请求
+     * @return 响应
+     */
+    static ResponseEntity<?> of(SwaggerSpec spec, HttpServletRequest request) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(JSON_UTF8);
+        boolean gzip = spec.hasGzip() && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (spec.hasGzip()) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (spec.getEtag() != null) {
+            headers.setETag(gzip ? gzipEtag(spec.getEtag()) : spec.getEtag());
+            if (etagMatches(spec.getEtag(), request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+                return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+            }
+        }
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            headers.setContentLength(spec.getGzip().length);
+            return new ResponseEntity<>(spec.getGzip(), headers, HttpStatus.OK);
+        }
+        headers.setContentLength(spec.getLength());
+        if (!spec.hasJson()) {
+            return new ResponseEntity<>(new InputStreamResource(spec.openJson()), headers, HttpStatus.OK);
+        }
+        return new ResponseEntity<>(spec.getJson(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * 输出远程文档，远程不可用时返回502
+     *
+     * @param spec    远程文档，为null表示远程不可用
+     * @param request 请求
+     * @return 响应
+     */
+    static ResponseEntity<?> remote(SwaggerSpec spec, HttpServletRequest request) {
+        return spec == null ? new ResponseEntity<>(HttpStatus.BAD_GATEWAY) : of(spec, request);
+    }
+
+    /**
+     * 文档生成超出并发限制时返回503，并通过Retry-After告知客户端重试间隔
+     *
+     * @param e 拒绝原因
+     * @return 响应
+     */
+    static ResponseEntity<Void> rejected(SwaggerSpecRejectedException e) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        return new ResponseEntity<>(headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * 不缓存时直接将文档写出到响应，客户端支持gzip时边写边压缩
+     *
+     * @param writer   文档的写出逻辑，返回json原文的字节数
+     * @param request  请求
+     * @param response 响应
+     * @return json原文的字节数
+     * @throws IOException 写出失败
+     */
+    static long stream(SpecWriter writer, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(JSON_UTF8.toString());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return writer.write(response.getOutputStream());
+        }
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        GZIPOutputStream gzip = new GZIPOutputStream(response.getOutputStream(), 8192);
+        long length = writer.write(gzip);
+        gzip.finish();
+        return length;
+    }
+
+    /**
+     * 将文档写出到输出流
+     */
+    interface SpecWriter {
+
+        long write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * gzip压缩内容的ETag，在原内容的ETag后追加-gz，如"5d41402a"对应"5d41402a-gz"
+     */
+    static String gzipEtag(String etag) {
+        int end = etag.lastIndexOf('"');
+        return end > 0 ? etag.substring(0, end) + GZIP_ETAG_SUFFIX + etag.substring(end) : etag + GZIP_ETAG_SUFFIX;
+    }
+
+    /**
+     * If-None-Match 使用弱比较，原内容与gzip压缩内容的ETag都视为命中
+     *
+     * @param etag 原内容的ETag
+     */
+    static boolean etagMatches(String etag, String ifNoneMatch) {
+        if (!StringUtils.hasText(ifNoneMatch)) {
+            return false;
+        }
+        String gzipEtag = gzipEtag(etag);
+        for (String candidate : StringUtils.commaDelimitedListToStringArray(ifNoneMatch)) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if ("*".equals(candidate) || etag.equals(candidate) || gzipEtag.equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return false;
+        }
+        for (String coding : StringUtils.commaDelimitedListToStringArray(acceptEncoding)) {
+            String[] parts = coding.trim().split(";");
+            if ("gzip".equalsIgnoreCase(parts[0].trim())) {
+                for (int i = 1; i < parts.length; i++) {
+                    if (parts[i].trim().matches("q=0(\\.0{0,3})?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,153 @@
+package com.spring4all.swagger.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 按tag或路径前缀截取的部分文档
+ * <p>
+ * 每个分组的索引与生成文档的数据源（如springfox的Documentation）绑定，分组重建后随数据源一起重建；
+ * 索引只保留各接口、模型的json片段，完整文档在建立索引后即可回收。截取结果按最近最少使用缓存，缓存总数有上限
+ */
+public class SwaggerSpecSlices {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ConcurrentMap<String, GroupIndex> indexes = new ConcurrentHashMap<>();
+
+    private final Map<String, Slice> slices;
+
+    private volatile SwaggerSpecLimiter limiter;
+
+    /**
+     * @param maxEntries 最多缓存的截取结果数
+     */
+    public SwaggerSpecSlices(int maxEntries) {
+        this.slices = new LinkedHashMap<String, Slice>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Slice> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @param limiter 未命中时截取文档的并发限制，为null时不限制
+     */
+    public void setLimiter(SwaggerSpecLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    /**
+     * 获取部分文档，未命中时从分组索引中截取
+     *
+     * @param groupName  分组名称
+     * @param source     生成文档的数据源
+     * @param loader     完整文档的生成逻辑，只在建立索引时调用，返回的文档不会被保留
+     * @param tag        tag名称，为null时不按tag过滤
+     * @param pathPrefix 路径前缀，为null时不按路径过滤
+     * @param lite       是否输出精简版
+     * @param host       host
+     * @param basePath   basePath
+     * @return 部分文档
+     */
+    public SwaggerSpec get(String groupName, Object source, Supplier<ObjectNode> loader,
+                           String tag, String pathPrefix, boolean lite, String host, String basePath) {
+        String key = String.join("\n", groupName, host + basePath, String.valueOf(tag), String.valueOf(pathPrefix),
+                String.valueOf(lite));
+        synchronized (slices) {
+            Slice slice = slices.get(key);
+            if (slice != null && slice.source == source) {
+                return slice.spec;
+            }
+        }
+        SwaggerSpecLimiter current = limiter;
+        Supplier<SwaggerSpec> builder = () -> slice(groupName, source, loader, tag, pathPrefix, lite, host, basePath);
+        SwaggerSpec result = current == null ? builder.get() : current.call(key, builder);
+        synchronized (slices) {
+            slices.put(key, new Slice(source, result));
+        }
+        return result;
+    }
+
+    private SwaggerSpec slice(String groupName, Object source, Supplier<ObjectNode> loader,
+                              String tag, String pathPrefix, boolean lite, String host, String basePath) {
+        SwaggerSpecIndex index = index(groupName, source, loader);
+        byte[] json = index.slice(tag, pathPrefix, host, basePath);
+        if (lite) {
+            json = toBytes(SwaggerSpecLite.apply(parse(json)));
+        }
+        return SwaggerSpec.of(json);
+    }
+
+    /**
+     * 在锁外建立索引，只在登记时按数据源比较：同一数据源的索引已被其他请求登记时沿用已有的，否则替换
+     */
+    private SwaggerSpecIndex index(String groupName, Object source, Supplier<ObjectNode> loader) {
+        GroupIndex existing = indexes.get(groupName);
+        if (existing != null && existing.source == source) {
+            return existing.index;
+        }
+        GroupIndex built = new GroupIndex(source, SwaggerSpecIndex.of(loader.get()));
+        return indexes.merge(groupName, built, (current, replacement) -> current.source == source ? current : replacement)
+                .index;
+    }
+
+    /**
+     * 使分组的索引失效，已缓存的截取结果在下次访问时因数据源不同而重建
+     *
+     * @param groupName 分组名称
+     */
+    public void invalidate(String groupName) {
+        indexes.remove(groupName);
+    }
+
+    private ObjectNode parse(byte[] json) {
+        try {
+            return (ObjectNode) objectMapper.readTree(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] toBytes(ObjectNode spec) {
+        try {
+            return objectMapper.writeValueAsBytes(spec);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class GroupIndex {
+
+        private final Object source;
+
+        private final SwaggerSpecIndex index;
+
+        GroupIndex(Object source, SwaggerSpecIndex index) {
+            this.source = source;
+            this.index = index;
+        }
+    }
+
+    private static class Slice {
+
+        private final Object source;
+
+        private final SwaggerSpec spec;
+
+        Slice(Object source, SwaggerSpec spec) {
+            this.source = source;
+            this.spec = spec;
+        }
+    }
+}
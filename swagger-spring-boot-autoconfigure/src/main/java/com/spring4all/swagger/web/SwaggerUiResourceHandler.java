@@ -0,0 +1,75 @@
+package com.spring4all.swagger.web;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.HttpRequestHandler;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 输出swagger-ui的静态资源，替代Spring Boot默认的资源处理：
+ * <ul>
+ * <li>客户端支持gzip时输出预先压缩的内容</li>
+ * <li>ETag按内容计算，gzip压缩的内容带有-gz后缀，命中时返回304</li>
+ * <li>webjars下的资源带有版本参数，按swagger.ui-resources.max-age长期缓存；swagger-ui.html每次都重新验证</li>
+ * </ul>
+ */
+public class SwaggerUiResourceHandler implements HttpRequestHandler {
+
+    private final SwaggerUiResources resources;
+
+    private final String cacheControl;
+
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    public SwaggerUiResourceHandler(SwaggerUiResources resources, long maxAgeSeconds) {
+        this.resources = resources;
+        this.cacheControl = "max-age=" + maxAgeSeconds + ", public";
+    }
+
+    @Override
+    public void handleRequest(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean head = "HEAD".equals(request.getMethod());
+        if (!head && !"GET".equals(request.getMethod())) {
+            response.setHeader(HttpHeaders.ALLOW, "GET, HEAD");
+            response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            return;
+        }
+        String path = urlPathHelper.getLookupPathForRequest(request);
+        SwaggerUiResources.Asset asset = resources.get(path);
+        if (asset == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        boolean gzip = asset.hasGzip() && SwaggerSpecResponses.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, SwaggerUiResources.PAGE.equals(path) ? "no-cache" : cacheControl);
+        // 压缩与未压缩的内容不同，强ETag也须不同，否则共享缓存可能把一种编码的内容当作另一种返回
+        response.setHeader(HttpHeaders.ETAG, gzip ? SwaggerSpecResponses.gzipEtag(asset.getEtag()) : asset.getEtag());
+        if (asset.hasGzip()) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (SwaggerSpecResponses.etagMatches(asset.getEtag(), request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setContentType(asset.getMediaType());
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            response.setContentLength(asset.getGzip().length);
+            if (!head) {
+                response.getOutputStream().write(asset.getGzip());
+            }
+            return;
+        }
+        response.setHeader(HttpHeaders.CONTENT_LENGTH, Long.toString(asset.getLength()));
+        if (!head) {
+            try (InputStream in = asset.getResource().getInputStream()) {
+                StreamUtils.copy(in, response.getOutputStream());
+            }
+        }
+    }
+}
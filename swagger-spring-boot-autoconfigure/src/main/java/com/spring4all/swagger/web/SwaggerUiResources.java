@@ -0,0 +1,184 @@
+package com.spring4all.swagger.web;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
+
+import javax.servlet.ServletContext;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * springfox-swagger-ui中的静态资源，每个资源只读取一次，计算出gzip压缩结果与基于内容的强ETag后常驻内存
+ * <p>
+ * 应用就绪后在后台线程中预先处理全部资源，之前的请求按需处理。只有html、js、css会被压缩，
+ * 其余资源（字体、图片及体积较大的source map）只计算ETag，内容仍从classpath读取
+ */
+public class SwaggerUiResources implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(SwaggerUiResources.class);
+
+    public static final String PAGE = "/swagger-ui.html";
+
+    public static final String WEBJAR = "/webjars/springfox-swagger-ui/";
+
+    private static final String LOCATION = "META-INF/resources";
+
+    private static final Set<String> COMPRESSIBLE = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList("html", "js", "css")));
+
+    private final ServletContext servletContext;
+
+    private final ClassLoader classLoader;
+
+    private final ConcurrentMap<String, Asset> assets = new ConcurrentHashMap<>();
+
+    public SwaggerUiResources(ServletContext servletContext, ClassLoader classLoader) {
+        this.servletContext = servletContext;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * @param path 请求路径，如/swagger-ui.html、/webjars/springfox-swagger-ui/springfox.js
+     * @return 资源，不存在时返回null
+     */
+    public Asset get(String path) {
+        Asset asset = assets.get(path);
+        if (asset != null || !isUiPath(path)) {
+            return asset;
+        }
+        Resource resource = new ClassPathResource(LOCATION + path, classLoader);
+        if (!resource.exists()) {
+            return null;
+        }
+        return assets.computeIfAbsent(path, p -> load(p, resource));
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        Thread loader = new Thread(() -> {
+            long start = System.nanoTime();
+            try {
+                Resource[] resources = new PathMatchingResourcePatternResolver(classLoader)
+                        .getResources("classpath*:" + LOCATION + WEBJAR + "**");
+                get(PAGE);
+                for (Resource resource : resources) {
+                    String url = resource.getURL().toString();
+                    int index = url.lastIndexOf(LOCATION + WEBJAR);
+                    if (index >= 0 && !url.endsWith("/")) {
+                        get(url.substring(index + LOCATION.length()));
+                    }
+                }
+                log.debug("Prepared {} swagger-ui resources in {} ms", assets.size(),
+                        (System.nanoTime() - start) / 1000000);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Unable to prepare swagger-ui resources, they will be prepared on first request", e);
+            }
+        }, "swagger-ui-resources");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private static boolean isUiPath(String path) {
+        return PAGE.equals(path) || path.startsWith(WEBJAR) && !path.endsWith("/") && !path.contains("..");
+    }
+
+    private Asset load(String path, Resource resource) {
+        String filename = path.substring(path.lastIndexOf('/') + 1);
+        String mediaType = servletContext.getMimeType(filename);
+        if (mediaType == null) {
+            mediaType = "application/octet-stream";
+        }
+        try {
+            String extension = filename.substring(filename.lastIndexOf('.') + 1);
+            if (!COMPRESSIBLE.contains(extension)) {
+                String etag;
+                try (InputStream in = resource.getInputStream()) {
+                    etag = "\"" + DigestUtils.md5DigestAsHex(in) + "\"";
+                }
+                return new Asset(resource, mediaType, etag, null, resource.contentLength());
+            }
+            byte[] content;
+            try (InputStream in = resource.getInputStream()) {
+                content = StreamUtils.copyToByteArray(in);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(content.length / 4, 64));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(content);
+            }
+            return new Asset(resource, mediaType, "\"" + DigestUtils.md5DigestAsHex(content) + "\"",
+                    out.toByteArray(), content.length);
+        } catch (IOException e) {
+            log.warn("Unable to read swagger-ui resource " + path, e);
+            return null;
+        }
+    }
+
+    /**
+     * 单个静态资源，创建后不可变
+     */
+    public static final class Asset {
+
+        private final Resource resource;
+
+        private final String mediaType;
+
+        private final String etag;
+
+        private final byte[] gzip;
+
+        private final long length;
+
+        Asset(Resource resource, String mediaType, String etag, byte[] gzip, long length) {
+            this.resource = resource;
+            this.mediaType = mediaType;
+            this.etag = etag;
+            this.gzip = gzip;
+            this.length = length;
+        }
+
+        public Resource getResource() {
+            return resource;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        /**
+         * @return gzip压缩结果，不压缩的资源为null
+         */
+        public byte[] getGzip() {
+            return gzip;
+        }
+
+        /**
+         * @return 原始内容的字节数
+         */
+        public long getLength() {
+            return length;
+        }
+
+        public boolean hasGzip() {
+            return gzip != null;
+        }
+    }
+}
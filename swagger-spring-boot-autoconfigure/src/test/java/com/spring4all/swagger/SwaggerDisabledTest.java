@@ -0,0 +1,86 @@
+package com.spring4all.swagger;
+
+import com.spring4all.swagger.sample.SampleApplication;
+import org.junit.Test;
+
+import java.io.Closeable;
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * swagger.enabled=false时不加载springfox及swagger-annotations中的任何类
+ * <p>
+ * 测试所在的JVM中已经加载过这些类，因此应用在独立的类加载器中启动，只检查该类加载器加载的类
+ */
+public class SwaggerDisabledTest {
+
+    @Test
+    public void disabledLoadsNoSwaggerClasses() throws Exception {
+        assertThat(swaggerClassesLoaded("--swagger.enabled=false")).isEmpty();
+    }
+
+    @Test
+    public void enabledLoadsSwaggerClasses() throws Exception {
+        assertThat(swaggerClassesLoaded("--swagger.enabled=true")).isNotEmpty();
+    }
+
+    private static Set<String> swaggerClassesLoaded(String enabled) throws Exception {
+        RecordingClassLoader classLoader = new RecordingClassLoader(classPath());
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(classLoader);
+        try {
+            Class<?> application = classLoader.loadClass("org.springframework.boot.SpringApplication");
+            Object[] sources = {classLoader.loadClass(SampleApplication.class.getName())};
+            Object context = application.getMethod("run", Object[].class, String[].class)
+                    .invoke(null, sources, new String[]{"--spring.main.web-environment=false", enabled});
+            ((Closeable) context).close();
+            return classLoader.swaggerClasses;
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+            classLoader.close();
+        }
+    }
+
+    /**
+     * JDK 9以后应用类加载器不再是URLClassLoader，从java.class.path读取类路径；
+     * surefire只在类路径中放入一个引用其余条目的jar，URLClassLoader会读取其清单中的Class-Path
+     */
+    private static URL[] classPath() throws MalformedURLException {
+        List<URL> urls = new ArrayList<>();
+        for (String each : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            if (!each.isEmpty()) {
+                urls.add(new File(each).toURI().toURL());
+            }
+        }
+        return urls.toArray(new URL[0]);
+    }
+
+    /**
+     * 除JDK外的类都由自身加载，并记录加载的springfox、io.swagger下的类
+     */
+    private static class RecordingClassLoader extends URLClassLoader {
+
+        private final Set<String> swaggerClasses = new ConcurrentSkipListSet<>();
+
+        RecordingClassLoader(URL[] urls) {
+            super(urls, ClassLoader.getSystemClassLoader().getParent());
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            Class<?> type = super.findClass(name);
+            if (name.startsWith("springfox.") || name.startsWith("io.swagger.")) {
+                swaggerClasses.add(name);
+            }
+            return type;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.spring4all.swagger.index;
+
+import com.spring4all.swagger.plan.SwaggerPlan;
+import com.spring4all.swagger.sample.SampleSpecs;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import springfox.documentation.RequestHandler;
+import springfox.documentation.spi.service.RequestHandlerProvider;
+import springfox.documentation.spi.service.contexts.ApiSelector;
+import springfox.documentation.spring.web.plugins.Docket;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 用SwaggerIndexProcessor编译示例控制器生成索引，划分出的候选接口必须是springfox自身筛选结果的超集，
+ * 且索引中的接口不会多选；索引中合并后的路径必须包含Spring MVC登记的路径
+ */
+public class IndexedHandlerSelectorTest {
+
+    private static final Path SAMPLE_SOURCES = Paths.get("src/test/java/com/spring4all/swagger/sample");
+
+    private static ConfigurableApplicationContext context;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void start() {
+        context = SampleSpecs.run();
+    }
+
+    @AfterClass
+    public static void stop() {
+        context.close();
+    }
+
+    @Test
+    public void candidatesContainSpringfoxSelection() throws IOException {
+        SwaggerControllerIndex index = compile(temporaryFolder.getRoot(), controllers());
+        List<RequestHandler> handlers = new ArrayList<>();
+        for (RequestHandlerProvider provider : context.getBeansOfType(RequestHandlerProvider.class).values()) {
+            handlers.addAll(provider.requestHandlers());
+        }
+        SwaggerPlan plan = context.getBean(SwaggerPlan.class);
+        Map<String, List<RequestHandler>> candidates = new IndexedHandlerSelector(index).select(handlers, plan);
+
+        assertThat(candidates.keySet()).containsOnlyElementsOf(SampleSpecs.GROUPS);
+        for (Docket docket : context.getBeansOfType(Docket.class).values()) {
+            String group = docket.getGroupName();
+            // springfox对该分组实际使用的选择器，包括对ApiIgnore的排除
+            ApiSelector apiSelector = (ApiSelector) ReflectionTestUtils.getField(docket, "apiSelector");
+            List<RequestHandler> selected = handlers.stream()
+                    .filter(apiSelector.getRequestHandlerSelector()::apply)
+                    .collect(Collectors.toList());
+            List<RequestHandler> groupCandidates = candidates.get(group);
+            assertThat(selected).as("group %s", group).isNotEmpty();
+            assertThat(groupCandidates).as("group %s", group).containsAll(selected);
+            // 多出的候选只能是不在索引中的接口
+            for (RequestHandler each : groupCandidates) {
+                if (!selected.contains(each)) {
+                    assertThat(index.find(each.getHandlerMethod())).as("group %s, handler %s", group, each).isNull();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void indexedPathsContainSpringMvcPaths() throws IOException {
+        SwaggerControllerIndex index = compile(temporaryFolder.getRoot(), controllers());
+        int indexed = 0;
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> each
+                : context.getBean(RequestMappingHandlerMapping.class).getHandlerMethods().entrySet()) {
+            SwaggerControllerIndex.Entry entry = index.find(each.getValue());
+            if (entry != null) {
+                indexed++;
+                assertThat(entry.getPaths()).as("handler %s", each.getValue())
+                        .containsAll(each.getKey().getPatternsCondition().getPatterns());
+            }
+        }
+        assertThat(indexed).isEqualTo(index.size()).isGreaterThan(0);
+    }
+
+    @Test
+    public void incrementalCompilationKeepsUntouchedClasses() throws IOException {
+        File full = temporaryFolder.newFolder("full");
+        compile(full, controllers());
+        File incremental = temporaryFolder.newFolder("incremental");
+        List<File> controllers = controllers();
+        compile(incremental, controllers.subList(0, 1));
+        compile(incremental, controllers.subList(1, controllers.size()));
+        // 再次只编译其中一个类，其余类的索引从上一次的输出中保留
+        compile(incremental, controllers.subList(0, 1));
+
+        assertThat(indexLines(incremental)).isEqualTo(indexLines(full));
+    }
+
+    private static List<File> controllers() throws IOException {
+        try (Stream<Path> files = Files.walk(SAMPLE_SOURCES)) {
+            return files.filter(path -> path.toString().endsWith("Controller.java"))
+                    .sorted()
+                    .map(Path::toFile)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * 只运行注解处理器，索引写入output目录
+     */
+    private static SwaggerControllerIndex compile(File output, List<File> sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            List<String> options = Arrays.asList(
+                    "-proc:only",
+                    "-processor", SwaggerIndexProcessor.class.getName(),
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-d", output.getPath());
+            boolean success = compiler.getTask(null, fileManager, null, options, null,
+                    fileManager.getJavaFileObjectsFromFiles(sources)).call();
+            assertThat(success).isTrue();
+        }
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{output.toURI().toURL()}, null)) {
+            return SwaggerControllerIndex.load(classLoader);
+        }
+    }
+
+    private static List<String> indexLines(File output) throws IOException {
+        return Files.readAllLines(output.toPath().resolve(SwaggerControllerIndex.LOCATION), StandardCharsets.UTF_8)
+                .stream().filter(line -> !line.isEmpty()).collect(Collectors.toList());
+    }
+}
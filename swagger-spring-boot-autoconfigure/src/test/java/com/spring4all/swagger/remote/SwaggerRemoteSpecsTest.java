@@ -0,0 +1,218 @@
+package com.spring4all.swagger.remote;
+
+import com.spring4all.swagger.properties.SwaggerProperties;
+import com.spring4all.swagger.web.SwaggerSpec;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 以进程内的HTTP服务模拟远程文档，验证缓存、重新验证、熔断及单次拉取
+ */
+public class SwaggerRemoteSpecsTest {
+
+    private static final String GROUP = "remote";
+
+    private HttpServer server;
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private final AtomicInteger notModified = new AtomicInteger();
+
+    private volatile int status = 200;
+
+    private volatile String body = "{\"swagger\":\"2.0\",\"info\":{\"title\":\"v1\"}}";
+
+    private volatile String etag;
+
+    private volatile CountDownLatch release;
+
+    private SwaggerRemoteSpecs specs;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/v2/api-docs", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        if (specs != null) {
+            specs.destroy();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    public void servesCachedSpecWithinTtl() {
+        specs = specs(60000L, 60000L, 3, 30000L);
+        SwaggerSpec first = specs.get(GROUP);
+        assertThat(title(first)).isEqualTo("v1");
+
+        body = "{\"swagger\":\"2.0\",\"info\":{\"title\":\"v2\"}}";
+        assertThat(specs.get(GROUP)).isSameAs(first);
+        assertThat(requests.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void servesStaleSpecWhileRevalidating() throws Exception {
+        specs = specs(50L, 60000L, 3, 30000L);
+        SwaggerSpec first = specs.get(GROUP);
+        release = new CountDownLatch(1);
+        body = "{\"swagger\":\"2.0\",\"info\":{\"title\":\"v2\"}}";
+        Thread.sleep(100);
+
+        // 过期后立即返回旧文档，刷新在后台等待远程响应
+        assertThat(specs.get(GROUP)).isSameAs(first);
+        assertThat(specs.get(GROUP)).isSameAs(first);
+        release.countDown();
+
+        assertThat(awaitTitle("v2")).isTrue();
+        assertThat(requests.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void revalidatesWithEtag() throws Exception {
+        etag = "\"v1\"";
+        specs = specs(50L, 50L, 3, 30000L);
+        SwaggerSpec first = specs.get(GROUP);
+        Thread.sleep(100);
+
+        assertThat(specs.get(GROUP)).isSameAs(first);
+        assertThat(requests.get()).isEqualTo(2);
+        assertThat(notModified.get()).isEqualTo(1);
+
+        etag = "\"v2\"";
+        body = "{\"swagger\":\"2.0\",\"info\":{\"title\":\"v2\"}}";
+        Thread.sleep(100);
+        assertThat(title(specs.get(GROUP))).isEqualTo("v2");
+        assertThat(notModified.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void opensCircuitAfterConsecutiveFailures() throws Exception {
+        status = 500;
+        specs = specs(50L, 50L, 2, 300L);
+        assertThat(specs.get(GROUP)).isNull();
+        assertThat(specs.get(GROUP)).isNull();
+        assertThat(requests.get()).isEqualTo(2);
+
+        // 熔断期间不再请求远程
+        assertThat(specs.get(GROUP)).isNull();
+        assertThat(requests.get()).isEqualTo(2);
+
+        // 熔断结束后只试探一次，失败则再次熔断
+        Thread.sleep(400);
+        assertThat(specs.get(GROUP)).isNull();
+        assertThat(specs.get(GROUP)).isNull();
+        assertThat(requests.get()).isEqualTo(3);
+
+        status = 200;
+        Thread.sleep(400);
+        assertThat(title(specs.get(GROUP))).isEqualTo("v1");
+        assertThat(requests.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void fetchesOnceForConcurrentRequests() throws Exception {
+        specs = specs(60000L, 60000L, 3, 30000L);
+        release = new CountDownLatch(1);
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<SwaggerSpec>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(clients.submit(() -> specs.get(GROUP)));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            SwaggerSpec first = results.get(0).get(5, TimeUnit.SECONDS);
+            assertThat(title(first)).isEqualTo("v1");
+            for (Future<SwaggerSpec> each : results) {
+                assertThat(each.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+            assertThat(requests.get()).isEqualTo(1);
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private SwaggerRemoteSpecs specs(long ttl, long staleTtl, int failureThreshold, long openDuration) {
+        SwaggerProperties.Remote remote = new SwaggerProperties.Remote();
+        remote.setUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/v2/api-docs");
+        SwaggerProperties.Aggregation aggregation = new SwaggerProperties.Aggregation();
+        aggregation.setTtl(ttl);
+        aggregation.setStaleTtl(staleTtl);
+        aggregation.setFailureThreshold(failureThreshold);
+        aggregation.setOpenDuration(openDuration);
+        return new SwaggerRemoteSpecs(Collections.singletonMap(GROUP, remote), aggregation);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        CountDownLatch latch = release;
+        if (latch != null) {
+            try {
+                latch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        String current = etag;
+        if (current != null) {
+            exchange.getResponseHeaders().set("ETag", current);
+            if (current.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+        }
+        byte[] content = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, content.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(content);
+        }
+    }
+
+    private boolean awaitTitle(String title) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            if (title.equals(title(specs.get(GROUP)))) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return false;
+    }
+
+    private static String title(SwaggerSpec spec) {
+        if (spec == null) {
+            return null;
+        }
+        String json = new String(spec.getJson(), StandardCharsets.UTF_8);
+        int start = json.indexOf("\"title\":\"") + 9;
+        return json.substring(start, json.indexOf('"', start));
+    }
+}
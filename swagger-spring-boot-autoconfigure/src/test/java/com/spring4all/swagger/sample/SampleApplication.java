@@ -0,0 +1,12 @@
+package com.spring4all.swagger.sample;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * 测试用的示例应用，user、order、item下的控制器使用相同的方法名，同名接口的operationId按分组顺序编号；
+ * category下的控制器返回自引用且多层嵌套的模型
+ */
+@SpringBootApplication
+public class SampleApplication {
+
+}
@@ -0,0 +1,94 @@
+package com.spring4all.swagger.sample;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.embedded.EmbeddedWebApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 以固定的分组配置启动示例应用并获取各分组的文档
+ */
+public final class SampleSpecs {
+
+    /**
+     * 示例应用的分组，按分组名称排序，与扫描顺序一致
+     */
+    public static final List<String> GROUPS = Collections.unmodifiableList(
+            Arrays.asList("all", "item", "order", "user", "user-order"));
+
+    private SampleSpecs() {
+    }
+
+    /**
+     * 以随机端口启动示例应用，host固定为localhost，使文档不随端口变化
+     *
+     * @param args 额外的启动参数
+     * @return 应用上下文
+     */
+    public static ConfigurableApplicationContext run(String... args) {
+        List<String> arguments = new ArrayList<>(Arrays.asList(
+                "--server.port=0",
+                "--swagger.bean-name=swaggerDoc",
+                "--swagger.host=localhost",
+                "--swagger.docket.all.base-package=com.spring4all.swagger.sample",
+                "--swagger.docket.item.base-package=com.spring4all.swagger.sample.item",
+                "--swagger.docket.order.base-package=com.spring4all.swagger.sample.order",
+                "--swagger.docket.user.base-package=com.spring4all.swagger.sample.user",
+                "--swagger.docket.user-order.base-package=com.spring4all.swagger.sample.user,com.spring4all.swagger.sample.order"));
+        arguments.addAll(Arrays.asList(args));
+        return new SpringApplicationBuilder(SampleApplication.class).run(arguments.toArray(new String[0]));
+    }
+
+    /**
+     * @param context 应用上下文
+     * @return 内嵌容器的端口
+     */
+    public static int port(ConfigurableApplicationContext context) {
+        return ((EmbeddedWebApplicationContext) context).getEmbeddedServletContainer().getPort();
+    }
+
+    /**
+     * 获取所有分组的文档
+     *
+     * @param context 应用上下文
+     * @return 分组名称与文档
+     */
+    public static Map<String, String> fetch(ConfigurableApplicationContext context) {
+        Map<String, String> specs = new LinkedHashMap<>();
+        for (String group : GROUPS) {
+            specs.put(group, fetch(context, group));
+        }
+        return specs;
+    }
+
+    /**
+     * 获取单个分组的文档
+     *
+     * @param context 应用上下文
+     * @param group   分组名称
+     * @return 文档
+     */
+    public static String fetch(ConfigurableApplicationContext context, String group) {
+        return new RestTemplate().getForObject(
+                "http://localhost:" + port(context) + "/v2/api-docs?group=" + group, String.class);
+    }
+
+    /**
+     * 启动示例应用，获取所有分组的文档后关闭
+     *
+     * @param args 额外的启动参数
+     * @return 分组名称与文档
+     */
+    public static Map<String, String> specs(String... args) {
+        try (ConfigurableApplicationContext context = run(args)) {
+            return fetch(context);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.spring4all.swagger.sample.category;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 返回自引用且多层嵌套的模型：Category(1) -> Detail(2) -> Owner(3) -> Address(4)，用于验证模型解析限制
+ */
+@RestController
+@RequestMapping("/categories")
+public class CategoryController {
+
+    @GetMapping("/tree")
+    public Category tree() {
+        return new Category();
+    }
+
+    public static class Category {
+
+        private String name;
+
+        private Category parent;
+
+        private List<Category> children;
+
+        private Detail detail;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Category getParent() {
+            return parent;
+        }
+
+        public void setParent(Category parent) {
+            this.parent = parent;
+        }
+
+        public List<Category> getChildren() {
+            return children;
+        }
+
+        public void setChildren(List<Category> children) {
+            this.children = children;
+        }
+
+        public Detail getDetail() {
+            return detail;
+        }
+
+        public void setDetail(Detail detail) {
+            this.detail = detail;
+        }
+    }
+
+    public static class Detail {
+
+        private Owner owner;
+
+        public Owner getOwner() {
+            return owner;
+        }
+
+        public void setOwner(Owner owner) {
+            this.owner = owner;
+        }
+    }
+
+    public static class Owner {
+
+        private String name;
+
+        private Address address;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+    }
+
+    public static class Address {
+
+        private String city;
+
+        public String getCity() {
+            return city;
+        }
+
+        public void setCity(String city) {
+            this.city = city;
+        }
+    }
+}
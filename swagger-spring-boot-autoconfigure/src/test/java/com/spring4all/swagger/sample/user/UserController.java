@@ -0,0 +1,65 @@
+package com.spring4all.swagger.sample.user;
+
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.List;
+
+@RestController
+@RequestMapping("/users")
+public class UserController {
+
+    @GetMapping
+    public List<User> list() {
+        return Collections.emptyList();
+    }
+
+    @GetMapping("/{id}")
+    public User get(@PathVariable Long id) {
+        return new User();
+    }
+
+    @PostMapping
+    public User create(@RequestBody User user) {
+        return user;
+    }
+
+    @DeleteMapping("/{id}")
+    public void delete(@PathVariable Long id) {
+    }
+
+    @GetMapping("/search")
+    public List<User> find(@RequestParam String name) {
+        return Collections.emptyList();
+    }
+
+    public static class User {
+
+        private Long id;
+
+        private String name;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
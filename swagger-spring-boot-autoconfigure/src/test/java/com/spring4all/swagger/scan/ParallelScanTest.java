@@ -0,0 +1,41 @@
+package com.spring4all.swagger.scan;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static com.spring4all.swagger.sample.SampleSpecs.GROUPS;
+import static com.spring4all.swagger.sample.SampleSpecs.specs;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 并行扫描的文档必须与串行扫描逐字节一致，包括同名接口operationId的编号；延迟扫描的编号与访问顺序无关
+ */
+public class ParallelScanTest {
+
+    @Test
+    public void parallelScanMatchesSerialScan() {
+        Map<String, String> serial = specs("--swagger.scan.parallel=false");
+        assertThat(serial.get("user-order")).contains("\"listUsingGET_6\"", "\"listUsingGET_7\"");
+
+        for (int i = 0; i < 3; i++) {
+            Map<String, String> parallel = specs("--swagger.scan.parallel=true", "--swagger.scan.pool-size=5");
+            for (String group : GROUPS) {
+                assertThat(parallel.get(group)).as("group %s", group).isEqualTo(serial.get(group));
+            }
+        }
+    }
+
+    @Test
+    public void lazyScanNumbersOperationIdsWithinGroup() {
+        Map<String, String> lazy = specs("--swagger.scan.lazy=true");
+        assertThat(lazy.get("user")).contains("\"listUsingGET\"").doesNotContain("\"listUsingGET_");
+        assertThat(lazy.get("user-order")).contains("\"listUsingGET\"", "\"listUsingGET_1\"");
+
+        Map<String, String> warmedUp = specs("--swagger.scan.lazy=true", "--swagger.scan.warm-up=true",
+                "--swagger.scan.parallel=true", "--swagger.scan.pool-size=5");
+        for (String group : GROUPS) {
+            assertThat(warmedUp.get(group)).as("group %s", group).isEqualTo(lazy.get(group));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.spring4all.swagger.scan;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring4all.swagger.sample.SampleSpecs;
+import org.junit.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.spring4all.swagger.sample.SampleSpecs.GROUPS;
+import static com.spring4all.swagger.sample.SampleSpecs.specs;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 在分组之间共享模型时，各分组的文档必须与只在分组内缓存时逐字节一致；类型替换规则不同的分组不共享模型。
+ * 模型解析限制只作用于配置了限制的分组
+ */
+public class SharedModelProviderTest {
+
+    private static final String SUBSTITUTES =
+            "--swagger.docket.user-order.direct-model-substitutes=java.lang.Long-java.lang.String";
+
+    private static final String CATEGORY_PACKAGE =
+            "--swagger.docket.category.base-package=com.spring4all.swagger.sample.category";
+
+    private static final String SAMPLE_CATEGORY = "com.spring4all.swagger.sample.category.CategoryController$";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void sharedModelsMatchModelsResolvedPerGroup() {
+        Map<String, String> perGroup = specs("--swagger.scan.share-models=false", SUBSTITUTES);
+        Map<String, String> shared = specs("--swagger.scan.share-models=true", SUBSTITUTES);
+        for (String group : GROUPS) {
+            assertThat(shared.get(group)).as("group %s", group).isEqualTo(perGroup.get(group));
+        }
+
+        assertThat(shared.get("user-order")).contains("\"id\":{\"type\":\"string\"}")
+                .doesNotContain("\"format\":\"int64\"");
+        assertThat(shared.get("order")).contains("\"id\":{\"type\":\"integer\",\"format\":\"int64\"}");
+    }
+
+    @Test
+    public void truncatesModelsBeyondMaxDepth() throws IOException {
+        Map<String, String> unlimited = specs();
+        try (ConfigurableApplicationContext context = SampleSpecs.run(CATEGORY_PACKAGE,
+                "--swagger.docket.category.max-model-depth=2")) {
+            JsonNode definitions = definitions(SampleSpecs.fetch(context, "category"));
+            assertThat(names(definitions)).containsOnly("Category", "Detail", "Owner");
+            // 自引用的模型只展开一次
+            assertThat(names(definitions.get("Category").get("properties")))
+                    .containsOnly("name", "parent", "children", "detail");
+            assertThat(names(definitions.get("Detail").get("properties"))).containsOnly("owner");
+            // 第3层的模型只保留名称，不再展开其引用的Address
+            assertThat(definitions.get("Owner").has("properties")).isFalse();
+
+            assertUnaffected(unlimited, SampleSpecs.fetch(context));
+        }
+    }
+
+    @Test
+    public void keepsOnlyNamesOfOpaqueTypes() throws IOException {
+        Map<String, String> unlimited = specs();
+        try (ConfigurableApplicationContext context = SampleSpecs.run(CATEGORY_PACKAGE,
+                "--swagger.docket.category.opaque-types=" + SAMPLE_CATEGORY + "Detail")) {
+            JsonNode definitions = definitions(SampleSpecs.fetch(context, "category"));
+            assertThat(names(definitions)).containsOnly("Category", "Detail");
+            assertThat(definitions.get("Detail").has("properties")).isFalse();
+            assertThat(definitions.get("Category").get("properties").get("detail").get("$ref").asText())
+                    .isEqualTo("#/definitions/Detail");
+
+            assertUnaffected(unlimited, SampleSpecs.fetch(context));
+        }
+    }
+
+    /**
+     * 未配置限制的分组（包括同样引用这些模型的all分组）与不配置任何限制时一致
+     */
+    private void assertUnaffected(Map<String, String> unlimited, Map<String, String> limited) throws IOException {
+        for (String group : GROUPS) {
+            assertThat(limited.get(group)).as("group %s", group).isEqualTo(unlimited.get(group));
+        }
+        assertThat(names(definitions(limited.get("all"))))
+                .contains("Category", "Detail", "Owner", "Address");
+    }
+
+    private JsonNode definitions(String spec) throws IOException {
+        return objectMapper.readTree(spec).get("definitions");
+    }
+
+    private static List<String> names(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,37 @@
+package com.spring4all.swagger.scan;
+
+import com.spring4all.swagger.sample.SampleSpecs;
+import org.junit.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static com.spring4all.swagger.sample.SampleSpecs.GROUPS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 配置刷新后重建的分组沿用原有的operationId
+ */
+public class SwaggerGroupRefresherTest {
+
+    @Test
+    public void rebuiltGroupsKeepOperationIds() throws Exception {
+        try (ConfigurableApplicationContext context = SampleSpecs.run("--swagger.title=Before")) {
+            Map<String, String> before = SampleSpecs.fetch(context);
+            assertThat(before.get("user-order")).contains("\"listUsingGET_6\"", "\"listUsingGET_7\"");
+
+            // 修改全局配置，所有分组都会重建
+            context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("refreshed",
+                    Collections.<String, Object>singletonMap("swagger.title", "After")));
+            context.getBean(SwaggerGroupRefresher.class).refresh().get();
+
+            Map<String, String> after = SampleSpecs.fetch(context);
+            for (String group : GROUPS) {
+                assertThat(after.get(group)).as("group %s", group).contains("\"After\"")
+                        .isEqualTo(before.get(group).replace("\"Before\"", "\"After\""));
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.spring4all.swagger.scan;
+
+import com.google.common.collect.Ordering;
+import org.junit.Test;
+import springfox.documentation.service.Operation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 当前springfox版本中存在需要改写的字段；字段不存在时退回与CachingOperationNameGenerator相同的全局编号
+ */
+public class SwaggerOperationNameGeneratorTest {
+
+    private static final Ordering<Operation> NO_ORDERING = Ordering.from((left, right) -> 0);
+
+    @Test
+    public void renameIsSupportedByBundledSpringfox() {
+        assertThat(new SwaggerOperationNameGenerator().isRenameSupported()).isTrue();
+    }
+
+    @Test
+    public void numbersGloballyWhenRenameIsNotSupported() {
+        SwaggerOperationNameGenerator generator = new SwaggerOperationNameGenerator(false);
+        generator.begin("user", NO_ORDERING);
+        assertThat(generator.startingWith("listUsingGET")).isEqualTo("listUsingGET");
+        generator.end(true);
+        generator.begin("order", NO_ORDERING);
+        assertThat(generator.startingWith("listUsingGET")).isEqualTo("listUsingGET_1");
+        generator.end(true);
+    }
+
+    @Test
+    public void numbersWithinGroupWhenRenameIsSupported() {
+        SwaggerOperationNameGenerator generator = new SwaggerOperationNameGenerator(true);
+        generator.begin("user", NO_ORDERING);
+        assertThat(generator.startingWith("listUsingGET")).isEqualTo("listUsingGET");
+        generator.end(true);
+        generator.begin("order", NO_ORDERING);
+        assertThat(generator.startingWith("listUsingGET")).isEqualTo("listUsingGET");
+        generator.end(true);
+    }
+}
@@ -0,0 +1,90 @@
+package com.spring4all.swagger.selector;
+
+import org.junit.Test;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AntPathSelector的结果必须与逐个使用AntPathMatcher匹配后组合的结果一致
+ */
+public class AntPathSelectorTest {
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private static final String[] PATTERN_SEGMENTS = {
+            "a", "b", "ab", "1", "*", "**", "?", "a*", "*b", "a?", "{id}", "{id:\\d+}", "{name}.json"};
+
+    private static final String[] PATH_SEGMENTS = {"a", "b", "ab", "ba", "1", "12", "x.json", "a.json"};
+
+    @Test
+    public void matchesAntPathMatcherForKnownCases() {
+        String[][] cases = {
+                {"/**", "/"}, {"/**", "/a/b/"}, {"/a/**", "/a"}, {"/a/**", "/a/"}, {"/a/**", "/ab"},
+                {"/a/**/b", "/a/b"}, {"/a/**/b", "/a/x/y/b"}, {"/a/**/b", "/a/b/"}, {"/**/b", "/b"},
+                {"/a/*", "/a/"}, {"/a/*", "/a"}, {"/a/*", "/a/b"}, {"/a/*", "/a/b/"}, {"/a/*/", "/a/b/"},
+                {"/a/?", "/a/b"}, {"/a/?", "/a/ab"}, {"/a/{id}", "/a/1"}, {"/a/{id}", "/a/"},
+                {"/a/{id:\\d+}", "/a/12"}, {"/a/{id:\\d+}", "/a/b"}, {"/a/{name}.json", "/a/x.json"},
+                {"/a", "/a/"}, {"/a/", "/a"}, {"a/b", "/a/b"}, {"a/b", "a/b"}, {"/error", "/error"}};
+        for (String[] each : cases) {
+            assertEquivalent(Collections.singletonList(each[0]), Collections.emptyList(), each[1]);
+            assertEquivalent(Collections.singletonList("/**"), Collections.singletonList(each[0]), each[1]);
+        }
+    }
+
+    @Test
+    public void matchesAntPathMatcherForRandomRules() {
+        Random random = new Random(20190311L);
+        for (int i = 0; i < 20000; i++) {
+            List<String> includes = patterns(random, random.nextInt(3) + 1);
+            List<String> excludes = patterns(random, random.nextInt(3));
+            for (int j = 0; j < 5; j++) {
+                assertEquivalent(includes, excludes, path(random));
+            }
+        }
+    }
+
+    private static void assertEquivalent(List<String> includes, List<String> excludes, String path) {
+        boolean expected = includes.stream().anyMatch(pattern -> MATCHER.match(pattern, path))
+                && excludes.stream().noneMatch(pattern -> MATCHER.match(pattern, path));
+        assertThat(AntPathSelector.of(includes, excludes).apply(path))
+                .as("includes %s, excludes %s, path %s", includes, excludes, path)
+                .isEqualTo(expected);
+    }
+
+    private static List<String> patterns(Random random, int count) {
+        List<String> patterns = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            patterns.add(join(random, PATTERN_SEGMENTS));
+        }
+        return patterns;
+    }
+
+    private static String path(Random random) {
+        return join(random, PATH_SEGMENTS);
+    }
+
+    /**
+     * 随机拼接0到4个路径段，随机决定开头及结尾的/
+     */
+    private static String join(Random random, String[] segments) {
+        List<String> parts = new ArrayList<>();
+        int count = random.nextInt(5);
+        for (int i = 0; i < count; i++) {
+            parts.add(segments[random.nextInt(segments.length)]);
+        }
+        String joined = String.join("/", parts);
+        if (random.nextInt(8) > 0) {
+            joined = "/" + joined;
+        }
+        if (!parts.isEmpty() && random.nextInt(4) == 0) {
+            joined = joined + "/";
+        }
+        return joined.isEmpty() ? "/" : joined;
+    }
+}
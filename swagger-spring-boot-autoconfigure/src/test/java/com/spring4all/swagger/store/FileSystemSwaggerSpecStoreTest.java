@@ -0,0 +1,132 @@
+package com.spring4all.swagger.store;
+
+import com.spring4all.swagger.web.SwaggerSpecGenerator;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 两个节点共享同一目录：只有一个节点取得构建权，另一个节点等待发布后读取；持有者退出后锁过期由其他节点接管
+ */
+public class FileSystemSwaggerSpecStoreTest {
+
+    private static final String VERSION = "v1";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void waitsForPublishedSpecificationAndLoadsIt() throws Exception {
+        File directory = temporaryFolder.getRoot();
+        FileSystemSwaggerSpecStore first = new FileSystemSwaggerSpecStore(directory, 60_000, 3, "first");
+        FileSystemSwaggerSpecStore second = new FileSystemSwaggerSpecStore(directory, 60_000, 3, "second");
+        assertThat(SwaggerSpecStores.published(first, environment(10_000))).isFalse();
+        assertThat(first.tryLock(VERSION)).isTrue();
+        assertThat(second.tryLock(VERSION)).isFalse();
+
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(
+                () -> SwaggerSpecStores.published(second, environment(10_000)));
+        Thread.sleep(200);
+        assertThat(waiting.isDone()).isFalse();
+
+        first.publish(VERSION, new FixedSpecGenerator("{\"swagger\":\"2.0\"}"));
+        first.unlock(VERSION);
+        assertThat(waiting.get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.contains(VERSION)).isTrue();
+
+        Path published = Paths.get(URI.create(second.location(VERSION) + "user" + SwaggerSpecGenerator.SPEC_FILE_SUFFIX));
+        assertThat(new String(Files.readAllBytes(published), StandardCharsets.UTF_8)).isEqualTo("{\"swagger\":\"2.0\"}");
+        assertThat(lock(directory)).doesNotExist();
+    }
+
+    @Test
+    public void timesOutWhileHolderKeepsLockAlive() throws Exception {
+        File directory = temporaryFolder.getRoot();
+        FileSystemSwaggerSpecStore first = new FileSystemSwaggerSpecStore(directory, 300, 3, "first");
+        FileSystemSwaggerSpecStore second = new FileSystemSwaggerSpecStore(directory, 300, 3, "second");
+        try {
+            assertThat(first.tryLock(VERSION)).isTrue();
+            // 持有者的心跳使锁在超过lock-timeout后仍然有效
+            assertThat(SwaggerSpecStores.published(second, environment(1_000))).isFalse();
+            assertThat(second.tryLock(VERSION)).isFalse();
+            assertThat(owner(directory)).isEqualTo("first");
+        } finally {
+            first.unlock(VERSION);
+        }
+        assertThat(second.tryLock(VERSION)).isTrue();
+        second.unlock(VERSION);
+    }
+
+    @Test
+    public void takesOverExpiredLock() throws Exception {
+        File directory = temporaryFolder.getRoot();
+        // 持有者已退出，锁文件不再刷新
+        Path lock = lock(directory).toPath();
+        Files.write(lock, "exited".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(lock, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+
+        FileSystemSwaggerSpecStore second = new FileSystemSwaggerSpecStore(directory, 30_000, 3, "second");
+        FileSystemSwaggerSpecStore third = new FileSystemSwaggerSpecStore(directory, 30_000, 3, "third");
+        try {
+            assertThat(second.tryLock(VERSION)).isTrue();
+            assertThat(owner(directory)).isEqualTo("second");
+            assertThat(third.tryLock(VERSION)).isFalse();
+            assertThat(directory.list()).containsExactly(VERSION + ".lock");
+        } finally {
+            second.unlock(VERSION);
+        }
+    }
+
+    private static MockEnvironment environment(long waitTimeout) {
+        return new MockEnvironment()
+                .withProperty("swagger.spec-store.version", VERSION)
+                .withProperty("swagger.spec-store.wait-timeout", String.valueOf(waitTimeout));
+    }
+
+    private static File lock(File directory) {
+        return new File(directory, VERSION + ".lock");
+    }
+
+    private static String owner(File directory) throws IOException {
+        return new String(Files.readAllBytes(lock(directory).toPath()), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 只写出一个user分组的生成器
+     */
+    private static class FixedSpecGenerator extends SwaggerSpecGenerator {
+
+        private final String json;
+
+        FixedSpecGenerator(String json) {
+            super(null, null, null);
+            this.json = json;
+        }
+
+        @Override
+        public List<String> generate(File outputDirectory) throws IOException {
+            Files.createDirectories(outputDirectory.toPath());
+            Files.write(new File(outputDirectory, "user" + SwaggerSpecGenerator.SPEC_FILE_SUFFIX).toPath(),
+                    json.getBytes(StandardCharsets.UTF_8));
+            Files.write(new File(outputDirectory, SwaggerSpecGenerator.INDEX_FILE).toPath(),
+                    Collections.singletonList("user"), StandardCharsets.UTF_8);
+            return Collections.singletonList("user");
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.spring4all.swagger.utils;
+
+import com.spring4all.swagger.properties.DocketInfo;
+import org.junit.Test;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.boot.bind.RelaxedDataBinder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * base-package保持字符串配置，与列表形式的base-packages合并
+ */
+public class DocketConfigUtilTest {
+
+    @Test
+    public void mergesBasePackageAndBasePackages() {
+        MutablePropertyValues values = new MutablePropertyValues();
+        values.add("base-package", "com.didispace.order, com.didispace.payment");
+        values.add("base-packages[0]", "com.didispace.user");
+        values.add("base-packages[1]", "com.didispace.order");
+        DocketInfo docketInfo = new DocketInfo();
+        new RelaxedDataBinder(docketInfo).bind(values);
+
+        assertThat(docketInfo.getBasePackage()).isEqualTo("com.didispace.order, com.didispace.payment");
+        assertThat(DocketConfigUtil.basePackages(docketInfo))
+                .containsExactly("com.didispace.order", "com.didispace.payment", "com.didispace.user");
+    }
+
+    @Test
+    public void scansAllPackagesByDefault() {
+        assertThat(DocketConfigUtil.basePackages(new DocketInfo())).isEmpty();
+    }
+}
@@ -0,0 +1,101 @@
+package com.spring4all.swagger.web;
+
+import com.spring4all.swagger.sample.SampleSpecs;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * 静态文档模式下，host/basePath与文件一致的请求直接输出文件原文，其余组合改写后按组合缓存
+ */
+public class StaticSwaggerSpecControllerTest {
+
+    @ClassRule
+    public static TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static File location;
+
+    private static ConfigurableApplicationContext context;
+
+    private static MockMvc mockMvc;
+
+    @BeforeClass
+    public static void start() throws Exception {
+        location = temporaryFolder.newFolder("spec");
+        try (ConfigurableApplicationContext scanning = SampleSpecs.run()) {
+            SwaggerSpecGenerator.of(scanning).generate(location);
+        }
+        context = SampleSpecs.run("--swagger.static-spec.enabled=true",
+                "--swagger.static-spec.location=" + location.toURI());
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+    }
+
+    @AfterClass
+    public static void stop() {
+        context.close();
+    }
+
+    @Test
+    public void servesFileBytesForFileHostAndBasePath() throws Exception {
+        byte[] file = Files.readAllBytes(new File(location, "user" + SwaggerSpecGenerator.SPEC_FILE_SUFFIX).toPath());
+        List<Boolean> accesses = recordCacheAccesses("user");
+        try {
+            MockHttpServletResponse response = perform(spec("user"));
+            assertThat(response.getContentAsByteArray()).isEqualTo(file);
+            assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"" + DigestUtils.md5DigestAsHex(file) + "\"");
+            assertThat(accesses).isEmpty();
+        } finally {
+            context.getBean(SwaggerSpecCache.class).setListener(null);
+        }
+    }
+
+    @Test
+    public void rewritesAndCachesOtherBasePaths() throws Exception {
+        List<Boolean> accesses = recordCacheAccesses("order");
+        try {
+            MockHttpServletResponse app = perform(spec("order").header("X-Forwarded-Prefix", "/app"));
+            assertThat(app.getContentAsString()).contains("\"basePath\":\"/app", "\"host\":\"localhost\"");
+            assertThat(perform(spec("order").header("X-Forwarded-Prefix", "/app")).getContentAsByteArray())
+                    .isEqualTo(app.getContentAsByteArray());
+            assertThat(accesses).containsExactly(false, true);
+        } finally {
+            context.getBean(SwaggerSpecCache.class).setListener(null);
+        }
+    }
+
+    private static List<Boolean> recordCacheAccesses(String group) {
+        List<Boolean> accesses = new ArrayList<>();
+        context.getBean(SwaggerSpecCache.class).setListener((groupName, hit) -> {
+            if (group.equals(groupName)) {
+                accesses.add(hit);
+            }
+        });
+        return accesses;
+    }
+
+    private static MockHttpServletRequestBuilder spec(String group) {
+        return get("/v2/api-docs").param("group", group);
+    }
+
+    private static MockHttpServletResponse perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+}
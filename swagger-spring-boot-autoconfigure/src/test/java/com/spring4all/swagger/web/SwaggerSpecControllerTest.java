@@ -0,0 +1,136 @@
+package com.spring4all.swagger.web;
+
+import com.spring4all.swagger.sample.SampleSpecs;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * 文档接口的协商处理：ETag命中返回304，按Accept-Encoding输出gzip，按host/basePath分别缓存
+ */
+public class SwaggerSpecControllerTest {
+
+    private static ConfigurableApplicationContext context;
+
+    private static MockMvc mockMvc;
+
+    @BeforeClass
+    public static void start() {
+        context = SampleSpecs.run();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+    }
+
+    @AfterClass
+    public static void stop() {
+        context.close();
+    }
+
+    @Test
+    public void returnsNotModifiedForIdentityEtag() throws Exception {
+        MockHttpServletResponse response = perform(spec("user"));
+        assertThat(response.getStatus()).isEqualTo(200);
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"").endsWith("\"");
+
+        MockHttpServletResponse notModified = perform(spec("user").header(HttpHeaders.IF_NONE_MATCH, etag));
+        assertThat(notModified.getStatus()).isEqualTo(304);
+        assertThat(notModified.getContentAsByteArray()).isEmpty();
+        assertThat(notModified.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+    }
+
+    @Test
+    public void returnsNotModifiedForGzipEtag() throws Exception {
+        MockHttpServletResponse response = perform(spec("user").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"));
+        String gzipEtag = response.getHeader(HttpHeaders.ETAG);
+        assertThat(gzipEtag).endsWith("-gz\"");
+
+        assertThat(perform(spec("user").header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, gzipEtag)).getStatus()).isEqualTo(304);
+        // 客户端不再支持gzip时，压缩内容的ETag仍视为命中
+        assertThat(perform(spec("user").header(HttpHeaders.IF_NONE_MATCH, "W/" + gzipEtag)).getStatus())
+                .isEqualTo(304);
+        assertThat(perform(spec("user").header(HttpHeaders.IF_NONE_MATCH, "\"other\"")).getStatus())
+                .isEqualTo(200);
+    }
+
+    @Test
+    public void compressesWhenGzipIsAccepted() throws Exception {
+        MockHttpServletResponse identity = perform(spec("item"));
+        assertThat(identity.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(identity.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+
+        MockHttpServletResponse gzip = perform(spec("item").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"));
+        assertThat(gzip.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gunzip(gzip.getContentAsByteArray())).isEqualTo(identity.getContentAsByteArray());
+        assertThat(gzip.getHeader(HttpHeaders.ETAG))
+                .isEqualTo(SwaggerSpecResponses.gzipEtag(identity.getHeader(HttpHeaders.ETAG)));
+    }
+
+    @Test
+    public void refusesGzipWithZeroQuality() throws Exception {
+        MockHttpServletResponse identity = perform(spec("item"));
+        for (String acceptEncoding : new String[]{"gzip;q=0", "gzip; q=0.000", "deflate"}) {
+            MockHttpServletResponse response = perform(spec("item").header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding));
+            assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).as(acceptEncoding).isNull();
+            assertThat(response.getHeader(HttpHeaders.ETAG)).as(acceptEncoding)
+                    .isEqualTo(identity.getHeader(HttpHeaders.ETAG));
+            assertThat(response.getContentAsByteArray()).as(acceptEncoding).isEqualTo(identity.getContentAsByteArray());
+        }
+    }
+
+    @Test
+    public void cachesEachForwardedBasePathSeparately() throws Exception {
+        List<Boolean> accesses = new ArrayList<>();
+        SwaggerSpecCache specCache = context.getBean(SwaggerSpecCache.class);
+        specCache.setListener((groupName, hit) -> {
+            if ("order".equals(groupName)) {
+                accesses.add(hit);
+            }
+        });
+        try {
+            MockHttpServletResponse root = perform(spec("order"));
+            MockHttpServletResponse app = perform(spec("order").header("X-Forwarded-Prefix", "/app"));
+            assertThat(root.getContentAsString()).contains("\"basePath\":\"/\"");
+            assertThat(app.getContentAsString()).contains("\"basePath\":\"/app");
+            assertThat(app.getHeader(HttpHeaders.ETAG)).isNotEqualTo(root.getHeader(HttpHeaders.ETAG));
+
+            assertThat(perform(spec("order")).getContentAsString()).isEqualTo(root.getContentAsString());
+            assertThat(perform(spec("order").header("X-Forwarded-Prefix", "/app"))
+                    .getContentAsString()).isEqualTo(app.getContentAsString());
+            assertThat(accesses).containsExactly(false, false, true, true);
+        } finally {
+            specCache.setListener(null);
+        }
+    }
+
+    private static MockHttpServletRequestBuilder spec(String group) {
+        return get("/v2/api-docs").param("group", group);
+    }
+
+    private static MockHttpServletResponse perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return StreamUtils.copyToByteArray(in);
+        }
+    }
+}
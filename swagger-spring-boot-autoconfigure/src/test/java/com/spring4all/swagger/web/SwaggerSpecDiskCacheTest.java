@@ -0,0 +1,108 @@
+package com.spring4all.swagger.web;
+
+import com.spring4all.swagger.sample.SampleSpecs;
+import com.spring4all.swagger.scan.SwaggerDocumentationCache;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static com.spring4all.swagger.sample.SampleSpecs.GROUPS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * classpath指纹只随内容变化；存在延迟分组时，等所有分组扫描完成后才写出缓存
+ */
+public class SwaggerSpecDiskCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void fingerprintFollowsDirectoryContent() throws IOException {
+        File classes = temporaryFolder.newFolder("classes");
+        File type = write(new File(classes, "com/example/Api.class"), "v1");
+        String fingerprint = SwaggerSpecDiskCache.computeClasspathFingerprint(classes.getPath());
+
+        // 重新构建出相同的内容，只有修改时间与所在位置变化
+        Files.setLastModifiedTime(type.toPath(), FileTime.fromMillis(type.lastModified() + 60_000));
+        File copy = temporaryFolder.newFolder("copy");
+        write(new File(copy, "com/example/Api.class"), "v1");
+        assertThat(SwaggerSpecDiskCache.computeClasspathFingerprint(classes.getPath())).isEqualTo(fingerprint);
+        assertThat(SwaggerSpecDiskCache.computeClasspathFingerprint(copy.getPath())).isEqualTo(fingerprint);
+
+        // 大小不变，内容变化
+        write(type, "v2");
+        assertThat(SwaggerSpecDiskCache.computeClasspathFingerprint(classes.getPath())).isNotEqualTo(fingerprint);
+    }
+
+    @Test
+    public void fingerprintFollowsJarEntriesAndManifestClassPath() throws IOException {
+        File library = jar(temporaryFolder.newFile("library.jar"), null, "v1");
+        File application = jar(temporaryFolder.newFile("application.jar"), "library.jar", "app");
+        String fingerprint = SwaggerSpecDiskCache.computeClasspathFingerprint(application.getPath());
+
+        Files.setLastModifiedTime(application.toPath(), FileTime.fromMillis(application.lastModified() + 60_000));
+        assertThat(SwaggerSpecDiskCache.computeClasspathFingerprint(application.getPath())).isEqualTo(fingerprint);
+
+        // 只通过清单中的Class-Path引用的jar发生变化
+        jar(library, null, "v2");
+        assertThat(SwaggerSpecDiskCache.computeClasspathFingerprint(application.getPath())).isNotEqualTo(fingerprint);
+    }
+
+    @Test
+    public void storesOnlyAfterLazyGroupsAreScanned() throws Exception {
+        File directory = temporaryFolder.newFolder("cache");
+        try (ConfigurableApplicationContext context = SampleSpecs.run("--swagger.scan.lazy=true",
+                "--swagger.disk-cache.enabled=true", "--swagger.disk-cache.directory=" + directory)) {
+            SwaggerSpecDiskCache diskCache = SwaggerSpecDiskCache.of(context.getEnvironment());
+            String fingerprint = diskCache.fingerprint(context.getEnvironment());
+            SwaggerDocumentationCache documentationCache = context.getBean(SwaggerDocumentationCache.class);
+            assertThat(documentationCache.pendingGroupNames()).containsOnlyElementsOf(GROUPS).isNotEmpty();
+
+            Thread.sleep(500);
+            assertThat(diskCache.contains(fingerprint)).isFalse();
+            assertThat(documentationCache.pendingGroupNames()).isNotEmpty();
+
+            SampleSpecs.fetch(context);
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (!diskCache.contains(fingerprint) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertThat(diskCache.contains(fingerprint)).isTrue();
+            assertThat(Files.readAllLines(new File(diskCache.entry(fingerprint), SwaggerSpecGenerator.INDEX_FILE)
+                    .toPath(), StandardCharsets.UTF_8)).containsOnlyElementsOf(GROUPS).hasSameSizeAs(GROUPS);
+        }
+    }
+
+    private static File write(File file, String content) throws IOException {
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static File jar(File file, String classPath, String content) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        if (classPath != null) {
+            manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, classPath);
+        }
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(file), manifest)) {
+            out.putNextEntry(new JarEntry("com/example/Api.class"));
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+        return file;
+    }
+}
@@ -0,0 +1,147 @@
+package com.spring4all.swagger.web;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * 相同标识的并发请求只生成一次，生成数不超过上限，队列已满或等待超时的请求被拒绝
+ */
+public class SwaggerSpecLimiterTest {
+
+    private final ExecutorService clients = Executors.newCachedThreadPool();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @After
+    public void stopClients() {
+        release.countDown();
+        clients.shutdownNow();
+    }
+
+    @Test
+    public void collapsesIdenticalConcurrentRequests() throws Exception {
+        SwaggerSpecLimiter limiter = new SwaggerSpecLimiter(4, 16, 5000L, 1);
+        AtomicInteger builds = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(clients.submit(() -> limiter.call("user\nlocalhost/", () -> {
+                builds.incrementAndGet();
+                started.countDown();
+                await(release);
+                return new Object();
+            })));
+        }
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(200);
+        release.countDown();
+
+        Object first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<Object> each : results) {
+            assertThat(each.get(5, TimeUnit.SECONDS)).isSameAs(first);
+        }
+        assertThat(builds.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void boundsConcurrentBuilds() throws Exception {
+        SwaggerSpecLimiter limiter = new SwaggerSpecLimiter(2, 16, 5000L, 1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String key = "user\nhost-" + i;
+            results.add(clients.submit(() -> limiter.call(key, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(50);
+                running.decrementAndGet();
+                return key;
+            })));
+        }
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).get(5, TimeUnit.SECONDS)).isEqualTo("user\nhost-" + i);
+        }
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    public void rejectsRequestsBeyondQueue() throws Exception {
+        SwaggerSpecLimiter limiter = new SwaggerSpecLimiter(1, 1, 5000L, 7);
+        CountDownLatch started = new CountDownLatch(1);
+        clients.submit(() -> limiter.call("user\nlocalhost/", () -> {
+            started.countDown();
+            return await(release);
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        // 占用唯一的等待位置
+        Future<Boolean> queued = clients.submit(() -> limiter.call("order\nlocalhost/", () -> true));
+        Thread.sleep(200);
+
+        try {
+            limiter.call("item\nlocalhost/", () -> true);
+            fail("expected the request to be rejected");
+        } catch (SwaggerSpecRejectedException e) {
+            ResponseEntity<Void> response = SwaggerSpecResponses.rejected(e);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("7");
+        }
+
+        release.countDown();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void joiningRequestHonoursQueueTimeout() throws Exception {
+        SwaggerSpecLimiter limiter = new SwaggerSpecLimiter(4, 16, 200L, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        Future<Boolean> building = clients.submit(() -> limiter.call("user\nscan", () -> {
+            started.countDown();
+            return await(release);
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long start = System.nanoTime();
+        try {
+            limiter.call("user\nscan", () -> true);
+            fail("expected the joining request to time out");
+        } catch (SwaggerSpecRejectedException e) {
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertThat(elapsed).isBetween(150L, 2000L);
+        }
+
+        release.countDown();
+        assertThat(building.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
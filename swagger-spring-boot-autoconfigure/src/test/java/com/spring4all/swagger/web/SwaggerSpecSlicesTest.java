@@ -0,0 +1,140 @@
+package com.spring4all.swagger.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 按tag与路径前缀截取部分文档：包含间接引用的模型，路径前缀按路径段匹配，截取结果按最近最少使用淘汰
+ */
+public class SwaggerSpecSlicesTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String SPEC = "{"
+            + "'swagger':'2.0','info':{'title':'sample'},'host':'docket','basePath':'/',"
+            + "'tags':[{'name':'user'},{'name':'users'},{'name':'order'}],"
+            + "'paths':{"
+            + "'/user':{'get':{'tags':['user'],'responses':{'200':{'schema':{'$ref':'#/definitions/User'}}}}},"
+            + "'/user/{id}':{'parameters':[{'in':'body','name':'query','schema':{'$ref':'#/definitions/Query'}}],"
+            + "'get':{'tags':['user'],'responses':{'200':{'description':''}}},"
+            + "'delete':{'tags':['order'],'responses':{'200':{'description':''}}}},"
+            + "'/users':{'get':{'tags':['users'],'responses':{'200':{'schema':{'$ref':'#/definitions/Page'}}}}},"
+            + "'/orders/{id}':{'get':{'tags':['order'],'responses':{'200':{'schema':{'$ref':'#/definitions/Order'}}}}}},"
+            + "'definitions':{"
+            + "'User':{'type':'object'},"
+            + "'Query':{'type':'object'},"
+            + "'Page':{'properties':{'content':{'type':'array','items':{'$ref':'#/definitions/User'}}}},"
+            + "'Order':{'properties':{'items':{'type':'array','items':{'$ref':'#/definitions/Item'}}}},"
+            + "'Item':{'properties':{'sku':{'$ref':'#/definitions/Sku'}}},"
+            + "'Sku':{'properties':{'parent':{'$ref':'#/definitions/Sku'}}},"
+            + "'Unused':{'type':'object'}}}";
+
+    @Test
+    public void slicesByTagWithTransitiveModels() throws IOException {
+        JsonNode slice = slice("order", null);
+        assertThat(names(slice.get("paths"))).containsExactly("/user/{id}", "/orders/{id}");
+        assertThat(names(slice.get("paths").get("/user/{id}"))).containsExactly("parameters", "delete");
+        assertThat(names(slice.get("definitions"))).containsExactly("Query", "Order", "Item", "Sku");
+        assertThat(slice.get("tags").findValuesAsText("name")).containsExactly("order");
+        assertThat(slice.get("host").asText()).isEqualTo("localhost");
+        assertThat(slice.get("basePath").asText()).isEqualTo("/app");
+        assertThat(names(slice)).containsExactly("swagger", "info", "host", "basePath", "tags", "paths", "definitions");
+    }
+
+    @Test
+    public void matchesPathPrefixBySegment() throws IOException {
+        JsonNode slice = slice(null, "/user");
+        assertThat(names(slice.get("paths"))).containsExactly("/user", "/user/{id}");
+        assertThat(names(slice.get("definitions"))).containsExactly("User", "Query");
+        assertThat(slice.get("tags").findValuesAsText("name")).containsExactly("user", "order");
+        assertThat(slice(null, "/user/")).isEqualTo(slice);
+
+        assertThat(names(slice(null, "/users").get("paths"))).containsExactly("/users");
+        assertThat(names(slice(null, "/use").get("paths"))).isEmpty();
+        assertThat(slice(null, "/use").has("definitions")).isFalse();
+        assertThat(slice(null, "/use").has("tags")).isFalse();
+    }
+
+    @Test
+    public void intersectsTagAndPathPrefix() throws IOException {
+        JsonNode slice = slice("user", "/user");
+        assertThat(names(slice.get("paths"))).containsExactly("/user", "/user/{id}");
+        assertThat(names(slice.get("paths").get("/user/{id}"))).containsExactly("parameters", "get");
+        assertThat(slice.get("tags").findValuesAsText("name")).containsExactly("user");
+    }
+
+    @Test
+    public void liteSliceMatchesLiteOfSlice() throws IOException {
+        SwaggerSpecSlices slices = new SwaggerSpecSlices(8);
+        Object source = new Object();
+        JsonNode lite = OBJECT_MAPPER.readTree(slices.get("group", source, SwaggerSpecSlicesTest::spec,
+                "order", null, true, "localhost", "/app").getJson());
+        assertThat(lite).isEqualTo(SwaggerSpecLite.apply((ObjectNode) slice("order", null)));
+    }
+
+    @Test
+    public void buildsIndexOncePerSource() {
+        SwaggerSpecSlices slices = new SwaggerSpecSlices(8);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<ObjectNode> loader = () -> {
+            loads.incrementAndGet();
+            return spec();
+        };
+        Object source = new Object();
+        slices.get("group", source, loader, "user", null, false, "localhost", "/");
+        slices.get("group", source, loader, "order", null, false, "localhost", "/");
+        assertThat(loads.get()).isEqualTo(1);
+
+        // 分组重建后数据源不同，索引与截取结果都重建
+        Object rebuilt = new Object();
+        slices.get("group", rebuilt, loader, "user", null, false, "localhost", "/");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedSlices() {
+        SwaggerSpecSlices slices = new SwaggerSpecSlices(2);
+        Object source = new Object();
+        SwaggerSpec user = get(slices, source, "user");
+        SwaggerSpec order = get(slices, source, "order");
+        assertThat(get(slices, source, "user")).isSameAs(user);
+
+        get(slices, source, "users");
+        assertThat(get(slices, source, "user")).isSameAs(user);
+        SwaggerSpec rebuilt = get(slices, source, "order");
+        assertThat(rebuilt).isNotSameAs(order);
+        assertThat(rebuilt.getJson()).isEqualTo(order.getJson());
+    }
+
+    private static SwaggerSpec get(SwaggerSpecSlices slices, Object source, String tag) {
+        return slices.get("group", source, SwaggerSpecSlicesTest::spec, tag, null, false, "localhost", "/");
+    }
+
+    private static JsonNode slice(String tag, String pathPrefix) throws IOException {
+        return OBJECT_MAPPER.readTree(SwaggerSpecIndex.of(spec()).slice(tag, pathPrefix, "localhost", "/app"));
+    }
+
+    private static ObjectNode spec() {
+        try {
+            return (ObjectNode) OBJECT_MAPPER.readTree(SPEC.replace('\'', '"'));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<String> names(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,269 @@
+package com.spring4all.swagger.index;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 编译期生成控制器索引，写入{@value #LOCATION}
+ * <p>
+ * 每个接口方法一行：类名#方法名(参数类型)、是否标注ApiIgnore、类上的路径、方法上的路径，运行时由autoconfigure中的SwaggerControllerIndex读取。
+ * 路径中含有占位符、类上的映射继承自父类或接口等编译期无法确定的情况不写入索引，运行时按常规方式筛选。
+ * <p>
+ * 增量编译时只会处理发生变化的类，其余类的索引从上一次的输出中保留
+ */
+@SupportedAnnotationTypes({
+        SwaggerIndexProcessor.CONTROLLER,
+        SwaggerIndexProcessor.REST_CONTROLLER,
+        SwaggerIndexProcessor.REQUEST_MAPPING
+})
+public class SwaggerIndexProcessor extends AbstractProcessor {
+
+    /**
+     * 索引的位置，与SwaggerControllerIndex#LOCATION一致
+     */
+    static final String LOCATION = "META-INF/swagger/controllers.index";
+
+    static final String CONTROLLER = "org.springframework.stereotype.Controller";
+
+    static final String REST_CONTROLLER = "org.springframework.web.bind.annotation.RestController";
+
+    static final String REQUEST_MAPPING = "org.springframework.web.bind.annotation.RequestMapping";
+
+    private static final String API_IGNORE = "springfox.documentation.annotations.ApiIgnore";
+
+    private static final Set<String> METHOD_MAPPINGS = new HashSet<>(Arrays.asList(
+            REQUEST_MAPPING,
+            "org.springframework.web.bind.annotation.GetMapping",
+            "org.springframework.web.bind.annotation.PostMapping",
+            "org.springframework.web.bind.annotation.PutMapping",
+            "org.springframework.web.bind.annotation.DeleteMapping",
+            "org.springframework.web.bind.annotation.PatchMapping"
+    ));
+
+    /**
+     * 按类名保存的索引行，类名有序以便输出稳定
+     */
+    private final Map<String, List<String>> entries = new TreeMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.CLASS && !element.getModifiers().contains(Modifier.ABSTRACT)) {
+                    TypeElement type = (TypeElement) element;
+                    entries.put(binaryName(type), index(type));
+                }
+            }
+        }
+        if (roundEnv.processingOver()) {
+            write();
+        }
+        return false;
+    }
+
+    private List<String> index(TypeElement type) {
+        AnnotationMirror typeMapping = annotation(type, REQUEST_MAPPING);
+        if (typeMapping == null && inheritsMapping(type)) {
+            return Collections.emptyList();
+        }
+        List<String> typePaths = typeMapping == null ? Collections.emptyList() : paths(typeMapping);
+        if (typePaths == null) {
+            return Collections.emptyList();
+        }
+        boolean typeIgnored = hasAnnotation(type, API_IGNORE);
+        List<String> lines = new ArrayList<>();
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() != ElementKind.METHOD || member.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            ExecutableElement method = (ExecutableElement) member;
+            AnnotationMirror mapping = methodMapping(method);
+            List<String> methodPaths = mapping == null ? null : paths(mapping);
+            if (methodPaths == null) {
+                continue;
+            }
+            StringBuilder line = new StringBuilder(binaryName(type)).append('#')
+                    .append(method.getSimpleName()).append('(');
+            List<? extends VariableElement> parameters = method.getParameters();
+            for (int i = 0; i < parameters.size(); i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                line.append(typeName(parameters.get(i).asType()));
+            }
+            line.append(")\t").append(typeIgnored || hasAnnotation(method, API_IGNORE) ? '1' : '0')
+                    .append('\t').append(String.join(" ", typePaths))
+                    .append('\t').append(String.join(" ", methodPaths));
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    /**
+     * 类上未标注RequestMapping时，Spring会沿父类、接口查找，此时类上的路径只能在运行时确定
+     */
+    private boolean inheritsMapping(TypeElement type) {
+        List<TypeMirror> supertypes = new ArrayList<>(type.getInterfaces());
+        supertypes.add(type.getSuperclass());
+        for (TypeMirror each : supertypes) {
+            if (each.getKind() == TypeKind.DECLARED) {
+                TypeElement supertype = (TypeElement) ((DeclaredType) each).asElement();
+                if (annotation(supertype, REQUEST_MAPPING) != null || inheritsMapping(supertype)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private AnnotationMirror methodMapping(ExecutableElement method) {
+        for (AnnotationMirror mirror : method.getAnnotationMirrors()) {
+            if (METHOD_MAPPINGS.contains(annotationName(mirror))) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return 映射的路径（value或path），含有占位符时返回null
+     */
+    private List<String> paths(AnnotationMirror mapping) {
+        List<String> paths = new ArrayList<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : mapping.getElementValues().entrySet()) {
+            String name = entry.getKey().getSimpleName().toString();
+            if (!"value".equals(name) && !"path".equals(name)) {
+                continue;
+            }
+            Object value = entry.getValue().getValue();
+            List<?> values = value instanceof List ? (List<?>) value : Collections.singletonList(entry.getValue());
+            for (Object each : values) {
+                String path = String.valueOf(((AnnotationValue) each).getValue());
+                if (path.contains("${") || path.contains(" ") || path.contains("\t")) {
+                    return null;
+                }
+                paths.add(path);
+            }
+        }
+        return paths;
+    }
+
+    private boolean hasAnnotation(Element element, String annotationName) {
+        return annotation(element, annotationName) != null;
+    }
+
+    private AnnotationMirror annotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (annotationName.equals(annotationName(mirror))) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static String annotationName(AnnotationMirror mirror) {
+        return ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    /**
+     * 与运行时{@link Class#getTypeName()}一致的擦除后类型名称
+     */
+    private String typeName(TypeMirror type) {
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        if (erased.getKind() == TypeKind.ARRAY) {
+            return typeName(((ArrayType) erased).getComponentType()) + "[]";
+        }
+        if (erased.getKind() == TypeKind.DECLARED) {
+            return binaryName((TypeElement) ((DeclaredType) erased).asElement());
+        }
+        return erased.toString();
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private void write() {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Map<String, List<String>> merged = new TreeMap<>(readPrevious());
+        merged.putAll(entries);
+        try {
+            FileObject file = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", LOCATION);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (List<String> lines : merged.values()) {
+                    for (String line : lines) {
+                        writer.write(line);
+                        writer.write('\n');
+                    }
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Unable to write " + LOCATION + ": " + e);
+        }
+    }
+
+    /**
+     * 读取上一次编译输出的索引，按类名分组
+     */
+    private Map<String, List<String>> readPrevious() {
+        Map<String, List<String>> previous = new TreeMap<>();
+        try {
+            FileObject file = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", LOCATION);
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(file.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int end = line.indexOf('#');
+                    if (end > 0) {
+                        previous.computeIfAbsent(line.substring(0, end), key -> new ArrayList<>()).add(line);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // 首次编译，不存在上一次的索引
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,25 @@
+package com.spring4all.swagger.validators;
+
+import com.spring4all.swagger.SwaggerAutoConfiguration;
+import com.spring4all.swagger.condition.ConditionalOnPropertyNotEmpty;
+import com.spring4all.swagger.condition.StaticSpecSourceResolver;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import springfox.bean.validators.configuration.BeanValidatorPluginsConfiguration;
+
+/**
+ * JSR-303校验注解支持，与Swagger2Configuration的生效条件一致
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "swagger", name = "enabled", matchIfMissing = true)
+@ConditionalOnPropertyNotEmpty(name = "swagger.beanName")
+@ConditionalOnExpression("'${" + StaticSpecSourceResolver.SOURCE_PROPERTY + ":" + StaticSpecSourceResolver.NONE + "}' == '"
+        + StaticSpecSourceResolver.NONE + "'")
+@AutoConfigureAfter(SwaggerAutoConfiguration.class)
+@Import(BeanValidatorPluginsConfiguration.class)
+public class SwaggerBeanValidatorsAutoConfiguration {
+
+}